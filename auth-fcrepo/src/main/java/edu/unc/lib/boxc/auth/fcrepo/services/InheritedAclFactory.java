@@ -15,12 +15,17 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.api.services.CacheInvalidator;
 import edu.unc.lib.boxc.model.api.services.ContentPathFactory;
 import edu.unc.lib.boxc.auth.api.AccessPrincipalConstants;
 import edu.unc.lib.boxc.auth.api.UserRole;
@@ -34,7 +39,7 @@ import edu.unc.lib.boxc.auth.api.services.AclFactory;
  * @author bbpennel
  *
  */
-public class InheritedAclFactory implements AclFactory {
+public class InheritedAclFactory implements AclFactory, CacheInvalidator {
     private static final Logger log = LoggerFactory.getLogger(InheritedAclFactory.class);
 
     private static final int UNIT_PATH_DEPTH = 0;
@@ -43,51 +48,92 @@ public class InheritedAclFactory implements AclFactory {
 
     private ObjectAclFactory objectAclFactory;
 
+    // Cache of the acl state inherited by each container, only used if a max size is configured
+    private Cache<PID, InheritedAclState> containerAclCache;
+    private long containerCacheMaxSize = 0;
+    private long containerCacheTimeToLive;
+
     private ContentPathFactory pathFactory;
 
     private static final int EMBARGO_ROLE_PRECEDENCE = 1;
 
+    /**
+     * Initialize the cache of container acl states, if enabled
+     */
+    public void init() {
+        if (containerCacheMaxSize > 0) {
+            containerAclCache = CacheBuilder.newBuilder()
+                    .maximumSize(containerCacheMaxSize)
+                    .expireAfterWrite(containerCacheTimeToLive, TimeUnit.MILLISECONDS)
+                    .build();
+        }
+    }
+
     @Override
     public Map<String, Set<String>> getPrincipalRoles(PID target) {
 
         // Retrieve the path of objects up to and including the target
         List<PID> path = getPidPath(target);
 
-        Map<String, Set<String>> inheritedPrincRoles = new HashMap<>();
-        Set<String> customPatronPrincs = null;
+        InheritedAclState state;
+        if (containerAclCache == null || path.size() < 2) {
+            state = new InheritedAclState(Collections.emptyList());
+            for (PID pathPid : path) {
+                applyPrincipalRoles(state, pathPid);
+            }
+        } else {
+            // Start from the cached result for the parent, so only the target's own acls need to be applied
+            state = getContainerState(path.subList(0, path.size() - 1)).copy(path);
+            applyPrincipalRoles(state, target);
+        }
 
-        // Iterate through each step in the path except for the root content node
-        int depth = 0;
-        for (; depth < path.size(); depth++) {
-            PID pathPid = path.get(depth);
+        return getFinalPrincipalRoles(state);
+    }
 
-            Map<String, Set<String>> objectPrincipalRoles = objectAclFactory.getPrincipalRoles(pathPid);
+    /**
+     * Apply the acls of the next object in the path to the inherited state
+     *
+     * @param state inherited state for the path up to the parent of pathPid
+     * @param pathPid the next object in the path
+     */
+    private void applyPrincipalRoles(InheritedAclState state, PID pathPid) {
+        int depth = state.depth++;
+        // No further roles may be inherited
+        if (state.terminated) {
+            return;
+        }
+        Map<String, Set<String>> inheritedPrincRoles = state.principalRoles;
 
-            // For the first two objects (unit, collection), staff roles should be considered
-            if (depth < CONTENT_STARTING_DEPTH) {
-                // Add this object's principals/roles to the result
-                mergePrincipalRoles(inheritedPrincRoles, objectPrincipalRoles);
-            }
-            if (depth >= COLLECTION_PATH_DEPTH) {
-                // No patron assignments with permissions inherited, nothing further may be added
-                Set<String> inheritedPatronPrincipals = getPatronPrincipals(inheritedPrincRoles.keySet());
-                if (!hasActivePatronRole(inheritedPatronPrincipals, inheritedPrincRoles)) {
-                    return removeNoneRoles(inheritedPrincRoles);
-                }
+        Map<String, Set<String>> objectPrincipalRoles = objectAclFactory.getPrincipalRoles(pathPid);
 
-                if (depth == COLLECTION_PATH_DEPTH) {
-                    customPatronPrincs = getCustomPatronPrincs(objectPrincipalRoles);
-                }
+        // For the first two objects (unit, collection), staff roles should be considered
+        if (depth < CONTENT_STARTING_DEPTH) {
+            // Add this object's principals/roles to the result
+            mergePrincipalRoles(inheritedPrincRoles, objectPrincipalRoles);
+        }
+        if (depth >= COLLECTION_PATH_DEPTH) {
+            // No patron assignments with permissions inherited, nothing further may be added
+            Set<String> inheritedPatronPrincipals = getPatronPrincipals(inheritedPrincRoles.keySet());
+            if (!hasActivePatronRole(inheritedPatronPrincipals, inheritedPrincRoles)) {
+                removeNoneRoles(inheritedPrincRoles);
+                state.terminated = true;
+                return;
+            }
 
-                // Apply any further patron restrictions to inherited patron principals
-                adjustPatronPrincipalRoles(pathPid, inheritedPrincRoles,
-                        inheritedPatronPrincipals, objectPrincipalRoles, customPatronPrincs);
+            if (depth == COLLECTION_PATH_DEPTH) {
+                state.customPatronPrincs = getCustomPatronPrincs(objectPrincipalRoles);
             }
+
+            // Apply any further patron restrictions to inherited patron principals
+            adjustPatronPrincipalRoles(pathPid, inheritedPrincRoles,
+                    inheritedPatronPrincipals, objectPrincipalRoles, state.customPatronPrincs);
         }
+    }
 
+    private Map<String, Set<String>> getFinalPrincipalRoles(InheritedAclState state) {
+        Map<String, Set<String>> inheritedPrincRoles = state.principalRoles;
         // Units cannot be assigned patron roles, but have an assumed non-inheritable everyone permission
-        // Checking for unit depth + 1 since the counter will be one past the object checked
-        if (depth == UNIT_PATH_DEPTH + 1) {
+        if (!state.terminated && state.depth == UNIT_PATH_DEPTH + 1) {
             Set<String> roles = new HashSet<>();
             roles.add(UserRole.canViewOriginals.getPropertyString());
             inheritedPrincRoles.put(AccessPrincipalConstants.PUBLIC_PRINC, roles);
@@ -96,6 +142,60 @@ public class InheritedAclFactory implements AclFactory {
         return inheritedPrincRoles;
     }
 
+    /**
+     * Get the inherited acl state for the last container in the provided path, computing it
+     * top-down from the deepest ancestor with a cached state. The state of each container
+     * computed along the way is cached so that its other descendants can reuse it.
+     *
+     * @param containerPath path of containers, starting from the unit
+     * @return the inherited state for the last container in the path. Must not be modified.
+     */
+    private InheritedAclState getContainerState(List<PID> containerPath) {
+        InheritedAclState state = null;
+        int index = containerPath.size();
+        while (index > 0) {
+            InheritedAclState cached = containerAclCache.getIfPresent(containerPath.get(index - 1));
+            // Only reuse the state if the container has not moved since it was cached
+            if (cached != null && cached.path.equals(containerPath.subList(0, index))) {
+                state = cached;
+                break;
+            }
+            index--;
+        }
+        if (state == null) {
+            state = new InheritedAclState(Collections.emptyList());
+        }
+
+        for (; index < containerPath.size(); index++) {
+            PID containerPid = containerPath.get(index);
+            state = state.copy(new ArrayList<>(containerPath.subList(0, index + 1)));
+            applyPrincipalRoles(state, containerPid);
+            applyObjectStatus(state, containerPid);
+            containerAclCache.put(containerPid, state);
+        }
+        return state;
+    }
+
+    private void applyObjectStatus(InheritedAclState state, PID pathPid) {
+        Date embargo = objectAclFactory.getEmbargoUntil(pathPid);
+        if (embargo != null && (state.embargoUntil == null || embargo.after(state.embargoUntil))) {
+            state.embargoUntil = embargo;
+        }
+        state.markedForDeletion = state.markedForDeletion || objectAclFactory.isMarkedForDeletion(pathPid);
+    }
+
+    /**
+     * Invalidate cached acl states for the provided object and any containers beneath it
+     *
+     * @param pid
+     */
+    @Override
+    public void invalidate(PID pid) {
+        if (containerAclCache != null) {
+            containerAclCache.asMap().values().removeIf(state -> state.path.contains(pid));
+        }
+    }
+
     private Set<String> getCustomPatronPrincs(Map<String, Set<String>> objectPrincipalRoles) {
         Set<String> princs = new HashSet<>(objectPrincipalRoles.keySet());
         princs.remove(AccessPrincipalConstants.PUBLIC_PRINC);
@@ -258,7 +358,13 @@ public class InheritedAclFactory implements AclFactory {
 
     @Override
     public Date getEmbargoUntil(PID target) {
-        return getPidPath(target).stream()
+        List<PID> path = getPidPath(target);
+        if (containerAclCache != null && path.size() >= 2) {
+            InheritedAclState state = getContainerState(path.subList(0, path.size() - 1)).copy(path);
+            applyObjectStatus(state, target);
+            return state.embargoUntil;
+        }
+        return path.stream()
                 .map(p -> objectAclFactory.getEmbargoUntil(p))
                 .filter(Objects::nonNull)
                 .max(Comparator.naturalOrder())
@@ -267,7 +373,12 @@ public class InheritedAclFactory implements AclFactory {
 
     @Override
     public boolean isMarkedForDeletion(PID target) {
-        return getPidPath(target).stream()
+        List<PID> path = getPidPath(target);
+        if (containerAclCache != null && path.size() >= 2) {
+            return getContainerState(path.subList(0, path.size() - 1)).markedForDeletion
+                    || objectAclFactory.isMarkedForDeletion(target);
+        }
+        return path.stream()
                 .anyMatch(p -> objectAclFactory.isMarkedForDeletion(p));
     }
 
@@ -291,4 +402,43 @@ public class InheritedAclFactory implements AclFactory {
     public void setPathFactory(ContentPathFactory pathFactory) {
         this.pathFactory = pathFactory;
     }
+
+    /**
+     * @param containerCacheMaxSize max number of container acl states to cache. If 0, states are not cached.
+     */
+    public void setContainerCacheMaxSize(long containerCacheMaxSize) {
+        this.containerCacheMaxSize = containerCacheMaxSize;
+    }
+
+    public void setContainerCacheTimeToLive(long containerCacheTimeToLive) {
+        this.containerCacheTimeToLive = containerCacheTimeToLive;
+    }
+
+    /**
+     * Access control state inherited from a path of objects
+     */
+    private static class InheritedAclState {
+        private final List<PID> path;
+        private Map<String, Set<String>> principalRoles = new HashMap<>();
+        private Set<String> customPatronPrincs;
+        private boolean terminated;
+        private int depth;
+        private Date embargoUntil;
+        private boolean markedForDeletion;
+
+        private InheritedAclState(List<PID> path) {
+            this.path = path;
+        }
+
+        private InheritedAclState copy(List<PID> newPath) {
+            InheritedAclState copy = new InheritedAclState(newPath);
+            principalRoles.forEach((princ, roles) -> copy.principalRoles.put(princ, new HashSet<>(roles)));
+            copy.customPatronPrincs = customPatronPrincs == null ? null : new HashSet<>(customPatronPrincs);
+            copy.terminated = terminated;
+            copy.depth = depth;
+            copy.embargoUntil = embargoUntil;
+            copy.markedForDeletion = markedForDeletion;
+            return copy;
+        }
+    }
 }
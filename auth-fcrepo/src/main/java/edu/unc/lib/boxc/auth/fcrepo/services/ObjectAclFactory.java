@@ -31,6 +31,7 @@ import edu.unc.lib.boxc.model.api.objects.RepositoryObject;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObjectLoader;
 import edu.unc.lib.boxc.model.api.rdf.Cdr;
 import edu.unc.lib.boxc.model.api.rdf.CdrAcl;
+import edu.unc.lib.boxc.model.api.services.CacheInvalidator;
 import edu.unc.lib.boxc.auth.api.UserRole;
 import edu.unc.lib.boxc.auth.api.models.RoleAssignment;
 import edu.unc.lib.boxc.auth.api.services.AclFactory;
@@ -42,7 +43,7 @@ import edu.unc.lib.boxc.auth.api.services.AclFactory;
  * @author bbpennel
  *
  */
-public class ObjectAclFactory implements AclFactory {
+public class ObjectAclFactory implements AclFactory, CacheInvalidator {
 
     private static final Logger log = LoggerFactory.getLogger(ObjectAclFactory.class);
 
@@ -154,6 +155,7 @@ public class ObjectAclFactory implements AclFactory {
      * Invalidates cached data for the provided pid
      * @param pid
      */
+    @Override
     public void invalidate(PID pid) {
         objAclCache.invalidate(pid);
     }
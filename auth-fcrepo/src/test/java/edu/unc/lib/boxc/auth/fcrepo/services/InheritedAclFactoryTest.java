@@ -18,6 +18,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -867,6 +869,59 @@ public class InheritedAclFactoryTest {
         assertTrue(assignments.isEmpty(), "No assignments should be returned");
     }
 
+    @Test
+    public void containerCacheSiblingsReuseAncestorState() {
+        enableContainerCache();
+        PID unitPid = addPidToAncestors();
+        PID collPid = addPidToAncestors();
+        PID sibling1 = makePid();
+        PID sibling2 = makePid();
+
+        addPrincipalRoles(unitPid, MANAGE_PRINC, UserRole.canManage);
+        addPrincipalRoles(collPid, PUBLIC_PRINC, UserRole.canViewOriginals);
+        addPrincipalRoles(sibling2, PUBLIC_PRINC, UserRole.canViewMetadata);
+        Date embargoDate = getNextYear();
+        when(objectAclFactory.getEmbargoUntil(eq(collPid))).thenReturn(embargoDate);
+
+        Map<String, Set<String>> princRoles1 = aclFactory.getPrincipalRoles(sibling1);
+        Map<String, Set<String>> princRoles2 = aclFactory.getPrincipalRoles(sibling2);
+
+        assertPrincipalHasRoles("Manager should be inherited", princRoles1, MANAGE_PRINC, canManage);
+        assertPrincipalHasRoles("Patron role should be inherited", princRoles1, PUBLIC_PRINC, canViewOriginals);
+        assertPrincipalHasRoles("Manager should be inherited", princRoles2, MANAGE_PRINC, canManage);
+        assertPrincipalHasRoles("Patron role should be restricted", princRoles2, PUBLIC_PRINC, canViewMetadata);
+        assertEquals(embargoDate, aclFactory.getEmbargoUntil(sibling1));
+        assertFalse(aclFactory.isMarkedForDeletion(sibling2));
+
+        // Ancestor acls were only evaluated once for all siblings
+        verify(objectAclFactory, times(1)).getPrincipalRoles(unitPid);
+        verify(objectAclFactory, times(1)).getPrincipalRoles(collPid);
+    }
+
+    @Test
+    public void containerCacheInvalidateAncestor() {
+        enableContainerCache();
+        addPidToAncestors();
+        PID collPid = addPidToAncestors();
+
+        addPrincipalRoles(collPid, PUBLIC_PRINC, UserRole.canViewOriginals);
+
+        assertPrincipalHasRoles("Patron role should be inherited",
+                aclFactory.getPrincipalRoles(pid), PUBLIC_PRINC, canViewOriginals);
+
+        addPrincipalRoles(collPid, PUBLIC_PRINC, UserRole.canViewMetadata);
+        aclFactory.invalidate(collPid);
+
+        assertPrincipalHasRoles("Updated patron role should be inherited",
+                aclFactory.getPrincipalRoles(pid), PUBLIC_PRINC, canViewMetadata);
+    }
+
+    private void enableContainerCache() {
+        aclFactory.setContainerCacheMaxSize(100);
+        aclFactory.setContainerCacheTimeToLive(60000);
+        aclFactory.init();
+    }
+
     private RoleAssignment getAssignmentByPrincipal(List<RoleAssignment> assignments, String principal) {
         return assignments.stream()
                 .filter(a -> a.getPrincipal().equals(principal))
@@ -8,9 +8,11 @@ import org.slf4j.Logger;
 
 import io.dropwizard.metrics5.ScheduledReporter;
 import io.dropwizard.metrics5.Slf4jReporter;
+import io.dropwizard.metrics5.jmx.JmxReporter;
 
 /**
  * A factory for creating a metrics reporter. Each created reporter is a singleton.
+ * Metrics are also exposed via JMX unless the metrics.jmx.enabled property is set to false.
  *
  * @author harring
  *
@@ -20,6 +22,9 @@ public class ReporterFactory {
     private static final RegistryService registryService = RegistryService.getInstance();
     private static final String METRICS = System.getProperty("metrics.report.name", "metrics");
     private static ScheduledReporter reporterInstance = null;
+    private static JmxReporter jmxReporterInstance = null;
+    private static final boolean JMX_ENABLED = Boolean.parseBoolean(
+            System.getProperty("metrics.jmx.enabled", "true"));
 
     private static final Logger LOGGER = getLogger(METRICS);
     private static final long TIME_PERIOD = Long.parseLong(System.getProperty("metrics.report.time", "60"));
@@ -45,6 +50,26 @@ public class ReporterFactory {
                     .build();
             reporter.start(TIME_PERIOD, TIME_UNITS);
             reporterInstance = reporter;
+            getOrCreateJmxReporter();
+        }
+        return reporter;
+    }
+
+    /**
+     * Get the JMX reporter for this application, or create a new one if none exists.
+     *
+     * @return the JMX reporter, or null if JMX reporting is disabled
+     */
+    public static JmxReporter getOrCreateJmxReporter() {
+        JmxReporter reporter = jmxReporterInstance;
+        if (reporter == null && JMX_ENABLED) {
+            reporter = JmxReporter.forRegistry(registryService.getRegistry())
+                    .inDomain(METRICS)
+                    .convertRatesTo(TimeUnit.SECONDS)
+                    .convertDurationsTo(TimeUnit.MILLISECONDS)
+                    .build();
+            reporter.start();
+            jmxReporterInstance = reporter;
         }
         return reporter;
     }
@@ -24,6 +24,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.Lists;
 
 import edu.unc.lib.boxc.model.api.exceptions.NotFoundException;
 import edu.unc.lib.boxc.model.api.rdf.CdrAspace;
@@ -61,7 +64,7 @@ import edu.unc.lib.boxc.deposit.api.exceptions.DepositException;
 import edu.unc.lib.boxc.deposit.impl.model.ActivityMetricsClient;
 import edu.unc.lib.boxc.deposit.impl.model.DepositModelHelpers;
 import edu.unc.lib.boxc.deposit.validate.VerifyObjectsAreInFedoraService;
-import edu.unc.lib.boxc.deposit.work.AbstractDepositJob;
+import edu.unc.lib.boxc.deposit.work.AbstractConcurrentDepositJob;
 import edu.unc.lib.boxc.deposit.work.DepositGraphUtils;
 import edu.unc.lib.boxc.deposit.work.JobInterruptedException;
 import edu.unc.lib.boxc.fcrepo.exceptions.ChecksumMismatchException;
@@ -101,14 +104,20 @@ import edu.unc.lib.boxc.persist.api.transfer.BinaryTransferSession;
 /**
  * Ingests all content objects in the deposit into the Fedora repository.
  *
+ * If an executor service is provided, then sibling file objects within a work are ingested
+ * concurrently, each in its own transaction. Containers are always created before their
+ * children, and a work is only finalized once all of its files have been ingested.
+ *
  * @author bbpennel
  * @author harring
  *
  */
-public class IngestContentObjectsJob extends AbstractDepositJob {
+public class IngestContentObjectsJob extends AbstractConcurrentDepositJob {
     private static final Logger log = LoggerFactory.getLogger(IngestContentObjectsJob.class);
 
     private static final int CHECKSUM_RETRIES = 3;
+    // Number of objects each worker checks for existence per task when resuming
+    private static final int EXISTENCE_CHECK_BATCH_SIZE = 50;
 
     private boolean resumed;
 
@@ -169,15 +178,17 @@ public class IngestContentObjectsJob extends AbstractDepositJob {
      * @param depositBag
      */
     private void calculateWorkRemaining(Bag depositBag) {
-        List<String> contentPaths = new ArrayList<>();
-        DepositGraphUtils.walkChildrenDepthFirst(depositBag, contentPaths, true);
-        // Number of actions is the number of ingest objects plus deposit record
-        setTotalClicks(contentPaths.size());
-
         // Deposit is restarting from part way through
         resumed = getDepositStatusFactory().isResumedDeposit(getDepositUUID());
         if (resumed) {
+            List<String> contentPaths = new ArrayList<>();
+            DepositGraphUtils.walkChildrenDepthFirst(depositBag, contentPaths, true);
+            // Number of actions is the number of ingest objects plus deposit record
+            setTotalClicks(contentPaths.size());
             populatePreviouslyIngested(contentPaths);
+        } else {
+            // Only the count is needed, so avoid collecting the paths of all objects
+            setTotalClicks(DepositGraphUtils.countChildrenDepthFirst(depositBag));
         }
     }
 
@@ -190,16 +201,50 @@ public class IngestContentObjectsJob extends AbstractDepositJob {
      */
     private void populatePreviouslyIngested(List<String> contentPaths) {
         // Generate a list of object paths from this deposit already in fedora
-        previouslyIngestedSet = new HashSet<>();
-        for (String path : contentPaths) {
-            if (objectExists(PIDs.get(path))) {
-                previouslyIngestedSet.add(path);
+        if (isParallelIngest()) {
+            previouslyIngestedSet = findExistingObjectsConcurrently(contentPaths);
+        } else {
+            previouslyIngestedSet = new HashSet<>();
+            for (String path : contentPaths) {
+                if (objectExists(PIDs.get(path))) {
+                    previouslyIngestedSet.add(path);
+                }
             }
         }
         // Update the ingested object count to reflect the number in the repo
         getJobStatusFactory().setCompletion(getJobUUID(), previouslyIngestedSet.size());
     }
 
+    /**
+     * Checks for the existence of the given objects using the worker pool, with each
+     * task probing a batch of objects.
+     *
+     * @param contentPaths
+     * @return the set of paths from contentPaths which exist in the repository
+     */
+    private Set<String> findExistingObjectsConcurrently(List<String> contentPaths) {
+        Set<String> existing = ConcurrentHashMap.newKeySet();
+        for (List<String> batch : Lists.partition(contentPaths, EXISTENCE_CHECK_BATCH_SIZE)) {
+            interruptJobIfStopped();
+            waitForQueueCapacity();
+
+            submitTask(() -> {
+                for (String path : batch) {
+                    if (isInterrupted.get()) {
+                        return;
+                    }
+                    if (objectExists(PIDs.get(path))) {
+                        existing.add(path);
+                    }
+                }
+            });
+        }
+        waitForTasks();
+        log.debug("Found {} of {} objects from deposit {} already in the repository",
+                existing.size(), contentPaths.size(), getDepositPID());
+        return existing;
+    }
+
     @Override
     public void runJob() {
 
@@ -296,7 +341,11 @@ public class IngestContentObjectsJob extends AbstractDepositJob {
                     // Assume child is a file if no type is provided
                     if (destObj instanceof WorkObject) {
                         // File object is being added to a work, go ahead
-                        ingestFileObject(destObj, parentResc, childResc);
+                        if (isParallelIngest()) {
+                            submitFileObjectIngest(destObj, parentResc, childResc);
+                        } else {
+                            ingestFileObject(destObj, parentResc, childResc);
+                        }
                     }
                 } else if (childResc.hasProperty(RDF.type, Cdr.Folder)) {
                     ingestFolder(destObj, parentResc, childResc);
@@ -309,12 +358,76 @@ public class IngestContentObjectsJob extends AbstractDepositJob {
                 }
             }
 
+            // Siblings ingesting in parallel must all finish before the container is complete
+            if (isParallelIngest()) {
+                waitForTasks();
+            }
+
             markObjectCompleted(destObj.getPid());
         } finally {
             iterator.close();
         }
     }
 
+    private boolean isParallelIngest() {
+        return executorService != null;
+    }
+
+    /**
+     * Queues ingest of the object in childResc as a FileObject, to be performed by the executor.
+     * Blocks if the maximum number of ingests are already queued.
+     *
+     * @param parent
+     * @param parentResc
+     * @param childResc
+     */
+    private void submitFileObjectIngest(ContentObject parent, Resource parentResc, Resource childResc) {
+        waitForQueueCapacity();
+
+        // Deposit model transactions are bound to the job thread, so give the task its own copy
+        Resource detachedResc = detachResource(childResc);
+        submitTask(() -> {
+            if (isInterrupted.get()) {
+                return;
+            }
+            try {
+                ingestFileObject(parent, parentResc, detachedResc);
+            } catch (DepositException | IOException e) {
+                failJob(e, "Failed to ingest file {0} for deposit {1}",
+                        detachedResc.getURI(), getDepositPID().getQualifiedId());
+            }
+        });
+    }
+
+    /**
+     * Copies the properties of the given resource, and of any resources it references such as
+     * datastreams, into a new in-memory model
+     *
+     * @param resc
+     * @return the copied resource
+     */
+    private Resource detachResource(Resource resc) {
+        Model detached = ModelFactory.createDefaultModel();
+        StmtIterator stmtIt = resc.listProperties();
+        try {
+            while (stmtIt.hasNext()) {
+                Statement stmt = stmtIt.nextStatement();
+                detached.add(stmt);
+                if (stmt.getObject().isURIResource()) {
+                    detached.add(stmt.getResource().listProperties());
+                }
+            }
+        } finally {
+            stmtIt.close();
+        }
+        return detached.getResource(resc.getURI());
+    }
+
+    @Override
+    protected void registrationAction() {
+        // File ingests record their own progress, so there are no results to register
+    }
+
     /**
      * Ingests the object in childResc as a FileObject into an existing
      * WorkObject.
@@ -157,7 +157,7 @@ public class BagIt2N3BagJob extends AbstractFileServerToBagJob {
                     e.getMessage());
         }
 
-        commit(() -> depModel.add(model));
+        commitInChunks(model);
     }
 
     public void setExecutorService(ExecutorService executorService) {
@@ -86,7 +86,7 @@ public class CDRMETS2N3BagJob extends AbstractMETS2N3BagJob {
                 .addSoftwareAgent(AgentPids.forSoftware(SoftwareAgent.depositService))
                 .write();
 
-        commit(() -> depModel.add(model));
+        commitInChunks(model);
     }
 
 }
@@ -88,6 +88,6 @@ public class DirectoryToBagJob extends AbstractFileServerToBagJob {
         } catch (IOException e) {
             failJob(e, "Failed to read deposit directory {0}", sourcePath);
         }
-        commit(() -> depModel.add(model));
+        commitInChunks(model);
     }
 }
\ No newline at end of file
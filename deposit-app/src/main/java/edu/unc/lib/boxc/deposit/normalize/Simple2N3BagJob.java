@@ -72,7 +72,7 @@ public class Simple2N3BagJob extends AbstractDepositJob {
         // Store main resource as child of the deposit
         depositBag.add(mainResource);
 
-        commit(() -> depModel.add(model));
+        commitInChunks(model);
 
         if (!this.getDepositDirectory().exists()) {
             log.info("Creating deposit dir {}", this.getDepositDirectory().getAbsolutePath());
@@ -80,7 +80,7 @@ public class WorkFormToBagJob extends AbstractDepositJob {
         // Transform descriptive form data into MODS
         populateDescription(workPid, formData);
 
-        commit(() -> depModel.add(model));
+        commitInChunks(model);
     }
 
     private void populateDescription(PID workPid, WorkFormData workFormData) {
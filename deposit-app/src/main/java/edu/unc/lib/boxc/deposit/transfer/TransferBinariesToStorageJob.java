@@ -17,8 +17,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
@@ -43,6 +45,7 @@ import edu.unc.lib.boxc.model.api.services.RepositoryObjectFactory;
 import edu.unc.lib.boxc.model.fcrepo.ids.DatastreamPids;
 import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
 import edu.unc.lib.boxc.model.fcrepo.services.DerivativeService;
+import edu.unc.lib.boxc.persist.api.DigestAlgorithm;
 import edu.unc.lib.boxc.persist.api.exceptions.InvalidChecksumException;
 import edu.unc.lib.boxc.persist.api.storage.BinaryDetails;
 import edu.unc.lib.boxc.persist.api.transfer.BinaryAlreadyExistsException;
@@ -311,7 +314,7 @@ public class TransferBinariesToStorageJob extends AbstractConcurrentDepositJob {
 
         private void transferFile(PID binPid, URI stagingUri, Property datastreamProperty) {
             URI storageUri = null;
-            String digest = null;
+            Map<DigestAlgorithm, String> digests = null;
             Resource binResc = model.getResource(binPid.getRepositoryPath());
 
             // Already has storageUri, skip transfer
@@ -321,10 +324,9 @@ public class TransferBinariesToStorageJob extends AbstractConcurrentDepositJob {
 
             log.debug("Transferring file from {} for {}", stagingUri, binPid.getQualifiedId());
 
-            Statement digestStmt = binResc.getProperty(DEFAULT_ALGORITHM.getDepositProperty());
             try {
                 BinaryTransferOutcome outcome = transferSession.transfer(binPid, stagingUri);
-                digest = outcome.getSha1();
+                digests = outcome.getDigests();
                 storageUri = outcome.getDestinationUri();
             } catch (BinaryAlreadyExistsException e) {
                 // Make sure a PID collision with an existing repository object isn't happening
@@ -338,25 +340,31 @@ public class TransferBinariesToStorageJob extends AbstractConcurrentDepositJob {
                     log.debug("Binary {} was already transferred, recording and moving on", binPid.getQualifiedId());
                     BinaryDetails details = transferSession.getStoredBinaryDetails(binPid);
                     storageUri = details.getDestinationUri();
-                    digest = details.getDigest();
+                    digests = Collections.singletonMap(DEFAULT_ALGORITHM, details.getDigest());
                 } else {
                     // binary was not previously fully transferred, so retry with replacement enabled
                     log.debug("Retransferring file from {} for {} with replacement enabled",
                             stagingUri, binPid.getQualifiedId());
                     BinaryTransferOutcome outcome = transferSession.transferReplaceExisting(binPid, stagingUri);
                     storageUri = outcome.getDestinationUri();
-                    digest = outcome.getSha1();
+                    digests = outcome.getDigests();
                 }
             } finally {
                 if (storageUri != null) {
-                    assertProvidedDigestMatches(digestStmt, digest, binPid, stagingUri);
+                    // Verify all digests calculated of the copy against those provided, recording any not provided
+                    for (Map.Entry<DigestAlgorithm, String> digestEntry : digests.entrySet()) {
+                        Property digestProp = digestEntry.getKey().getDepositProperty();
+                        Statement digestStmt = binResc.getProperty(digestProp);
+                        assertProvidedDigestMatches(digestStmt, digestEntry.getKey(), digestEntry.getValue(),
+                                binPid, stagingUri);
+                        if (digestStmt == null) {
+                            result.statements.add(ResourceFactory.createStatement(
+                                    binResc, digestProp, createStringLiteral(digestEntry.getValue())));
+                        }
+                    }
 
                     result.statements.add(ResourceFactory.createStatement(
                             binResc, CdrDeposit.storageUri, createStringLiteral(storageUri.toString())));
-                    if (!binResc.hasProperty(DEFAULT_ALGORITHM.getDepositProperty())) {
-                        result.statements.add(ResourceFactory.createStatement(
-                                binResc, DEFAULT_ALGORITHM.getDepositProperty(), createStringLiteral(digest)));
-                    }
                     if (!resc.hasProperty(datastreamProperty, binResc)) {
                         result.statements.add(ResourceFactory.createStatement(
                                 resc, datastreamProperty, binResc));
@@ -372,13 +380,14 @@ public class TransferBinariesToStorageJob extends AbstractConcurrentDepositJob {
         private List<Statement> statements = new ArrayList<>();
     }
 
-    private void assertProvidedDigestMatches(Statement providedStmt, String generatedDigest,
-            PID binPid, URI stagingUri) {
+    private void assertProvidedDigestMatches(Statement providedStmt, DigestAlgorithm algorithm,
+            String generatedDigest, PID binPid, URI stagingUri) {
         if (providedStmt != null) {
             String provided = providedStmt.getString();
             if (!provided.equals(generatedDigest)) {
                 throw new InvalidChecksumException("Checksum of copied file for " + binPid
-                        + " from " + stagingUri + " did not match expected SHA1: expected "
+                        + " from " + stagingUri + " did not match expected "
+                        + algorithm.getName().toUpperCase() + ": expected "
                         + provided + ", calculated " + generatedDigest);
             }
         }
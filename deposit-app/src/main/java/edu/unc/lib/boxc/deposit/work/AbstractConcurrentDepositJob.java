@@ -2,22 +2,27 @@ package edu.unc.lib.boxc.deposit.work;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.util.Iterator;
-import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 
 import edu.unc.lib.boxc.model.api.exceptions.RepositoryException;
 
 /**
- * An abstract deposit job which performs work concurrently
+ * An abstract deposit job which performs work concurrently.
+ *
+ * Tasks are submitted to a bounded pipeline, where the producer blocks once maxQueuedJobs
+ * tasks are queued or executing. Results from tasks are registered in batches by a
+ * registrar thread, either once flushBatchSize results are pending or flushRate
+ * milliseconds have passed since the last registration, whichever comes first.
+ * All waiting is performed on conditions rather than by polling.
  *
  * @author bbpennel
  */
@@ -27,15 +32,25 @@ public abstract class AbstractConcurrentDepositJob extends AbstractDepositJob {
 
     protected AtomicBoolean isInterrupted = new AtomicBoolean(false);
     protected AtomicBoolean doneWork = new AtomicBoolean(false);
-    protected Object flushingLock = new Object();
     private Thread flushThread;
 
     protected ExecutorService executorService;
-    protected Queue<Future<?>> futuresQueue = new LinkedBlockingQueue<>();
     protected BlockingQueue<Object> resultsQueue = new LinkedBlockingQueue<>();
 
+    // Guards the count of active tasks, signaled whenever a task finishes
+    private final ReentrantLock tasksLock = new ReentrantLock();
+    private final Condition taskFinished = tasksLock.newCondition();
+    private int activeTasks = 0;
+    // First exception thrown by a task or by the registrar, rethrown to the job thread
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // Guards the results queue for the registrar, signaled when a batch is ready or work ends
+    private final ReentrantLock resultsLock = new ReentrantLock();
+    private final Condition batchReady = resultsLock.newCondition();
+
     private long MAX_REGISTRAR_SHUTDOWN_MS = 1000 * 10;
     private int flushRate = 5000;
+    private int flushBatchSize = 100;
     // Should be higher than the number of workers
     private int maxQueuedJobs = 10;
 
@@ -54,30 +69,39 @@ public abstract class AbstractConcurrentDepositJob extends AbstractDepositJob {
     protected void waitForCompletion() {
         try {
             // Wait for the remaining jobs
-            while (!futuresQueue.isEmpty()) {
-                futuresQueue.poll().get();
-            }
-
-            // Wait for results
-            while (!resultsQueue.isEmpty()) {
-                TimeUnit.MILLISECONDS.sleep(10l);
-            }
-
-            // Wait if a flush of registrations is still active
-            synchronized (flushingLock) {
-            }
+            waitForTasks();
 
+            // Tell the registrar to flush the remaining results and wait for it to finish
             doneWork.set(true);
+            signalRegistrar();
+            if (flushThread != null) {
+                flushThread.join();
+            }
+            rethrowFailure();
         } catch (InterruptedException e) {
-            isInterrupted.set(true);
+            interrupt();
             throw new JobInterruptedException("Interrupted while waiting for completion", e);
-        } catch (ExecutionException e) {
-            isInterrupted.set(true);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Wait for all queued or executing tasks to complete, without waiting for their results
+     * to be registered. Rethrows the first exception produced by any of the tasks.
+     */
+    protected void waitForTasks() {
+        try {
+            tasksLock.lockInterruptibly();
+            try {
+                while (activeTasks > 0) {
+                    taskFinished.await();
+                }
+            } finally {
+                tasksLock.unlock();
             }
+            rethrowFailure();
+        } catch (InterruptedException e) {
+            interrupt();
+            throw new JobInterruptedException("Interrupted while waiting for tasks", e);
         }
     }
 
@@ -86,7 +110,7 @@ public abstract class AbstractConcurrentDepositJob extends AbstractDepositJob {
         try {
             super.interruptJobIfStopped();
         } catch (JobInterruptedException e) {
-            isInterrupted.set(true);
+            interrupt();
             throw e;
         }
     }
@@ -96,91 +120,161 @@ public abstract class AbstractConcurrentDepositJob extends AbstractDepositJob {
      * @param task
      */
     protected void submitTask(Runnable task) {
-        Future<?> future = executorService.submit(task);
-        futuresQueue.add(future);
+        tasksLock.lock();
+        try {
+            activeTasks++;
+        } finally {
+            tasksLock.unlock();
+        }
+        try {
+            executorService.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    recordFailure(e);
+                } finally {
+                    taskCompleted();
+                }
+            });
+        } catch (RuntimeException e) {
+            taskCompleted();
+            throw e;
+        }
+    }
+
+    private void taskCompleted() {
+        tasksLock.lock();
+        try {
+            activeTasks--;
+            taskFinished.signalAll();
+        } finally {
+            tasksLock.unlock();
+        }
     }
 
     /**
-     * Wait for the queue of task futures to drop below the max number of allowed queued jobs
+     * Wait for the number of queued or executing tasks to drop below the max number of allowed queued jobs
      */
     protected void waitForQueueCapacity() {
         try {
-            while (futuresQueue.size() >= maxQueuedJobs) {
-                Iterator<Future<?>> it = futuresQueue.iterator();
-                while (it.hasNext()) {
-                    Future<?> future = it.next();
-                    if (future.isDone()) {
-                        future.get();
-                        it.remove();
-                        return;
-                    }
+            tasksLock.lockInterruptibly();
+            try {
+                while (activeTasks >= maxQueuedJobs && failure.get() == null) {
+                    taskFinished.await();
                 }
-                Thread.sleep(10l);
+            } finally {
+                tasksLock.unlock();
             }
+            rethrowFailure();
         } catch (InterruptedException e) {
-            isInterrupted.set(true);
+            interrupt();
             throw new JobInterruptedException("Interrupted while waiting for queue capacity");
-        } catch (ExecutionException e) {
-            isInterrupted.set(true);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new RuntimeException(e.getCause());
-            }
         }
     }
 
     /**
-     * Registers results from tasks executed by this job every flushRate milliseconds
-     *
-     * @throws InterruptedException
+     * Starts a thread which registers results from tasks executed by this job, in batches
+     * of up to flushBatchSize or every flushRate milliseconds.
      */
     protected void startResultRegistrar() {
         flushThread = new Thread(() -> {
             try {
                 while (true) {
+                    awaitResultsBatch();
                     registerResults();
                     if ((doneWork.get() || isInterrupted.get()) && resultsQueue.isEmpty()) {
                         log.debug("Shutting down registrar for {}", jobUUID);
                         return;
                     }
-                    TimeUnit.MILLISECONDS.sleep(flushRate);
                 }
             } catch (InterruptedException e) {
                 throw new JobInterruptedException("Interrupted result registrar", e);
             }
         });
         // Allow exceptions from the registrar thread to make it to the main thread
-        flushThread.setUncaughtExceptionHandler( new Thread.UncaughtExceptionHandler() {
-            @Override
-            public void uncaughtException(Thread th, Throwable ex) {
-                isInterrupted.set(true);
-                if (ex instanceof RuntimeException) {
-                    throw (RuntimeException) ex;
-                } else {
-                    new RepositoryException(ex);
-                }
-            }
-        });
+        flushThread.setUncaughtExceptionHandler((th, ex) -> recordFailure(ex));
         flushThread.start();
     }
 
     protected void awaitRegistrarShutdown() {
+        if (flushThread == null) {
+            return;
+        }
         try {
+            signalRegistrar();
             flushThread.join(MAX_REGISTRAR_SHUTDOWN_MS);
         } catch (InterruptedException e) {
-            isInterrupted.set(true);
+            interrupt();
             throw new JobInterruptedException("Interrupted while waiting for registrar", e);
         }
     }
 
+    /**
+     * Block until a full batch of results is available, the flush interval has elapsed with
+     * results pending, or work has ended. Idle waiting does not consume CPU.
+     *
+     * @throws InterruptedException
+     */
+    private void awaitResultsBatch() throws InterruptedException {
+        resultsLock.lockInterruptibly();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(flushRate);
+            while (resultsQueue.size() < flushBatchSize && !doneWork.get() && !isInterrupted.get()) {
+                if (remaining <= 0) {
+                    if (!resultsQueue.isEmpty()) {
+                        return;
+                    }
+                    remaining = TimeUnit.MILLISECONDS.toNanos(flushRate);
+                }
+                remaining = batchReady.awaitNanos(remaining);
+            }
+        } finally {
+            resultsLock.unlock();
+        }
+    }
+
+    private void signalRegistrar() {
+        resultsLock.lock();
+        try {
+            batchReady.signalAll();
+        } finally {
+            resultsLock.unlock();
+        }
+    }
+
     private void registerResults() {
         if (resultsQueue.isEmpty()) {
             return;
         }
-        // Start a flush lock so that the job will not end until it finishes
-        synchronized (flushingLock) {
-            registrationAction();
+        registrationAction();
+    }
+
+    private void interrupt() {
+        isInterrupted.set(true);
+        signalRegistrar();
+    }
+
+    private void recordFailure(Throwable e) {
+        failure.compareAndSet(null, e);
+        interrupt();
+        // Wake the producer if it is waiting on capacity
+        tasksLock.lock();
+        try {
+            taskFinished.signalAll();
+        } finally {
+            tasksLock.unlock();
+        }
+    }
+
+    private void rethrowFailure() {
+        Throwable e = failure.get();
+        if (e == null) {
+            return;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else {
+            throw new RepositoryException(e);
         }
     }
 
@@ -195,6 +289,9 @@ public abstract class AbstractConcurrentDepositJob extends AbstractDepositJob {
      */
     protected void receiveResult(Object result) {
         resultsQueue.add(result);
+        if (resultsQueue.size() >= flushBatchSize) {
+            signalRegistrar();
+        }
     }
 
 
@@ -206,6 +303,10 @@ public abstract class AbstractConcurrentDepositJob extends AbstractDepositJob {
         this.flushRate = flushRate;
     }
 
+    public void setFlushBatchSize(int flushBatchSize) {
+        this.flushBatchSize = flushBatchSize;
+    }
+
     public void setMaxQueuedJobs(int maxQueuedJobs) {
         this.maxQueuedJobs = maxQueuedJobs;
     }
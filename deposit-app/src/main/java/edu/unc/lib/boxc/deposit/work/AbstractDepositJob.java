@@ -403,6 +403,16 @@ public abstract class AbstractDepositJob implements Runnable {
         depositModelManager.commit(runnable, true);
     }
 
+    /**
+     * Add the statements from the provided in-memory model to the deposit model, committing
+     * them in chunks to avoid holding a write transaction for the duration of a large update
+     *
+     * @param statements
+     */
+    public void commitInChunks(Model statements) {
+        depositModelManager.commitInChunks(depositPID, statements, true);
+    }
+
     public void closeModel() {
         depositModelManager.commit();
     }
@@ -2,7 +2,10 @@ package edu.unc.lib.boxc.deposit.work;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.apache.jena.rdf.model.Bag;
 import org.apache.jena.rdf.model.Model;
@@ -74,18 +77,54 @@ public class DepositGraphUtils {
      */
     public static void walkChildrenDepthFirst(Bag bag, Collection<String> pids,
             boolean recursive) {
+        // Track seen children in a set, since the provided collection may be slow to search
+        Set<String> seen = new HashSet<>(pids);
+        visitChildren(bag, recursive, childResource -> {
+            if (seen.add(childResource.getURI())) {
+                pids.add(childResource.getURI());
+            }
+        });
+    }
+
+    /**
+     * Visit the children of the given bag in depth first order, streaming them to the
+     * visitor without collecting them in memory. Duplicate children are only visited once.
+     *
+     * @param bag bag to retrieve children from
+     * @param visitor action to perform on each child
+     */
+    public static void visitChildrenDepthFirst(Bag bag, Consumer<Resource> visitor) {
+        Set<String> seen = new HashSet<>();
+        visitChildren(bag, true, childResource -> {
+            if (seen.add(childResource.getURI())) {
+                visitor.accept(childResource);
+            }
+        });
+    }
+
+    /**
+     * Count the children of the given bag, recursively, without collecting them in memory.
+     *
+     * @param bag bag to retrieve children from
+     * @return number of distinct children
+     */
+    public static int countChildrenDepthFirst(Bag bag) {
+        int[] count = { 0 };
+        visitChildrenDepthFirst(bag, child -> count[0]++);
+        return count[0];
+    }
+
+    private static void visitChildren(Bag bag, boolean recursive, Consumer<Resource> visitor) {
         NodeIterator childIt = bag.iterator();
         try {
             while (childIt.hasNext()) {
                 Resource childResource = (Resource) childIt.next();
 
-                if (!pids.contains(childResource.getURI())) {
-                    pids.add(childResource.getURI());
-                }
+                visitor.accept(childResource);
 
                 if (recursive) {
                     Bag childBag = childResource.getModel().getBag(childResource);
-                    walkChildrenDepthFirst(childBag, pids, recursive);
+                    visitChildren(childBag, recursive, visitor);
                 }
             }
         } finally {
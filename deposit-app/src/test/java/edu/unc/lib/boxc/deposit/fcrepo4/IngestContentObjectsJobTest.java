@@ -32,6 +32,8 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import edu.unc.lib.boxc.model.api.exceptions.NotFoundException;
 import edu.unc.lib.boxc.model.api.rdf.CdrAspace;
@@ -334,6 +336,68 @@ public class IngestContentObjectsJobTest extends AbstractDepositJobTest {
                 any(Property.class), eq(DCTerms.conformsTo), any(Resource.class));
     }
 
+    /**
+     * Test that files in a work are ingested when using a pool of workers
+     */
+    @Test
+    public void ingestWorkObjectParallelTest() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        job.setExecutorService(executorService);
+        job.setMaxQueuedJobs(2);
+
+        PID workPid = makePid(RepositoryPathConstants.CONTENT_BASE);
+        WorkObject work = mock(WorkObject.class);
+        Bag workBag = setupWork(workPid, work);
+
+        String mainLoc = "pdf.pdf";
+        String mainMime = "application/pdf";
+        PID mainPid = addFileObject(workBag, mainLoc, mainMime);
+        String supLoc = "text.txt";
+        String supMime = "text/plain";
+        PID supPid = addFileObject(workBag, supLoc, supMime);
+
+        workBag.asResource().addProperty(Cdr.primaryObject,
+                model.getResource(mainPid.getRepositoryPath()));
+
+        job.closeModel();
+
+        FileObject mainFileObj = mock(FileObject.class);
+        when(mainFileObj.getPid()).thenReturn(mainPid);
+        when(mainFileObj.getOriginalFile()).thenReturn(mockBinaryObj);
+        FileObject supFileObj = mock(FileObject.class);
+        when(supFileObj.getPid()).thenReturn(supPid);
+        when(supFileObj.getOriginalFile()).thenReturn(mockBinaryObj);
+        when(work.addDataFile(eq(mainPid), any(URI.class),
+                anyString(), anyString(), isNull(), isNull(), any(Model.class)))
+                .thenReturn(mainFileObj);
+        when(work.addDataFile(eq(supPid), any(URI.class),
+                anyString(), anyString(), isNull(), isNull(), any(Model.class)))
+                .thenReturn(supFileObj);
+        when(repoObjLoader.getWorkObject(eq(workPid))).thenReturn(work);
+
+        try {
+            job.run();
+        } finally {
+            executorService.shutdown();
+        }
+
+        verify(work).addDataFile(eq(mainPid), any(URI.class), eq(mainLoc),
+                eq(mainMime), isNull(), isNull(), any(Model.class));
+        verify(work).addDataFile(eq(supPid), any(URI.class), eq(supLoc),
+                eq(supMime), isNull(), isNull(), any(Model.class));
+        verify(work).setPrimaryObject(mainPid);
+
+        // Add work and file count
+        verify(jobStatusFactory, times(3)).incrCompletion(eq(jobUUID), eq(1));
+
+        verify(mainFileObj).addBinary(any(PID.class), any(URI.class),
+                anyString(), anyString(), isNull(String.class), isNull(String.class),
+                any(Property.class), eq(DCTerms.conformsTo), any(Resource.class));
+        verify(supFileObj).addBinary(any(PID.class), any(URI.class),
+                anyString(), anyString(), isNull(String.class), isNull(String.class),
+                any(Property.class), eq(DCTerms.conformsTo), any(Resource.class));
+    }
+
     /**
      * Test that ingest will work if a file object has streaming properties and no
      * original file and staging location
@@ -553,6 +617,76 @@ public class IngestContentObjectsJobTest extends AbstractDepositJobTest {
         verify(jobStatusFactory).setTotalCompletion(eq(jobUUID), eq(3));
     }
 
+    /**
+     * Test resuming a Work ingest where existence checks are performed by a pool of workers
+     */
+    @Test
+    public void resumeIngestWorkObjectParallelTest() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        job.setExecutorService(executorService);
+
+        // Mark the deposit as resumed
+        when(depositStatusFactory.isResumedDeposit(anyString())).thenReturn(true);
+
+        PID workPid = makePid(RepositoryPathConstants.CONTENT_BASE);
+        WorkObject work = mock(WorkObject.class);
+        Bag workBag = setupWork(workPid, work);
+        when(repoObjLoader.getWorkObject(eq(workPid))).thenReturn(work);
+
+        Model workModel = ModelFactory.createDefaultModel();
+        Resource workResc = workModel.createResource(workPid.getRepositoryPath())
+                .addProperty(RDF.type, Cdr.Work);
+        when(work.getResource()).thenReturn(workResc);
+
+        String mainLoc = "pdf.pdf";
+        String mainMime = "application/pdf";
+        PID mainPid = addFileObject(workBag, mainLoc, mainMime);
+        String supLoc = "text.txt";
+        String supMime = "text/plain";
+        PID supPid = addFileObject(workBag, supLoc, supMime);
+
+        workBag.asResource().addProperty(Cdr.primaryObject,
+                model.getResource(mainPid.getRepositoryPath()));
+
+        job.closeModel();
+
+        when(work.addDataFile(any(PID.class), any(URI.class),
+                anyString(), anyString(), isNull(), isNull(), any(Model.class)))
+                .thenReturn(mockFileObj);
+        when(mockFileObj.getPid()).thenReturn(mainPid).thenReturn(supPid);
+
+        HeadBuilder notFoundBuilder = mock(HeadBuilder.class);
+        when(fcrepoClient.head(eq(supPid.getRepositoryUri()))).thenReturn(notFoundBuilder);
+        when(notFoundBuilder.perform()).thenThrow(new FcrepoOperationFailedException(
+                destinationPid.getRepositoryUri(), HttpStatus.SC_NOT_FOUND, ""));
+
+        try {
+            job.run();
+        } finally {
+            executorService.shutdown();
+        }
+
+        // Check that the work object was retrieved rather than created
+        verify(repoObjFactory, never()).createWorkObject(any(PID.class), any(Model.class));
+        verify(repoObjLoader).getWorkObject(any(PID.class));
+
+        // Main file object should not be touched
+        verify(work, never()).addDataFile(eq(mainPid), any(URI.class),
+                anyString(), anyString(), isNull(), isNull(), any(Model.class));
+        verify(repoObjLoader, never()).getFileObject(eq(mainPid));
+
+        // Supplemental file should be created
+        verify(repoObjLoader, never()).getFileObject(eq(supPid));
+        verify(work).addDataFile(eq(supPid), any(URI.class), eq(supLoc),
+                eq(supMime), isNull(), isNull(), any(Model.class));
+
+        // Ensure that the primary object still got set
+        verify(work).setPrimaryObject(mainPid);
+
+        verify(jobStatusFactory).setCompletion(eq(jobUUID), eq(2));
+        verify(jobStatusFactory).setTotalCompletion(eq(jobUUID), eq(3));
+    }
+
     @Test
     public void ingestWorkObjectWithTransientChecksumFailure() throws Exception {
         PID workPid = makePid(RepositoryPathConstants.CONTENT_BASE);
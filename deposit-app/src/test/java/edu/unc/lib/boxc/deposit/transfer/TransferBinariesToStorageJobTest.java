@@ -213,6 +213,8 @@ public class TransferBinariesToStorageJobTest extends AbstractNormalizationJobTe
 
         assertOriginalFileTransferred(postFileResc, FILE_CONTENT1);
         assertFitsFileTransferred(postFileResc);
+        // All digests calculated during the transfer are recorded
+        assertNotNull(DepositModelHelpers.getDatastream(postFileResc).getProperty(CdrDeposit.md5sum));
 
         verify(jobStatusFactory).setTotalCompletion(eq(jobUUID), eq(3));
         verify(jobStatusFactory, times(3)).incrCompletion(eq(jobUUID), eq(1));
@@ -275,6 +277,22 @@ public class TransferBinariesToStorageJobTest extends AbstractNormalizationJobTe
         });
     }
 
+    @Test
+    public void depositFileWithIncorrectMd5() throws Exception {
+        Assertions.assertThrows(InvalidChecksumException.class, () -> {
+            Bag workBag = addContainerObject(depBag, Cdr.Work);
+            Resource fileResc = addFileObject(workBag, FILE_CONTENT1, true);
+            PID originalPid = DatastreamPids.getOriginalFilePid(PIDs.get(fileResc.getURI()));
+            Resource originalResc = depositModel.getResource(originalPid.getRepositoryPath());
+            originalResc.addLiteral(CdrDeposit.md5sum, "whoasowrong");
+            workBag.addProperty(Cdr.primaryObject, fileResc);
+
+            job.closeModel();
+
+            job.run();
+        });
+    }
+
     @Test
     public void depositWithWorkContainingFileAndAccessSurrogate() throws Exception {
         Bag workBag = addContainerObject(depBag, Cdr.Work);
@@ -7,6 +7,8 @@ import edu.unc.lib.boxc.model.api.ids.PID;
 import org.apache.jena.query.Dataset;
 import org.apache.jena.query.ReadWrite;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdf.model.StmtIterator;
 import org.apache.jena.tdb2.DatabaseMgr;
 import org.apache.jena.tdb2.TDB2Factory;
 import org.slf4j.Logger;
@@ -17,6 +19,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -33,6 +37,9 @@ public class DepositModelManager implements Closeable {
 
     private Dataset dataset;
 
+    // Max number of statements added per write transaction when committing in chunks
+    private int writeChunkSize = 5000;
+
     /**
      * Construct a deposit model manager
      * @param tdbBaseDir path to the tdb directory
@@ -195,6 +202,98 @@ public class DepositModelManager implements Closeable {
         }
     }
 
+    /**
+     * Add all of the statements from the provided model to the model for a deposit, committing
+     * after every writeChunkSize statements. Keeping write transactions short allows other deposits
+     * to write to the dataset in between chunks rather than waiting for the entire model to be added.
+     *
+     * The statements are not added atomically, readers may observe a partially added model while chunks are
+     * being committed. If a chunk fails, the statements added by previously committed chunks are removed
+     * again, so the deposit model is returned to its prior state and the caller may safely be retried. If
+     * that cleanup also fails, the exception indicates that the deposit model is incomplete.
+     *
+     * @param depositPid pid of the deposit
+     * @param statements model containing the statements to add. Must not be backed by the dataset.
+     * @param inTx if true, the dataset will be assumed to already be in a read transaction, which will
+     *      be resumed after the statements are committed
+     */
+    public void commitInChunks(PID depositPid, Model statements, boolean inTx) {
+        String depositUri = depositPid.getRepositoryPath();
+        long start = System.currentTimeMillis();
+        if (inTx && dataset.isInTransaction()) {
+            dataset.end();
+        }
+        // Statements added by committed chunks which were not already present, removed if a later chunk fails
+        Model added = createDefaultModel();
+        StmtIterator stmtIt = statements.listStatements();
+        try {
+            int chunks = 0;
+            do {
+                Exception failure = null;
+                dataset.begin(ReadWrite.WRITE);
+                try {
+                    Model model = dataset.getNamedModel(depositUri);
+                    List<Statement> chunk = new ArrayList<>();
+                    for (int i = 0; i < writeChunkSize && stmtIt.hasNext(); i++) {
+                        Statement stmt = stmtIt.nextStatement();
+                        if (!model.contains(stmt)) {
+                            chunk.add(stmt);
+                        }
+                    }
+                    model.add(chunk);
+                    dataset.commit();
+                    added.add(chunk);
+                    chunks++;
+                } catch (Exception e) {
+                    dataset.abort();
+                    failure = e;
+                } finally {
+                    dataset.end();
+                }
+                if (failure != null) {
+                    rollbackChunks(depositUri, added, failure);
+                    throw new RepositoryException("Failed to commit chunk to deposit model " + depositUri, failure);
+                }
+            } while (stmtIt.hasNext());
+            log.debug("Committed {} statements to {} in {} chunks in {}ms", statements.size(), depositUri,
+                    chunks, (System.currentTimeMillis() - start));
+        } finally {
+            stmtIt.close();
+            if (inTx) {
+                dataset.begin(ReadWrite.READ);
+            }
+        }
+    }
+
+    /**
+     * Remove the statements added by previously committed chunks from the deposit model
+     */
+    private void rollbackChunks(String depositUri, Model added, Exception cause) {
+        if (added.isEmpty()) {
+            return;
+        }
+        try {
+            dataset.begin(ReadWrite.WRITE);
+            dataset.getNamedModel(depositUri).remove(added);
+            dataset.commit();
+            log.warn("Removed {} statements committed to {} before a chunk failed", added.size(), depositUri);
+        } catch (Exception e) {
+            dataset.abort();
+            cause.addSuppressed(e);
+            throw new RepositoryException("Failed to commit chunk to deposit model " + depositUri
+                    + ", and could not remove previously committed chunks. The deposit model is incomplete", cause);
+        } finally {
+            dataset.end();
+        }
+    }
+
+    /**
+     * @param writeChunkSize max number of statements to add per write transaction when committing in chunks
+     */
+    public void setWriteChunkSize(int writeChunkSize) {
+        this.writeChunkSize = writeChunkSize;
+    }
+
     /**
      * Commit the current transaction
      */
@@ -1,20 +1,31 @@
 package edu.unc.lib.boxc.deposit.impl.model;
 
+import edu.unc.lib.boxc.model.api.exceptions.RepositoryException;
 import edu.unc.lib.boxc.model.api.ids.PID;
 import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdf.model.StmtIterator;
+import org.apache.jena.rdf.model.impl.ModelCom;
+import org.apache.jena.rdf.model.impl.StmtIteratorImpl;
+import org.apache.jena.sparql.graph.GraphFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -100,6 +111,64 @@ public class DepositModelManagerTest {
         manager.end();
     }
 
+    @Test
+    void testCommitInChunks_PersistsAllStatements() {
+        manager.setWriteChunkSize(2);
+        Model statements = ModelFactory.createDefaultModel();
+        Property prop = statements.createProperty(PROPERTY_URI);
+        for (int i = 0; i < 5; i++) {
+            statements.add(statements.createResource(SUBJECT_URI + i), prop, VALUE);
+        }
+
+        Model readModel = manager.getReadModel(depositPid);
+        manager.commitInChunks(depositPid, statements, true);
+        assertEquals(5, readModel.size(), "All statements should be readable after chunked commit");
+        manager.end();
+    }
+
+    @Test
+    void testCommitInChunks_FailureRemovesCommittedChunks() {
+        Model writeModel = manager.getWriteModel(depositPid);
+        addTriple(writeModel);
+        manager.commit();
+
+        Model source = ModelFactory.createDefaultModel();
+        Property prop = source.createProperty(PROPERTY_URI);
+        List<Statement> sourceStmts = List.of(
+                source.createStatement(source.createResource(SUBJECT_URI), prop, VALUE),
+                source.createStatement(source.createResource(SUBJECT_URI + "new1"), prop, VALUE),
+                source.createStatement(source.createResource(SUBJECT_URI + "new2"), prop, VALUE));
+        // Model which fails partway through listing its statements
+        Model statements = new ModelCom(GraphFactory.createDefaultGraph()) {
+            @Override
+            public StmtIterator listStatements() {
+                Iterator<Statement> it = sourceStmts.iterator();
+                return new StmtIteratorImpl(new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Statement next() {
+                        if (it.hasNext()) {
+                            return it.next();
+                        }
+                        throw new IllegalStateException("Boom");
+                    }
+                });
+            }
+        };
+        manager.setWriteChunkSize(2);
+
+        Model readModel = manager.getReadModel(depositPid);
+        assertThrows(RepositoryException.class, () -> manager.commitInChunks(depositPid, statements, true));
+
+        assertEquals(1, readModel.size(), "Only the statement present before the failed commit should remain");
+        assertTrue(containsTriple(readModel));
+        manager.end();
+    }
+
     @Test
     void testCommitRunnableNotInTx_PersistsChanges() {
         // Establish the named model
@@ -1,8 +1,12 @@
 package edu.unc.lib.boxc.indexing.solr.action;
 
+import static edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageHelper.TREE_REINDEX_PARAMS;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -21,6 +25,7 @@ import edu.unc.lib.boxc.model.api.ids.PID;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObject;
 import edu.unc.lib.boxc.model.api.rdf.Cdr;
 import edu.unc.lib.boxc.model.api.rdf.PcdmModels;
+import edu.unc.lib.boxc.model.api.services.ContentPathFactory;
 import edu.unc.lib.boxc.model.api.sparql.SparqlQueryService;
 import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
 import edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType;
@@ -29,6 +34,12 @@ import edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageSender;
 /**
  * Performs depth first indexing of a tree of repository objects, starting at the PID of the provided update request.
  *
+ * If a batch size greater than 1 is configured, the members of each container are queued together in child set
+ * messages of up to that many members, targeting the container, rather than with one message per member.
+ *
+ * Queued messages are marked as part of a tree reindex, so that consumers do not discard cached data for each
+ * member, such as the ancestor paths prefetched for the subtree.
+ *
  * @author bbpennel
  *
  */
@@ -39,6 +50,10 @@ public class RecursiveTreeIndexer {
 
     private SparqlQueryService queryService;
 
+    private ContentPathFactory pathFactory;
+
+    private int batchSize = 1;
+
     private Set<String> CONTAINER_TYPES = new HashSet<>(Arrays.asList(Cdr.AdminUnit.getURI(),
             Cdr.Collection.getURI(),
             Cdr.ContentRoot.getURI(),
@@ -63,22 +78,44 @@ public class RecursiveTreeIndexer {
                 .map(Resource::getURI)
                 .collect(Collectors.toSet());
 
+        prefetchPaths(pid, types);
         index(pid, types, actionType, userid);
     }
 
     private void index(PID pid, Set<String> types, IndexingActionType actionType, String userid)
             throws IndexingException {
-        if (types.contains(Cdr.Tombstone.getURI())) {
-            log.debug("Skipping indexing tombstone object {}", pid.getQualifiedId());
+        if (isTombstone(pid, types)) {
             return;
         }
 
         log.debug("Queueing indexing of {} {}", pid, actionType);
-        messageSender.sendIndexingOperation(userid, pid, actionType);
+        messageSender.sendIndexingOperation(userid, pid, null, actionType, TREE_REINDEX_PARAMS, null);
 
-        if (types.stream().anyMatch(CONTAINER_TYPES::contains)) {
+        if (isContainer(types)) {
             // Start indexing the children
-            indexChildren(pid, actionType, userid);
+            queueChildren(pid, actionType, userid);
+        }
+    }
+
+    private boolean isContainer(Set<String> types) {
+        return types.stream().anyMatch(CONTAINER_TYPES::contains);
+    }
+
+    private boolean isTombstone(PID pid, Set<String> types) {
+        if (types.contains(Cdr.Tombstone.getURI())) {
+            log.debug("Skipping indexing tombstone object {}", pid.getQualifiedId());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Warm the path cache for the subtree being indexed, so that indexing of its members does
+     * not need to look up each ancestor individually
+     */
+    private void prefetchPaths(PID pid, Set<String> types) {
+        if (pathFactory != null && isContainer(types)) {
+            pathFactory.prefetchSubtree(pid);
         }
     }
 
@@ -91,15 +128,57 @@ public class RecursiveTreeIndexer {
      */
     public void indexChildren(PID parentPid, IndexingActionType actionType, String userid)
             throws IndexingException {
+        if (pathFactory != null) {
+            pathFactory.prefetchSubtree(parentPid);
+        }
+        queueChildren(parentPid, actionType, userid);
+    }
+
+    private void queueChildren(PID parentPid, IndexingActionType actionType, String userid)
+            throws IndexingException {
         Map<String, Set<String>> childToTypes = getMembers(parentPid);
 
         if (childToTypes.size() == 0) {
             return;
         }
         log.debug("Queuing {} children of {} for indexing", childToTypes.size(), parentPid);
-        childToTypes.forEach((childPid, types) -> {
-            index(PIDs.get(childPid), types, actionType, userid);
-        });
+        if (batchSize <= 1) {
+            childToTypes.forEach((childPid, types) -> {
+                index(PIDs.get(childPid), types, actionType, userid);
+            });
+            return;
+        }
+
+        List<PID> batch = new ArrayList<>(batchSize);
+        List<PID> containers = new ArrayList<>();
+        for (var entry : childToTypes.entrySet()) {
+            PID childPid = PIDs.get(entry.getKey());
+            Set<String> types = entry.getValue();
+            if (isTombstone(childPid, types)) {
+                continue;
+            }
+            batch.add(childPid);
+            if (batch.size() >= batchSize) {
+                sendBatch(parentPid, batch, actionType, userid);
+                batch = new ArrayList<>(batchSize);
+            }
+            if (isContainer(types)) {
+                containers.add(childPid);
+            }
+        }
+        if (!batch.isEmpty()) {
+            sendBatch(parentPid, batch, actionType, userid);
+        }
+
+        // Descend into child containers once all members of this container have been queued
+        for (PID containerPid : containers) {
+            queueChildren(containerPid, actionType, userid);
+        }
+    }
+
+    private void sendBatch(PID parentPid, List<PID> batch, IndexingActionType actionType, String userid) {
+        log.debug("Queueing indexing of {} children of {} {}", batch.size(), parentPid, actionType);
+        messageSender.sendIndexingOperation(userid, parentPid, batch, actionType, TREE_REINDEX_PARAMS, null);
     }
 
     private final static String CHILDREN_QUERY =
@@ -152,4 +231,19 @@ public class RecursiveTreeIndexer {
     public void setSparqlQueryService(SparqlQueryService queryService) {
         this.queryService = queryService;
     }
+
+    /**
+     * @param pathFactory path factory to prefetch ancestor paths for indexed subtrees, optional
+     */
+    public void setPathFactory(ContentPathFactory pathFactory) {
+        this.pathFactory = pathFactory;
+    }
+
+    /**
+     * @param batchSize max number of members of a container to queue in a single indexing message.
+     *      A value of 1 or less queues each member in its own message.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
 }
\ No newline at end of file
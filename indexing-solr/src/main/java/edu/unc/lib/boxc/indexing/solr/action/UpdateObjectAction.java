@@ -1,14 +1,21 @@
 package edu.unc.lib.boxc.indexing.solr.action;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import edu.unc.lib.boxc.indexing.solr.ChildSetRequest;
 import edu.unc.lib.boxc.indexing.solr.SolrUpdateRequest;
 import edu.unc.lib.boxc.indexing.solr.exception.IndexingException;
 import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPackage;
+import edu.unc.lib.boxc.model.api.exceptions.NotFoundException;
+import edu.unc.lib.boxc.model.api.ids.PID;
 
 /**
- * Updates or adds the metadata for a single object
+ * Updates or adds the metadata for a single object. If the request is a child set request,
+ * then each of the children is updated instead, as a single unit of work.
  *
  * @author bbpennel
  *
@@ -18,6 +25,11 @@ public class UpdateObjectAction extends AbstractIndexingAction {
 
     @Override
     public void performAction(SolrUpdateRequest updateRequest) throws IndexingException {
+        if (updateRequest instanceof ChildSetRequest) {
+            performChildSetAction((ChildSetRequest) updateRequest);
+            return;
+        }
+
         log.debug("Indexing object {}", updateRequest.getPid());
         // Retrieve object metadata from Fedora and add to update document list
         DocumentIndexingPackage dip = updateRequest.getDocumentIndexingPackage();
@@ -26,12 +38,44 @@ public class UpdateObjectAction extends AbstractIndexingAction {
             updateRequest.setDocumentIndexingPackage(dip);
         }
 
+        index(dip);
+    }
+
+    private void performChildSetAction(ChildSetRequest childSetRequest) throws IndexingException {
+        List<PID> children = childSetRequest.getChildren();
+        log.debug("Indexing {} children of {}", children.size(), childSetRequest.getPid());
+        // Index each child independently, so that one failure does not prevent its siblings from being indexed
+        List<PID> failed = new ArrayList<>();
+        Exception lastFailure = null;
+        for (PID childPid : children) {
+            try {
+                index(factory.createDip(childPid));
+            } catch (NotFoundException e) {
+                log.warn("Skipping indexing of {} in child set of {}, object not found: {}",
+                        childPid, childSetRequest.getPid(), e.getMessage());
+            } catch (Exception e) {
+                log.error("Failed to index {} in child set of {}", childPid, childSetRequest.getPid(), e);
+                failed.add(childPid);
+                lastFailure = e;
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Finished indexing {} children of {} in {} ms", children.size(),
+                    childSetRequest.getPid(), System.currentTimeMillis() - childSetRequest.getTimeStarted());
+        }
+        if (!failed.isEmpty()) {
+            throw new IndexingException("Failed to index " + failed.size() + " of " + children.size()
+                    + " children of " + childSetRequest.getPid() + ": " + failed, lastFailure);
+        }
+    }
+
+    private void index(DocumentIndexingPackage dip) throws IndexingException {
         pipeline.process(dip);
         if (this.addDocumentMode) {
             solrUpdateDriver.addDocument(dip.getDocument());
         } else {
             solrUpdateDriver.updateDocument(dip.getDocument());
         }
-
     }
 }
@@ -0,0 +1,286 @@
+package edu.unc.lib.boxc.indexing.solr.action;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.apache.solr.common.params.CursorMarkParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.unc.lib.boxc.indexing.solr.ChildSetRequest;
+import edu.unc.lib.boxc.indexing.solr.SolrUpdateRequest;
+import edu.unc.lib.boxc.indexing.solr.exception.IndexingException;
+import edu.unc.lib.boxc.indexing.solr.filter.SetCollectionSupplementalInformationFilter;
+import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPackage;
+import edu.unc.lib.boxc.model.api.ResourceType;
+import edu.unc.lib.boxc.model.api.ids.ContentPathConstants;
+import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import edu.unc.lib.boxc.search.api.SearchFieldKey;
+import edu.unc.lib.boxc.search.api.models.ContentObjectRecord;
+import edu.unc.lib.boxc.search.api.requests.SearchRequest;
+import edu.unc.lib.boxc.search.api.requests.SearchState;
+import edu.unc.lib.boxc.search.api.requests.SimpleIdRequest;
+import edu.unc.lib.boxc.search.solr.facets.FilterableDisplayValueFacet;
+import edu.unc.lib.boxc.search.solr.models.IndexDocumentBean;
+import edu.unc.lib.boxc.search.solr.responses.SearchResultResponse;
+import edu.unc.lib.boxc.search.solr.services.TitleRetrievalService;
+
+/**
+ * Updates the path information of a set of moved objects and all of their descendants.
+ *
+ * Each moved object is reindexed with the pipeline provided. If its inherited access control did not change as a
+ * result of the move, then the path fields of its descendants are rewritten directly in the index from their
+ * existing records, paging through them with a cursor, rather than reindexing each descendant from the repository.
+ * Otherwise, the descendants are queued for indexing as an ordinary tree update.
+ *
+ * @author bbpennel
+ */
+public class UpdatePathTreeSetAction extends UpdateTreeSetAction {
+    private static final Logger log = LoggerFactory.getLogger(UpdatePathTreeSetAction.class);
+
+    private static final List<String> ROOT_FIELDS = Arrays.asList(SearchFieldKey.ID.name(),
+            SearchFieldKey.RESOURCE_TYPE.name(), SearchFieldKey.ANCESTOR_PATH.name(),
+            SearchFieldKey.ANCESTOR_IDS.name(), SearchFieldKey.PARENT_COLLECTION.name(),
+            SearchFieldKey.READ_GROUP.name(), SearchFieldKey.ADMIN_GROUP.name(),
+            SearchFieldKey.ROLE_GROUP.name(), SearchFieldKey.STATUS.name());
+    private static final List<String> DESCENDANT_FIELDS = Arrays.asList(SearchFieldKey.ID.name(),
+            SearchFieldKey.ANCESTOR_PATH.name(), SearchFieldKey.ANCESTOR_IDS.name());
+
+    private TitleRetrievalService titleRetrievalService;
+    private SetCollectionSupplementalInformationFilter collectionFilter;
+    private int pageSize = 1000;
+
+    @Override
+    public void performAction(SolrUpdateRequest updateRequest) throws IndexingException {
+        ChildSetRequest childSetRequest = getChildSetRequest(updateRequest);
+
+        for (PID pid : childSetRequest.getChildren()) {
+            updatePathTree(pid, updateRequest.getUserID());
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Finished updating path of {} trees moved to {} in {} ms",
+                    childSetRequest.getChildren().size(), updateRequest.getPid(),
+                    (System.currentTimeMillis() - updateRequest.getTimeStarted()));
+        }
+    }
+
+    private void updatePathTree(PID pid, String userid) throws IndexingException {
+        ContentObjectRecord oldRecord = getRecord(pid);
+        if (oldRecord == null || !isContainer(oldRecord) || oldRecord.getAncestorIds() == null) {
+            log.debug("No existing container record for {}, indexing tree", pid.getId());
+            indexTree(pid, userid);
+            return;
+        }
+
+        DocumentIndexingPackage dip = factory.createDip(pid);
+        pipeline.process(dip);
+        IndexDocumentBean newDoc = dip.getDocument();
+
+        if (!canRewriteDescendants(oldRecord, newDoc)) {
+            log.debug("Inherited properties of {} changed, indexing its descendants", pid.getId());
+            solrUpdateDriver.updateDocument(newDoc);
+            treeIndexer.indexChildren(pid, actionType, userid);
+            return;
+        }
+
+        // Descendants are located by the old path of the moved object, so it is updated after they are
+        int count = rewriteDescendants(oldRecord, newDoc);
+        solrUpdateDriver.updateDocument(newDoc);
+        log.debug("Rewrote paths of {} descendants of {}", count, pid.getId());
+    }
+
+    private ContentObjectRecord getRecord(PID pid) throws IndexingException {
+        try {
+            return solrSearchService.getObjectById(new SimpleIdRequest(pid, ROOT_FIELDS, accessGroups));
+        } catch (Exception e) {
+            throw new IndexingException("Failed to retrieve record for " + pid.getId(), e);
+        }
+    }
+
+    private boolean isContainer(ContentObjectRecord record) {
+        return !ResourceType.File.name().equals(record.getResourceType());
+    }
+
+    /**
+     * Descendants can only be updated from their existing records if nothing they inherit from
+     * the moved object, other than its path, has changed
+     */
+    private boolean canRewriteDescendants(ContentObjectRecord oldRecord, IndexDocumentBean newDoc) {
+        if (newDoc.getAncestorIds() == null || newDoc.getAncestorPath() == null) {
+            return false;
+        }
+        if (!sameValues(oldRecord.getReadGroup(), newDoc.getReadGroup())
+                || !sameValues(oldRecord.getAdminGroup(), newDoc.getAdminGroup())
+                || !sameValues(oldRecord.getRoleGroup(), newDoc.getRoleGroup())
+                || !sameValues(oldRecord.getStatus(), newDoc.getStatus())) {
+            return false;
+        }
+        // Collection specific information must be regenerated if descendants moved to or from such a collection
+        if (collectionFilter != null) {
+            String oldCollection = getCollectionId(oldRecord.getParentCollection());
+            String newCollection = getCollectionId(newDoc.getParentCollection());
+            if (!Objects.equals(oldCollection, newCollection)
+                    && (collectionFilter.hasCollectionFilter(oldCollection)
+                        || collectionFilter.hasCollectionFilter(newCollection))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameValues(Collection<String> values1, Collection<String> values2) {
+        return new HashSet<>(values1 == null ? List.of() : values1)
+                .equals(new HashSet<>(values2 == null ? List.of() : values2));
+    }
+
+    private String getCollectionId(String parentCollection) {
+        if (parentCollection == null) {
+            return null;
+        }
+        return parentCollection.substring(parentCollection.lastIndexOf('|') + 1);
+    }
+
+    private int rewriteDescendants(ContentObjectRecord oldRecord, IndexDocumentBean newDoc)
+            throws IndexingException {
+        String rootId = oldRecord.getId();
+        String oldRootIds = oldRecord.getAncestorIds();
+        String newRootIds = newDoc.getAncestorIds();
+        int oldRootDepth = oldRecord.getAncestorPath() == null ? 0 : oldRecord.getAncestorPath().size();
+        List<String> newRootAncestors = toIdList(newDoc.getAncestorPath());
+
+        SearchState searchState = new SearchState();
+        searchState.setFacet(oldRecord.getPath());
+        searchState.setResultFields(DESCENDANT_FIELDS);
+        searchState.setRowsPerPage(pageSize);
+        SearchRequest searchRequest = new SearchRequest(searchState, accessGroups);
+        searchRequest.setApplyCutoffs(false);
+
+        int count = 0;
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        while (true) {
+            searchRequest.setCursorMark(cursorMark);
+            SearchResultResponse resultResponse = solrSearchService.getSearchResults(searchRequest);
+            List<ContentObjectRecord> records = resultResponse.getResultList();
+
+            List<IndexDocumentBean> docs = new ArrayList<>(records.size());
+            for (ContentObjectRecord record : records) {
+                List<String> ancestors = toIdList(record.getAncestorPath());
+                String ancestorIds = record.getAncestorIds();
+                if (ancestors.size() <= oldRootDepth || !rootId.equals(ancestors.get(oldRootDepth))
+                        || ancestorIds == null || !ancestorIds.startsWith(oldRootIds)) {
+                    log.warn("Record {} does not have the expected path within {}, skipping",
+                            record.getId(), rootId);
+                    continue;
+                }
+                List<String> newAncestors = new ArrayList<>(newRootAncestors);
+                newAncestors.addAll(ancestors.subList(oldRootDepth, ancestors.size()));
+
+                IndexDocumentBean doc = new IndexDocumentBean();
+                doc.setId(record.getId());
+                doc.setAncestorPath(toAncestorPath(newAncestors));
+                doc.setAncestorIds(newRootIds + ancestorIds.substring(oldRootIds.length()));
+                docs.add(doc);
+            }
+            setParentValues(docs);
+            for (IndexDocumentBean doc : docs) {
+                solrUpdateDriver.updateDocument(doc);
+            }
+            count += docs.size();
+
+            String nextCursorMark = resultResponse.getNextCursorMark();
+            if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+                break;
+            }
+            cursorMark = nextCursorMark;
+        }
+        return count;
+    }
+
+    /**
+     * Set the parent unit and collection of each document from their ancestors, retrieving
+     * the titles of all the units and collections in the page together
+     */
+    private void setParentValues(List<IndexDocumentBean> docs) {
+        List<PID> parentPids = new ArrayList<>();
+        for (IndexDocumentBean doc : docs) {
+            List<String> ancestors = toIdList(doc.getAncestorPath());
+            if (ancestors.size() > ContentPathConstants.UNIT_DEPTH) {
+                parentPids.add(PIDs.get(ancestors.get(ContentPathConstants.UNIT_DEPTH)));
+            }
+            if (ancestors.size() > ContentPathConstants.COLLECTION_DEPTH) {
+                parentPids.add(PIDs.get(ancestors.get(ContentPathConstants.COLLECTION_DEPTH)));
+            }
+        }
+        Map<String, String> titles = parentPids.isEmpty() ? Map.of()
+                : titleRetrievalService.retrieveTitles(parentPids);
+
+        for (IndexDocumentBean doc : docs) {
+            List<String> ancestors = toIdList(doc.getAncestorPath());
+            if (ancestors.size() > ContentPathConstants.UNIT_DEPTH) {
+                doc.setParentUnit(buildParentValue(ancestors.get(ContentPathConstants.UNIT_DEPTH), titles));
+            }
+            if (ancestors.size() > ContentPathConstants.COLLECTION_DEPTH) {
+                doc.setParentCollection(buildParentValue(
+                        ancestors.get(ContentPathConstants.COLLECTION_DEPTH), titles));
+            }
+        }
+    }
+
+    private String buildParentValue(String id, Map<String, String> titles) {
+        String title = titles.get(id);
+        if (title == null) {
+            title = titleRetrievalService.retrieveTitle(PIDs.get(id));
+        }
+        return FilterableDisplayValueFacet.buildValue(title, id);
+    }
+
+    /**
+     * @param ancestorPath ancestor path values, in the form "tier,id"
+     * @return ids from the ancestor path ordered by tier
+     */
+    private List<String> toIdList(List<String> ancestorPath) {
+        if (ancestorPath == null) {
+            return new ArrayList<>();
+        }
+        return ancestorPath.stream()
+                .map(value -> value.split(",", 2))
+                .sorted(Comparator.comparingInt(parts -> Integer.parseInt(parts[0])))
+                .map(parts -> parts[1])
+                .collect(Collectors.toList());
+    }
+
+    private List<String> toAncestorPath(List<String> ancestors) {
+        List<String> ancestorPath = new ArrayList<>(ancestors.size());
+        for (int i = 0; i < ancestors.size(); i++) {
+            ancestorPath.add((i + 1) + "," + ancestors.get(i));
+        }
+        return ancestorPath;
+    }
+
+    public void setTitleRetrievalService(TitleRetrievalService titleRetrievalService) {
+        this.titleRetrievalService = titleRetrievalService;
+    }
+
+    /**
+     * @param collectionFilter filter which indexes collection specific information, optional
+     */
+    public void setCollectionFilter(SetCollectionSupplementalInformationFilter collectionFilter) {
+        this.collectionFilter = collectionFilter;
+    }
+
+    /**
+     * @param pageSize number of descendant records to rewrite per page of results
+     */
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+}
@@ -20,19 +20,11 @@ public class UpdateTreeSetAction extends UpdateTreeAction {
 
     @Override
     public void performAction(SolrUpdateRequest updateRequest) throws IndexingException {
-        if (!(updateRequest instanceof ChildSetRequest)) {
-            throw new IndexingException("ChildSetRequest required to perform TreeSet update, received "
-                    + updateRequest.getClass().getName());
-        }
-        ChildSetRequest childSetRequest = (ChildSetRequest) updateRequest;
-        if (childSetRequest.getChildren() == null || childSetRequest.getChildren().size() == 0) {
-            throw new IllegalArgumentException("Update request must specify one or more children for indexing");
-        }
+        ChildSetRequest childSetRequest = getChildSetRequest(updateRequest);
 
         // Index the tree for each pid in the set
         for (PID pid : childSetRequest.getChildren()) {
-            RepositoryObject obj = repositoryObjectLoader.getRepositoryObject(pid);
-            treeIndexer.index(obj, actionType, updateRequest.getUserID());
+            indexTree(pid, updateRequest.getUserID());
         }
 
         if (log.isDebugEnabled()) {
@@ -41,4 +33,21 @@ public class UpdateTreeSetAction extends UpdateTreeAction {
                     (System.currentTimeMillis() - updateRequest.getTimeStarted()));
         }
     }
+
+    protected ChildSetRequest getChildSetRequest(SolrUpdateRequest updateRequest) throws IndexingException {
+        if (!(updateRequest instanceof ChildSetRequest)) {
+            throw new IndexingException("ChildSetRequest required to perform TreeSet update, received "
+                    + updateRequest.getClass().getName());
+        }
+        ChildSetRequest childSetRequest = (ChildSetRequest) updateRequest;
+        if (childSetRequest.getChildren() == null || childSetRequest.getChildren().size() == 0) {
+            throw new IllegalArgumentException("Update request must specify one or more children for indexing");
+        }
+        return childSetRequest;
+    }
+
+    protected void indexTree(PID pid, String userid) throws IndexingException {
+        RepositoryObject obj = repositoryObjectLoader.getRepositoryObject(pid);
+        treeIndexer.index(obj, actionType, userid);
+    }
 }
@@ -1,5 +1,8 @@
 package edu.unc.lib.boxc.indexing.solr.filter;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import edu.unc.lib.boxc.indexing.solr.exception.IndexingException;
 import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPackage;
 
@@ -10,4 +13,12 @@ import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPackage;
  */
 public interface IndexDocumentFilter {
     void filter(DocumentIndexingPackage dip) throws IndexingException;
+
+    /**
+     * @return classes of filters which must complete before this filter is executed, when present
+     *      in the same pipeline. Filters without dependencies may be run concurrently with each other.
+     */
+    default Collection<Class<? extends IndexDocumentFilter>> getDependencies() {
+        return Collections.emptyList();
+    }
 }
@@ -8,6 +8,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,6 +19,12 @@ import java.util.List;
 public class SetAspaceRefIdFilter implements IndexDocumentFilter {
     private static final Logger log = LoggerFactory.getLogger(SetAspaceRefIdFilter.class);
 
+    // Identifiers from descriptive metadata must be populated before the ref id is appended
+    @Override
+    public Collection<Class<? extends IndexDocumentFilter>> getDependencies() {
+        return Collections.singletonList(SetDescriptiveMetadataFilter.class);
+    }
+
     @Override
     public void filter(DocumentIndexingPackage dip) throws IndexingException {
         var contentObject = dip.getContentObject();
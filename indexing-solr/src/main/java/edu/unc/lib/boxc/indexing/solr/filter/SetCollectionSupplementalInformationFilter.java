@@ -2,6 +2,8 @@ package edu.unc.lib.boxc.indexing.solr.filter;
 
 import java.io.FileInputStream;
 import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -33,6 +35,13 @@ public class SetCollectionSupplementalInformationFilter implements IndexDocument
     public SetCollectionSupplementalInformationFilter() {
         collectionFilters = new HashMap<String, IndexDocumentFilter>();
     }
+
+    // Parent collection is populated by the path filter
+    @Override
+    public Collection<Class<? extends IndexDocumentFilter>> getDependencies() {
+        return Collections.singletonList(SetPathFilter.class);
+    }
+
     @Override
     public void filter(DocumentIndexingPackage dip) throws IndexingException {
         String collection = dip.getDocument().getParentCollection();
@@ -55,6 +64,14 @@ public class SetCollectionSupplementalInformationFilter implements IndexDocument
         collectionFilter.filter(dip);
     }
 
+    /**
+     * @param collectionId id of a collection
+     * @return true if supplemental information is indexed for members of the collection
+     */
+    public boolean hasCollectionFilter(String collectionId) {
+        return collectionId != null && collectionFilters.containsKey(collectionId);
+    }
+
     public void setCollectionFilters(String collectionFiltersPath) {
         Properties properties = new Properties();
         try {
@@ -1,7 +1,9 @@
 package edu.unc.lib.boxc.indexing.solr.filter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import edu.unc.lib.boxc.search.solr.facets.FilterableDisplayValueFacet;
@@ -65,12 +67,18 @@ public class SetPathFilter implements IndexDocumentFilter {
         }
         idb.setAncestorIds(ancestorIds);
 
+        // Retrieve the titles of the parent unit and collection together
+        List<PID> parentPids = pids.subList(Math.min(pids.size(), ContentPathConstants.UNIT_DEPTH),
+                Math.min(pids.size(), ContentPathConstants.COLLECTION_DEPTH + 1));
+        Map<String, String> parentTitles = parentPids.isEmpty() ? Collections.emptyMap()
+                : titleRetrievalService.retrieveTitles(parentPids);
+
         if (pids.size() > ContentPathConstants.COLLECTION_DEPTH) {
-            idb.setParentCollection(buildParentValue(pids.get(ContentPathConstants.COLLECTION_DEPTH)));
+            idb.setParentCollection(buildParentValue(pids.get(ContentPathConstants.COLLECTION_DEPTH), parentTitles));
         }
 
         if (pids.size() > ContentPathConstants.UNIT_DEPTH) {
-            idb.setParentUnit(buildParentValue(pids.get(ContentPathConstants.UNIT_DEPTH)));
+            idb.setParentUnit(buildParentValue(pids.get(ContentPathConstants.UNIT_DEPTH), parentTitles));
         }
 
         ContentObject contentObject = dip.getContentObject();
@@ -86,8 +94,11 @@ public class SetPathFilter implements IndexDocumentFilter {
         idb.setRollup(rollup);
     }
 
-    private String buildParentValue(PID pid) {
-        var title = titleRetrievalService.retrieveTitle(pid);
+    private String buildParentValue(PID pid, Map<String, String> parentTitles) {
+        var title = parentTitles.get(pid.getId());
+        if (title == null) {
+            title = titleRetrievalService.retrieveTitle(pid);
+        }
         return FilterableDisplayValueFacet.buildValue(title, pid.getId());
     }
 
@@ -40,14 +40,15 @@ public class DocumentIndexingPackage {
         this.pid = pid;
     }
 
-    public ContentObject getContentObject() throws IndexingException {
+    // Synchronized so that the object is only loaded once when filters are run concurrently
+    public synchronized ContentObject getContentObject() throws IndexingException {
         if (contentObject == null) {
             contentObject = loader.getContentObject(this);
         }
         return contentObject;
     }
 
-    public void setContentObject(ContentObject contentObject) {
+    public synchronized void setContentObject(ContentObject contentObject) {
         this.contentObject = contentObject;
     }
 
@@ -59,7 +60,7 @@ public class DocumentIndexingPackage {
         this.document = document;
     }
 
-    public Element getMods() throws IndexingException {
+    public synchronized Element getMods() throws IndexingException {
         if (mods == null) {
             mods = loader.loadMods(this);
         }
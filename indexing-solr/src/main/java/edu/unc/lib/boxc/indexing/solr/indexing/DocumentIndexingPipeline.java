@@ -1,15 +1,35 @@
 package edu.unc.lib.boxc.indexing.solr.indexing;
 
+import static edu.unc.lib.boxc.common.metrics.CounterFactory.createCounter;
+import static edu.unc.lib.boxc.common.metrics.TimerFactory.createTimerForClass;
+
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import edu.unc.lib.boxc.indexing.solr.exception.IndexingException;
 import edu.unc.lib.boxc.indexing.solr.filter.IndexDocumentFilter;
+import io.dropwizard.metrics5.Counter;
+import io.dropwizard.metrics5.Timer;
 
 /**
+ * Pipeline which applies a list of filters to a document being indexed.
+ *
+ * If an executor service is provided, filters are executed concurrently, with each filter
+ * starting once all of the filters it declares as dependencies have completed. Otherwise,
+ * filters are executed sequentially in the order provided.
+ *
+ * The duration and number of errors of each filter are recorded as metrics, along with the
+ * duration and rate of documents processed by all pipelines.
  *
  * @author bbpennel
  *
@@ -17,18 +37,135 @@ import edu.unc.lib.boxc.indexing.solr.filter.IndexDocumentFilter;
 public class DocumentIndexingPipeline implements DocumentFilteringPipeline {
     private static final Logger log = LoggerFactory.getLogger(DocumentIndexingPipeline.class);
     protected Collection<IndexDocumentFilter> filters;
+    // For each filter, the indexes of the earlier filters in the pipeline which it depends on
+    private List<List<Integer>> filterDependencies;
+    private ExecutorService executorService;
+    private Map<IndexDocumentFilter, FilterMetrics> filterMetrics;
+
+    private static final Timer documentTimer = createTimerForClass(DocumentIndexingPipeline.class, "documents");
+    private static final Counter documentErrors = createCounter(DocumentIndexingPipeline.class, "document-errors");
 
     @Override
     public void process(DocumentIndexingPackage dip) throws IndexingException {
+        try (Timer.Context context = documentTimer.time()) {
+            if (executorService == null) {
+                for (IndexDocumentFilter filter : filters) {
+                    runFilter(filter, dip);
+                }
+            } else {
+                processConcurrently(dip);
+            }
+        } catch (IndexingException | RuntimeException e) {
+            documentErrors.inc();
+            throw e;
+        }
+    }
 
+    private void processConcurrently(DocumentIndexingPackage dip) throws IndexingException {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(filters.size());
+        int i = 0;
         for (IndexDocumentFilter filter : filters) {
-            log.info("filter {} executed on pid {}", filter.getClass().getName(), dip.getPid());
+            CompletableFuture<?>[] dependencies = filterDependencies.get(i).stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+            // Dependent filters are skipped if any of their dependencies fail
+            futures.add(CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                try {
+                    runFilter(filter, dip);
+                } catch (IndexingException e) {
+                    throw new CompletionException(e);
+                }
+            }, executorService));
+            i++;
+        }
+
+        try {
+            // Report the failure of the earliest filter in the pipeline which failed
+            for (CompletableFuture<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IndexingException("Interrupted while indexing " + dip.getPid(), e);
+        } catch (ExecutionException e) {
+            throw unwrapFailure(dip, e);
+        }
+    }
+
+    private void runFilter(IndexDocumentFilter filter, DocumentIndexingPackage dip) throws IndexingException {
+        log.debug("filter {} executed on pid {}", filter.getClass().getName(), dip.getPid());
+        FilterMetrics metrics = filterMetrics.get(filter);
+        try (Timer.Context context = metrics.timer.time()) {
             filter.filter(dip);
+        } catch (IndexingException | RuntimeException e) {
+            metrics.errors.inc();
+            throw e;
         }
     }
 
+    private IndexingException unwrapFailure(DocumentIndexingPackage dip, Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IndexingException) {
+            return (IndexingException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new IndexingException("Failed to index " + dip.getPid(), cause);
+    }
+
     @Override
     public void setFilters(List<IndexDocumentFilter> filters) {
         this.filters = filters;
+        this.filterDependencies = resolveDependencies(filters);
+        Map<IndexDocumentFilter, FilterMetrics> metrics = new IdentityHashMap<>();
+        filters.forEach(filter -> metrics.put(filter, new FilterMetrics(filter)));
+        this.filterMetrics = metrics;
+    }
+
+    private static List<List<Integer>> resolveDependencies(List<IndexDocumentFilter> filters) {
+        List<List<Integer>> dependencies = new ArrayList<>(filters.size());
+        for (int i = 0; i < filters.size(); i++) {
+            List<Integer> filterDeps = new ArrayList<>();
+            for (Class<? extends IndexDocumentFilter> depClass : filters.get(i).getDependencies()) {
+                for (int j = 0; j < filters.size(); j++) {
+                    if (!depClass.isInstance(filters.get(j))) {
+                        continue;
+                    }
+                    if (j >= i) {
+                        throw new IllegalArgumentException("Filter " + filters.get(i).getClass().getName()
+                                + " must be listed after its dependency " + depClass.getName());
+                    }
+                    filterDeps.add(j);
+                }
+            }
+            dependencies.add(filterDeps);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Metrics recorded for an individual filter, shared by all pipelines containing the same type of filter
+     */
+    private static class FilterMetrics {
+        private final Timer timer;
+        private final Counter errors;
+
+        private FilterMetrics(IndexDocumentFilter filter) {
+            timer = createTimerForClass(filter.getClass(), "filter-duration");
+            errors = createCounter(filter.getClass(), "filter-errors");
+        }
+    }
+
+    /**
+     * @param executorService executor used to run filters concurrently. If not set, filters are run sequentially.
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import edu.unc.lib.boxc.model.api.ids.PID;
 import edu.unc.lib.boxc.model.api.objects.FileObject;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObject;
 import edu.unc.lib.boxc.model.api.objects.WorkObject;
+import edu.unc.lib.boxc.model.api.services.CacheInvalidator;
 
 import java.util.List;
 import java.util.Map;
@@ -14,7 +15,7 @@ import java.util.Map;
  *
  * @author bbpennel
  */
-public class MemberOrderService {
+public class MemberOrderService implements CacheInvalidator {
     private final static int CACHE_SIZE = 64;
     private Map<PID, List<PID>> cache;
 
@@ -53,6 +54,7 @@ public class MemberOrderService {
      * Invalidate a cached member entry
      * @param pid
      */
+    @Override
     public void invalidate(PID pid) {
         cache.remove(pid);
     }
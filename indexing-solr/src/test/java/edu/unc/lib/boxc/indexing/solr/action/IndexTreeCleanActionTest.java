@@ -1,9 +1,11 @@
 package edu.unc.lib.boxc.indexing.solr.action;
 
 import static edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType.CLEAN_REINDEX;
+import static edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageHelper.TREE_REINDEX_PARAMS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -100,7 +102,7 @@ public class IndexTreeCleanActionTest {
         verify(driver).commit();
 
         verify(messageSender).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
         assertEquals(pid, pidCaptor.getValue());
     }
 }
@@ -1,7 +1,9 @@
 package edu.unc.lib.boxc.indexing.solr.action;
 
 import static edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType.RECURSIVE_ADD;
+import static edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageHelper.TREE_REINDEX_PARAMS;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -37,7 +39,7 @@ public class IndexTreeInplaceActionTest extends UpdateTreeActionTest {
         action.performAction(request);
 
         verify(messageSender, times(3)).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         verify(messageSender).sendIndexingOperation(eq(USER), pidCaptor.capture(),
                 eq(IndexingActionType.DELETE_CHILDREN_PRIOR_TO_TIMESTAMP));
@@ -5,13 +5,19 @@ import static edu.unc.lib.boxc.indexing.solr.test.MockRepositoryObjectHelpers.ma
 import static edu.unc.lib.boxc.indexing.solr.test.MockRepositoryObjectHelpers.makeFileObject;
 import static edu.unc.lib.boxc.indexing.solr.test.MockRepositoryObjectHelpers.makePid;
 import static edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType.ADD;
+import static edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageHelper.TREE_REINDEX_PARAMS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.jena.rdf.model.Model;
@@ -25,6 +31,7 @@ import org.mockito.Mock;
 
 import edu.unc.lib.boxc.model.api.ids.PID;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObjectLoader;
+import edu.unc.lib.boxc.model.api.services.ContentPathFactory;
 import edu.unc.lib.boxc.model.api.sparql.SparqlQueryService;
 import edu.unc.lib.boxc.model.fcrepo.sparql.JenaSparqlQueryServiceImpl;
 import edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageSender;
@@ -51,9 +58,13 @@ public class RecursiveTreeIndexerTest {
     private RepositoryObjectLoader repositoryObjectLoader;
     @Mock
     private IndexingMessageSender messageSender;
+    @Mock
+    private ContentPathFactory pathFactory;
 
     @Captor
     protected ArgumentCaptor<PID> pidCaptor;
+    @Captor
+    protected ArgumentCaptor<Collection<PID>> childrenCaptor;
 
     protected Model sparqlModel;
     protected RecursiveTreeIndexer treeIndexer;
@@ -87,7 +98,7 @@ public class RecursiveTreeIndexerTest {
         indexer.index(fileObj, ADD, USER);
 
         verify(messageSender).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         assertEquals(fileObj.getPid(), pidCaptor.getValue());
     }
@@ -99,7 +110,7 @@ public class RecursiveTreeIndexerTest {
         indexer.index(containerObj, ADD, USER);
 
         verify(messageSender).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         assertEquals(containerObj.getPid(), pidCaptor.getValue());
     }
@@ -119,7 +130,7 @@ public class RecursiveTreeIndexerTest {
         indexer.index(containerObj, ADD, USER);
 
         verify(messageSender, times(4)).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         List<PID> pids = pidCaptor.getAllValues();
         assertTrue(pids.contains(containerObj.getPid()));
@@ -128,6 +139,73 @@ public class RecursiveTreeIndexerTest {
         assertTrue(pids.contains(child2Obj.getPid()));
     }
 
+    @Test
+    public void testHierarchyBatched() throws Exception {
+        ContentContainerObject containerObj = makeContainer(makePid(), repositoryObjectLoader);
+        ContentContainerObject child1Obj = makeContainer(makePid(), repositoryObjectLoader);
+        ContentContainerObject child2Obj = makeContainer(makePid(), repositoryObjectLoader);
+        ContentContainerObject child3Obj = makeContainer(makePid(), repositoryObjectLoader);
+        FileObject fileObj = makeFileObject(makePid(), repositoryObjectLoader);
+
+        addMembers(containerObj, child1Obj, child2Obj, child3Obj);
+        addMembers(child1Obj, fileObj);
+
+        indexTriples(containerObj, child1Obj, child2Obj, child3Obj, fileObj);
+
+        indexer.setBatchSize(2);
+        indexer.index(containerObj, ADD, USER);
+
+        // Only the starting object is sent individually
+        verify(messageSender).sendIndexingOperation(eq(USER), pidCaptor.capture(),
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
+        assertEquals(containerObj.getPid(), pidCaptor.getValue());
+
+        verify(messageSender, times(2)).sendIndexingOperation(eq(USER), eq(containerObj.getPid()),
+                childrenCaptor.capture(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
+        List<PID> batched = new ArrayList<>();
+        childrenCaptor.getAllValues().forEach(batch -> {
+            assertTrue(batch.size() <= 2);
+            batched.addAll(batch);
+        });
+        assertEquals(3, batched.size());
+        assertTrue(batched.containsAll(List.of(child1Obj.getPid(), child2Obj.getPid(), child3Obj.getPid())));
+
+        verify(messageSender).sendIndexingOperation(eq(USER), eq(child1Obj.getPid()),
+                childrenCaptor.capture(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
+        assertEquals(List.of(fileObj.getPid()), new ArrayList<>(childrenCaptor.getValue()));
+    }
+
+    @Test
+    public void testHierarchyPrefetchesPaths() throws Exception {
+        ContentContainerObject containerObj = makeContainer(makePid(), repositoryObjectLoader);
+        ContentContainerObject child1Obj = makeContainer(makePid(), repositoryObjectLoader);
+        FileObject fileObj = makeFileObject(makePid(), repositoryObjectLoader);
+
+        addMembers(containerObj, child1Obj);
+        addMembers(child1Obj, fileObj);
+
+        indexTriples(containerObj, child1Obj, fileObj);
+
+        indexer.setPathFactory(pathFactory);
+        indexer.index(containerObj, ADD, USER);
+
+        verify(messageSender, times(3)).sendIndexingOperation(eq(USER), any(PID.class),
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
+        // Paths are only prefetched once for the whole tree
+        verify(pathFactory).prefetchSubtree(containerObj.getPid());
+        verify(pathFactory, never()).prefetchSubtree(child1Obj.getPid());
+    }
+
+    @Test
+    public void testNonContainerDoesNotPrefetchPaths() throws Exception {
+        FileObject fileObj = makeFileObject(makePid(), repositoryObjectLoader);
+
+        indexer.setPathFactory(pathFactory);
+        indexer.index(fileObj, ADD, USER);
+
+        verify(pathFactory, never()).prefetchSubtree(any(PID.class));
+    }
+
     private void indexTriples(ContentObject... objs) {
         for (ContentObject obj : objs) {
             sparqlModel.add(obj.getResource().getModel());
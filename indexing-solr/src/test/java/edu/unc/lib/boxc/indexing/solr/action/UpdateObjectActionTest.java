@@ -0,0 +1,100 @@
+package edu.unc.lib.boxc.indexing.solr.action;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import edu.unc.lib.boxc.indexing.solr.ChildSetRequest;
+import edu.unc.lib.boxc.indexing.solr.exception.IndexingException;
+import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPackage;
+import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPackageFactory;
+import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPipeline;
+import edu.unc.lib.boxc.indexing.solr.indexing.SolrUpdateDriver;
+import edu.unc.lib.boxc.model.api.exceptions.NotFoundException;
+import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType;
+
+/**
+ * @author bbpennel
+ */
+public class UpdateObjectActionTest {
+    private static final String PARENT_ID = "7d2d4ab3-8a44-4f4b-b2a1-7e0b0c1d2e31";
+    private static final String CHILD1_ID = "c1d2e3f4-a5b6-4c7d-8e9f-0a1b2c3d4e5f";
+    private static final String CHILD2_ID = "d4e5f6a7-b8c9-4d0e-9f1a-2b3c4d5e6f70";
+    private static final String CHILD3_ID = "2f5c0c6e-1e0a-4d0e-9a83-5f6f0e6b4d12";
+
+    private AutoCloseable closeable;
+
+    @Mock
+    private SolrUpdateDriver solrUpdateDriver;
+    @Mock
+    private DocumentIndexingPipeline pipeline;
+    @Mock
+    private DocumentIndexingPackageFactory factory;
+
+    private UpdateObjectAction action;
+    private PID child1Pid;
+    private PID child2Pid;
+    private PID child3Pid;
+    private DocumentIndexingPackage dip1;
+    private DocumentIndexingPackage dip3;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        closeable = openMocks(this);
+
+        action = new UpdateObjectAction();
+        action.setSolrUpdateDriver(solrUpdateDriver);
+        action.setPipeline(pipeline);
+        action.setFactory(factory);
+
+        child1Pid = PIDs.get(CHILD1_ID);
+        child2Pid = PIDs.get(CHILD2_ID);
+        child3Pid = PIDs.get(CHILD3_ID);
+        dip1 = new DocumentIndexingPackage(child1Pid, null, null);
+        dip3 = new DocumentIndexingPackage(child3Pid, null, null);
+        when(factory.createDip(child1Pid)).thenReturn(dip1);
+        when(factory.createDip(child3Pid)).thenReturn(dip3);
+    }
+
+    @AfterEach
+    void closeService() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    public void testChildSetMissingChildIndexesSiblings() throws Exception {
+        when(factory.createDip(child2Pid)).thenThrow(new NotFoundException("Gone"));
+
+        action.performAction(makeRequest());
+
+        verify(solrUpdateDriver).addDocument(dip1.getDocument());
+        verify(solrUpdateDriver).addDocument(dip3.getDocument());
+    }
+
+    @Test
+    public void testChildSetFailureIndexesSiblingsThenFails() throws Exception {
+        var dip2 = new DocumentIndexingPackage(child2Pid, null, null);
+        when(factory.createDip(child2Pid)).thenReturn(dip2);
+        doThrow(new IndexingException("Boom")).when(pipeline).process(dip2);
+
+        assertThrows(IndexingException.class, () -> action.performAction(makeRequest()));
+
+        verify(solrUpdateDriver).addDocument(dip1.getDocument());
+        verify(solrUpdateDriver).addDocument(dip3.getDocument());
+    }
+
+    private ChildSetRequest makeRequest() {
+        return new ChildSetRequest(PARENT_ID, asList(CHILD1_ID, CHILD2_ID, CHILD3_ID),
+                IndexingActionType.ADD, "user");
+    }
+}
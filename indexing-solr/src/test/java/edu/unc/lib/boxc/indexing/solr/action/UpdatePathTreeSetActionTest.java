@@ -0,0 +1,176 @@
+package edu.unc.lib.boxc.indexing.solr.action;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import edu.unc.lib.boxc.indexing.solr.ChildSetRequest;
+import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPackage;
+import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPackageFactory;
+import edu.unc.lib.boxc.indexing.solr.indexing.DocumentIndexingPipeline;
+import edu.unc.lib.boxc.indexing.solr.indexing.SolrUpdateDriver;
+import edu.unc.lib.boxc.model.api.ResourceType;
+import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType;
+import edu.unc.lib.boxc.search.api.requests.SearchRequest;
+import edu.unc.lib.boxc.search.api.requests.SimpleIdRequest;
+import edu.unc.lib.boxc.search.solr.models.ContentObjectSolrRecord;
+import edu.unc.lib.boxc.search.solr.models.IndexDocumentBean;
+import edu.unc.lib.boxc.search.solr.responses.SearchResultResponse;
+import edu.unc.lib.boxc.search.solr.services.SolrSearchService;
+import edu.unc.lib.boxc.search.solr.services.TitleRetrievalService;
+
+/**
+ * @author bbpennel
+ */
+public class UpdatePathTreeSetActionTest {
+    private static final String USER = "user";
+    private static final String ROOT_ID = "collections";
+    private static final String OLD_UNIT_ID = "7d2d4ab3-8a44-4f4b-b2a1-7e0b0c1d2e31";
+    private static final String NEW_UNIT_ID = "2f5c0c6e-1e0a-4d0e-9a83-5f6f0e6b4d12";
+    private static final String COLL_ID = "b9a3d2c4-5e6f-4a1b-8c7d-0e1f2a3b4c5d";
+    private static final String FOLDER_ID = "c1d2e3f4-a5b6-4c7d-8e9f-0a1b2c3d4e5f";
+    private static final String FILE_ID = "d4e5f6a7-b8c9-4d0e-9f1a-2b3c4d5e6f70";
+
+    private AutoCloseable closeable;
+
+    @Mock
+    private SolrSearchService solrSearchService;
+    @Mock
+    private SolrUpdateDriver solrUpdateDriver;
+    @Mock
+    private DocumentIndexingPipeline pipeline;
+    @Mock
+    private DocumentIndexingPackageFactory factory;
+    @Mock
+    private TitleRetrievalService titleRetrievalService;
+    @Mock
+    private RecursiveTreeIndexer treeIndexer;
+    @Captor
+    private ArgumentCaptor<IndexDocumentBean> docCaptor;
+
+    private UpdatePathTreeSetAction action;
+    private PID collPid;
+    private DocumentIndexingPackage dip;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        closeable = openMocks(this);
+
+        action = new UpdatePathTreeSetAction();
+        action.setSolrSearchService(solrSearchService);
+        action.setSolrUpdateDriver(solrUpdateDriver);
+        action.setPipeline(pipeline);
+        action.setFactory(factory);
+        action.setTitleRetrievalService(titleRetrievalService);
+        action.setTreeIndexer(treeIndexer);
+        action.setActionType(IndexingActionType.UPDATE_PATH.name());
+
+        collPid = PIDs.get(COLL_ID);
+        dip = new DocumentIndexingPackage(collPid, null, null);
+        when(factory.createDip(collPid)).thenReturn(dip);
+
+        var oldRecord = new ContentObjectSolrRecord();
+        oldRecord.setId(COLL_ID);
+        oldRecord.setResourceType(ResourceType.Collection.name());
+        oldRecord.setAncestorPath(asList("1," + ROOT_ID, "2," + OLD_UNIT_ID));
+        oldRecord.setAncestorIds("/" + ROOT_ID + "/" + OLD_UNIT_ID + "/" + COLL_ID);
+        oldRecord.setReadGroup(asList("everyone"));
+        when(solrSearchService.getObjectById(any(SimpleIdRequest.class))).thenReturn(oldRecord);
+
+        when(titleRetrievalService.retrieveTitles(anyCollection()))
+                .thenReturn(Map.of(NEW_UNIT_ID, "New Unit", COLL_ID, "Collection"));
+    }
+
+    @AfterEach
+    void closeService() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    public void testMoveRewritesDescendantPaths() throws Exception {
+        mockMovedDocument(asList("everyone"));
+
+        var folderRecord = new ContentObjectSolrRecord();
+        folderRecord.setId(FOLDER_ID);
+        folderRecord.setAncestorPath(asList("1," + ROOT_ID, "2," + OLD_UNIT_ID, "3," + COLL_ID));
+        folderRecord.setAncestorIds("/" + ROOT_ID + "/" + OLD_UNIT_ID + "/" + COLL_ID + "/" + FOLDER_ID);
+        var fileRecord = new ContentObjectSolrRecord();
+        fileRecord.setId(FILE_ID);
+        fileRecord.setAncestorPath(asList("1," + ROOT_ID, "2," + OLD_UNIT_ID, "3," + COLL_ID, "4," + FOLDER_ID));
+        fileRecord.setAncestorIds("/" + ROOT_ID + "/" + OLD_UNIT_ID + "/" + COLL_ID + "/" + FOLDER_ID);
+        var response = new SearchResultResponse();
+        response.setResultList(asList(folderRecord, fileRecord));
+        when(solrSearchService.getSearchResults(any(SearchRequest.class))).thenReturn(response);
+
+        action.performAction(makeRequest());
+
+        verify(solrUpdateDriver, times(3)).updateDocument(docCaptor.capture());
+        List<IndexDocumentBean> docs = docCaptor.getAllValues();
+
+        IndexDocumentBean folderDoc = docs.get(0);
+        assertEquals(FOLDER_ID, folderDoc.getId());
+        assertEquals(asList("1," + ROOT_ID, "2," + NEW_UNIT_ID, "3," + COLL_ID), folderDoc.getAncestorPath());
+        assertEquals("/" + ROOT_ID + "/" + NEW_UNIT_ID + "/" + COLL_ID + "/" + FOLDER_ID,
+                folderDoc.getAncestorIds());
+        assertEquals("New Unit|" + NEW_UNIT_ID, folderDoc.getParentUnit());
+        assertEquals("Collection|" + COLL_ID, folderDoc.getParentCollection());
+
+        IndexDocumentBean fileDoc = docs.get(1);
+        assertEquals(FILE_ID, fileDoc.getId());
+        assertEquals(asList("1," + ROOT_ID, "2," + NEW_UNIT_ID, "3," + COLL_ID, "4," + FOLDER_ID),
+                fileDoc.getAncestorPath());
+        assertEquals("/" + ROOT_ID + "/" + NEW_UNIT_ID + "/" + COLL_ID + "/" + FOLDER_ID,
+                fileDoc.getAncestorIds());
+
+        // Moved object is updated last, after its descendants have been located by its old path
+        assertEquals(COLL_ID, docs.get(2).getId());
+        verify(treeIndexer, never()).indexChildren(any(), any(), any());
+        verify(factory, never()).createDip(PIDs.get(FOLDER_ID));
+    }
+
+    @Test
+    public void testMoveAccessChangedIndexesDescendants() throws Exception {
+        mockMovedDocument(asList("authenticated"));
+
+        action.performAction(makeRequest());
+
+        verify(solrUpdateDriver).updateDocument(docCaptor.capture());
+        assertEquals(COLL_ID, docCaptor.getValue().getId());
+        verify(treeIndexer).indexChildren(collPid, IndexingActionType.UPDATE_PATH, USER);
+        verify(solrSearchService, never()).getSearchResults(any(SearchRequest.class));
+    }
+
+    private void mockMovedDocument(List<String> readGroup) throws Exception {
+        doAnswer(invocation -> {
+            IndexDocumentBean doc = dip.getDocument();
+            doc.setAncestorPath(asList("1," + ROOT_ID, "2," + NEW_UNIT_ID));
+            doc.setAncestorIds("/" + ROOT_ID + "/" + NEW_UNIT_ID + "/" + COLL_ID);
+            doc.setReadGroup(readGroup);
+            return null;
+        }).when(pipeline).process(eq(dip));
+    }
+
+    private ChildSetRequest makeRequest() {
+        return new ChildSetRequest(NEW_UNIT_ID, asList(COLL_ID), IndexingActionType.MOVE, USER);
+    }
+}
@@ -4,9 +4,11 @@ import static edu.unc.lib.boxc.indexing.solr.test.MockRepositoryObjectHelpers.ad
 import static edu.unc.lib.boxc.indexing.solr.test.MockRepositoryObjectHelpers.addFileObjectToParent;
 import static edu.unc.lib.boxc.indexing.solr.test.MockRepositoryObjectHelpers.makeContainer;
 import static edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType.RECURSIVE_ADD;
+import static edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageHelper.TREE_REINDEX_PARAMS;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -106,7 +108,7 @@ public class UpdateTreeActionTest {
                 RECURSIVE_ADD, "1", USER));
 
         verify(messageSender, times(3)).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         List<PID> pids = pidCaptor.getAllValues();
         assertTrue(pids.contains(corpus.pid2));
@@ -125,7 +127,7 @@ public class UpdateTreeActionTest {
         action.performAction(new SolrUpdateRequest(corpus.pid6.getRepositoryPath(), IndexingActionType.RECURSIVE_ADD));
 
         verify(messageSender).sendIndexingOperation(eq(null),
-                pidCaptor.capture(), eq(IndexingActionType.ADD));
+                pidCaptor.capture(), isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         List<PID> pids = pidCaptor.getAllValues();
         assertTrue(pids.contains(corpus.pid6));
@@ -138,7 +140,7 @@ public class UpdateTreeActionTest {
                 RECURSIVE_ADD, "1", USER));
 
         verify(messageSender, times(2)).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         List<PID> pids = pidCaptor.getAllValues();
         assertFalse(pids.contains(corpus.pid2));
@@ -2,9 +2,11 @@ package edu.unc.lib.boxc.indexing.solr.action;
 
 import static edu.unc.lib.boxc.indexing.solr.test.MockRepositoryObjectHelpers.addContainerToParent;
 import static edu.unc.lib.boxc.indexing.solr.test.MockRepositoryObjectHelpers.makeContainer;
+import static edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageHelper.TREE_REINDEX_PARAMS;
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -94,7 +96,7 @@ public class UpdateTreeSetActionTest {
         action.performAction(request);
 
         verify(messageSender).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         List<PID> pids = pidCaptor.getAllValues();
         assertTrue(pids.contains(containerPid));
@@ -118,7 +120,7 @@ public class UpdateTreeSetActionTest {
         action.performAction(request);
 
         verify(messageSender, times(2)).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         List<PID> pids = pidCaptor.getAllValues();
         assertTrue(pids.contains(container1Pid));
@@ -141,7 +143,7 @@ public class UpdateTreeSetActionTest {
         action.performAction(request);
 
         verify(messageSender, times(2)).sendIndexingOperation(eq(USER), pidCaptor.capture(),
-                eq(IndexingActionType.ADD));
+                isNull(), eq(IndexingActionType.ADD), eq(TREE_REINDEX_PARAMS), isNull());
 
         List<PID> pids = pidCaptor.getAllValues();
         assertTrue(pids.contains(containerPid));
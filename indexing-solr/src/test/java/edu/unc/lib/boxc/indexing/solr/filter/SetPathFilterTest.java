@@ -3,6 +3,7 @@ package edu.unc.lib.boxc.indexing.solr.filter;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -14,6 +15,7 @@ import static org.mockito.MockitoAnnotations.openMocks;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -159,6 +161,21 @@ public class SetPathFilterTest {
         verify(idb).setRollup(eq(contentObject.getPid().getId()));
     }
 
+    @Test
+    public void testWorkPathBulkTitles() throws Exception {
+        List<PID> pids = makePidList(3);
+        when(pathFactory.getAncestorPids(pid)).thenReturn(pids);
+        when(idb.getResourceType()).thenReturn(ResourceType.Work.name());
+        when(titleRetrievalService.retrieveTitles(pids.subList(1, 3))).thenReturn(Map.of(
+                pids.get(1).getId(), UNIT_TITLE, pids.get(2).getId(), COLLECTION_TITLE));
+
+        filter.filter(dip);
+
+        verify(idb).setParentUnit(eq(UNIT_TITLE + "|" + pids.get(1).getId()));
+        verify(idb).setParentCollection(eq(COLLECTION_TITLE + "|" + pids.get(2).getId()));
+        verify(titleRetrievalService, never()).retrieveTitle(any());
+    }
+
     @Test
     public void testContentRootPath() throws Exception {
         when(pathFactory.getAncestorPids(pid)).thenReturn(emptyList());
@@ -1,11 +1,18 @@
 package edu.unc.lib.boxc.indexing.solr.indexing;
 
+import static edu.unc.lib.boxc.common.metrics.CounterFactory.createCounter;
+import static edu.unc.lib.boxc.common.metrics.TimerFactory.createTimerForClass;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.openMocks;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -25,6 +32,7 @@ public class DocumentIndexingPipelineTest extends Assertions {
 
     private DocumentIndexingPipeline pipeline;
     private AutoCloseable closeable;
+    private ExecutorService executorService;
 
     @Mock
     private DocumentIndexingPackage dip;
@@ -48,6 +56,9 @@ public class DocumentIndexingPipelineTest extends Assertions {
     @AfterEach
     void closeService() throws Exception {
         closeable.close();
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
     }
 
     @Test
@@ -66,4 +77,100 @@ public class DocumentIndexingPipelineTest extends Assertions {
             pipeline.process(dip);
         });
     }
+
+    @Test
+    public void testProcessRecordsFilterMetrics() throws Exception {
+        FirstFilter first = new FirstFilter();
+        pipeline.setFilters(Arrays.asList(first, mockFilter1));
+        doThrow(new IndexingException("")).when(mockFilter1).filter(dip);
+        long startCount = createTimerForClass(FirstFilter.class, "filter-duration").getCount();
+        long startErrors = createCounter(mockFilter1.getClass(), "filter-errors").getCount();
+
+        Assertions.assertThrows(IndexingException.class, () -> {
+            pipeline.process(dip);
+        });
+
+        assertEquals(startCount + 1, createTimerForClass(FirstFilter.class, "filter-duration").getCount());
+        assertEquals(startErrors + 1, createCounter(mockFilter1.getClass(), "filter-errors").getCount());
+    }
+
+    @Test
+    public void testProcessFiltersConcurrently() throws Exception {
+        executorService = Executors.newFixedThreadPool(2);
+        pipeline.setExecutorService(executorService);
+
+        pipeline.process(dip);
+
+        verify(mockFilter1).filter(dip);
+        verify(mockFilter2).filter(dip);
+    }
+
+    @Test
+    public void testProcessConcurrentlyIndexingException() throws Exception {
+        executorService = Executors.newFixedThreadPool(2);
+        pipeline.setExecutorService(executorService);
+        doThrow(new IndexingException("")).when(mockFilter2).filter(dip);
+
+        Assertions.assertThrows(IndexingException.class, () -> {
+            pipeline.process(dip);
+        });
+    }
+
+    @Test
+    public void testProcessConcurrentlyWithDependencies() throws Exception {
+        executorService = Executors.newFixedThreadPool(2);
+        pipeline.setExecutorService(executorService);
+        FirstFilter first = new FirstFilter();
+        DependentFilter dependent = new DependentFilter(first);
+        pipeline.setFilters(Arrays.asList(first, mockFilter1, dependent));
+
+        for (int i = 0; i < 20; i++) {
+            first.completed.set(false);
+            pipeline.process(dip);
+            assertTrue(dependent.ranAfterDependency);
+        }
+    }
+
+    @Test
+    public void testDependencyListedAfterDependent() throws Exception {
+        FirstFilter first = new FirstFilter();
+        DependentFilter dependent = new DependentFilter(first);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            pipeline.setFilters(Arrays.asList(dependent, first));
+        });
+    }
+
+    private static class FirstFilter implements IndexDocumentFilter {
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        @Override
+        public void filter(DocumentIndexingPackage dip) throws IndexingException {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            completed.set(true);
+        }
+    }
+
+    private static class DependentFilter implements IndexDocumentFilter {
+        private final FirstFilter dependency;
+        private volatile boolean ranAfterDependency;
+
+        private DependentFilter(FirstFilter dependency) {
+            this.dependency = dependency;
+        }
+
+        @Override
+        public void filter(DocumentIndexingPackage dip) throws IndexingException {
+            ranAfterDependency = dependency.completed.get();
+        }
+
+        @Override
+        public Collection<Class<? extends IndexDocumentFilter>> getDependencies() {
+            return Collections.singletonList(FirstFilter.class);
+        }
+    }
 }
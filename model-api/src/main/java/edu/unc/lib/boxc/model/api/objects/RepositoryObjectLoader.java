@@ -1,11 +1,12 @@
 package edu.unc.lib.boxc.model.api.objects;
 
 import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.api.services.CacheInvalidator;
 
 /**
  * @author bbpennel
  */
-public interface RepositoryObjectLoader {
+public interface RepositoryObjectLoader extends CacheInvalidator {
 
     AdminUnit getAdminUnit(PID pid);
 
@@ -0,0 +1,16 @@
+package edu.unc.lib.boxc.model.api.services;
+
+import edu.unc.lib.boxc.model.api.ids.PID;
+
+/**
+ * A service which caches data about repository objects, and can have the entries for an object invalidated
+ * @author bbpennel
+ */
+public interface CacheInvalidator {
+
+    /**
+     * Invalidates cached data for the provided pid
+     * @param pid
+     */
+    void invalidate(PID pid);
+}
@@ -8,7 +8,7 @@ import edu.unc.lib.boxc.model.api.ids.PID;
  * Factory for retrieving path information for content objects
  * @author bbpennel
  */
-public interface ContentPathFactory {
+public interface ContentPathFactory extends CacheInvalidator {
 
     /**
      * Returns the list of PIDs for content objects which are parents of the provided
@@ -24,4 +24,12 @@ public interface ContentPathFactory {
      * @param pid
      */
     void invalidate(PID pid);
+
+    /**
+     * Loads path information for all objects in the subtree rooted at the provided pid
+     * in bulk, so that later lookups within the subtree do not need to be resolved individually.
+     *
+     * @param pid root of the subtree
+     */
+    void prefetchSubtree(PID pid);
 }
\ No newline at end of file
@@ -7,7 +7,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
@@ -19,6 +23,7 @@ import org.slf4j.Logger;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import edu.unc.lib.boxc.fcrepo.utils.ClientFaultResolver;
@@ -29,6 +34,7 @@ import edu.unc.lib.boxc.model.api.ids.PID;
 import edu.unc.lib.boxc.model.api.rdf.PcdmModels;
 import edu.unc.lib.boxc.model.api.rdf.RDFModelUtil;
 import edu.unc.lib.boxc.model.api.services.ContentPathFactory;
+import edu.unc.lib.boxc.model.api.sparql.SparqlQueryService;
 import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
 import edu.unc.lib.boxc.model.fcrepo.ids.RepositoryPaths;
 
@@ -48,6 +54,9 @@ public class ContentPathFactoryImpl implements ContentPathFactory {
     private long cacheMaxSize;
 
     private FcrepoClient fcrepoClient;
+    private SparqlQueryService sparqlQueryService;
+    // Number of parents whose children are retrieved per query when prefetching
+    private int prefetchBatchSize = 200;
 
     public void init() {
         childToParentCache = CacheBuilder.newBuilder()
@@ -85,6 +94,69 @@ public class ContentPathFactoryImpl implements ContentPathFactory {
         childToParentCache.invalidate(pid);
     }
 
+    private final static String PARENT_BATCH_QUERY =
+            "select ?pid ?parent"
+            + " where {"
+                + " values ?parent { %2$s }"
+                + " ?pid <%1$s> ?parent . }";
+
+    /**
+     * Loads the child to parent relations for the subtree rooted at the provided pid into
+     * the cache using one triplestore query per batch of parents at each level of the hierarchy,
+     * rather than one fedora request per object. Prefetching stops once the cache is full.
+     *
+     * @param pid root of the subtree
+     */
+    @Override
+    public void prefetchSubtree(PID pid) {
+        if (sparqlQueryService == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long total = 0;
+        List<PID> currentLevel = Collections.singletonList(pid);
+        int depth = 0;
+        while (!currentLevel.isEmpty() && ++depth < MAX_NESTING) {
+            List<PID> nextLevel = new ArrayList<>();
+            for (List<PID> parents : Lists.partition(currentLevel, prefetchBatchSize)) {
+                nextLevel.addAll(loadChildren(parents));
+            }
+            total += nextLevel.size();
+            if (total >= cacheMaxSize) {
+                log.info("Stopped prefetching paths for {} after {} objects, cache is full", pid.getId(), total);
+                break;
+            }
+            currentLevel = nextLevel;
+        }
+        log.debug("Prefetched paths for {} objects under {} in {}ms",
+                total, pid.getId(), System.currentTimeMillis() - start);
+    }
+
+    private List<PID> loadChildren(List<PID> parents) {
+        String parentValues = parents.stream()
+                .map(p -> "<" + p.getRepositoryPath() + ">")
+                .collect(Collectors.joining(" "));
+        String queryString = String.format(PARENT_BATCH_QUERY, PcdmModels.memberOf.getURI(), parentValues);
+
+        List<PID> children = new ArrayList<>();
+        try (QueryExecution qexec = sparqlQueryService.executeQuery(queryString)) {
+            ResultSet results = qexec.execSelect();
+
+            while (results.hasNext()) {
+                QuerySolution soln = results.nextSolution();
+                Resource childResc = soln.getResource("pid");
+                Resource parentResc = soln.getResource("parent");
+                if (childResc == null || parentResc == null) {
+                    continue;
+                }
+                PID childPid = PIDs.get(childResc.getURI());
+                childToParentCache.put(childPid, PIDs.get(parentResc.getURI()));
+                children.add(childPid);
+            }
+        }
+        return children;
+    }
+
     private List<PID> buildPath(PID pid) {
         PID currentPid = pid;
         List<PID> result = new ArrayList<>();
@@ -116,6 +188,14 @@ public class ContentPathFactoryImpl implements ContentPathFactory {
         this.fcrepoClient = fcrepoClient;
     }
 
+    public void setSparqlQueryService(SparqlQueryService sparqlQueryService) {
+        this.sparqlQueryService = sparqlQueryService;
+    }
+
+    public void setPrefetchBatchSize(int prefetchBatchSize) {
+        this.prefetchBatchSize = prefetchBatchSize;
+    }
+
     private class ChildToParentCacheLoader extends CacheLoader<PID, PID> {
         @Override
         public PID load(PID pid) {
@@ -0,0 +1,105 @@
+package edu.unc.lib.boxc.model.fcrepo.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.fcrepo.client.FcrepoClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.api.rdf.PcdmModels;
+import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import edu.unc.lib.boxc.model.fcrepo.ids.RepositoryPaths;
+import edu.unc.lib.boxc.model.fcrepo.sparql.JenaSparqlQueryServiceImpl;
+
+/**
+ * @author bbpennel
+ */
+public class ContentPathFactoryImplTest {
+    private AutoCloseable closeable;
+
+    @Mock
+    private FcrepoClient fcrepoClient;
+    private Model model;
+    private ContentPathFactoryImpl pathFactory;
+
+    private PID rootPid;
+    private PID unitPid;
+    private PID collPid;
+    private PID work1Pid;
+    private PID work2Pid;
+
+    @BeforeEach
+    public void setup() {
+        closeable = openMocks(this);
+        model = ModelFactory.createDefaultModel();
+
+        pathFactory = new ContentPathFactoryImpl();
+        pathFactory.setCacheMaxSize(100);
+        pathFactory.setCacheTimeToLive(60000);
+        pathFactory.setFcrepoClient(fcrepoClient);
+        pathFactory.setSparqlQueryService(new JenaSparqlQueryServiceImpl(model));
+        pathFactory.init();
+
+        rootPid = RepositoryPaths.getContentRootPid();
+        unitPid = makePid();
+        collPid = makePid();
+        work1Pid = makePid();
+        work2Pid = makePid();
+        addMember(rootPid, unitPid);
+        addMember(unitPid, collPid);
+        addMember(collPid, work1Pid);
+        addMember(collPid, work2Pid);
+    }
+
+    @AfterEach
+    void closeService() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    public void prefetchSubtreeTest() {
+        pathFactory.prefetchSubtree(rootPid);
+
+        List<PID> ancestors = pathFactory.getAncestorPids(work1Pid);
+        assertEquals(Arrays.asList(rootPid, unitPid, collPid), ancestors);
+        assertEquals(Arrays.asList(rootPid, unitPid, collPid), pathFactory.getAncestorPids(work2Pid));
+        assertEquals(Arrays.asList(rootPid), pathFactory.getAncestorPids(unitPid));
+        // All relations were loaded from the triplestore, so fedora was never queried
+        verifyNoInteractions(fcrepoClient);
+    }
+
+    @Test
+    public void prefetchSubtreeMultipleBatchesTest() {
+        pathFactory.setPrefetchBatchSize(1);
+        PID coll2Pid = makePid();
+        PID work3Pid = makePid();
+        addMember(unitPid, coll2Pid);
+        addMember(coll2Pid, work3Pid);
+
+        pathFactory.prefetchSubtree(rootPid);
+
+        assertEquals(Arrays.asList(rootPid, unitPid, collPid), pathFactory.getAncestorPids(work1Pid));
+        assertEquals(Arrays.asList(rootPid, unitPid, coll2Pid), pathFactory.getAncestorPids(work3Pid));
+        verifyNoInteractions(fcrepoClient);
+    }
+
+    private PID makePid() {
+        return PIDs.get(UUID.randomUUID().toString());
+    }
+
+    private void addMember(PID parentPid, PID childPid) {
+        model.getResource(childPid.getRepositoryPath())
+                .addProperty(PcdmModels.memberOf, model.getResource(parentPid.getRepositoryPath()));
+    }
+}
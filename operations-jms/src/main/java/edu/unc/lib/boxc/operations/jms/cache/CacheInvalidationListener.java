@@ -0,0 +1,66 @@
+package edu.unc.lib.boxc.operations.jms.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.api.services.CacheInvalidator;
+import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import jakarta.jms.Message;
+import jakarta.jms.MessageListener;
+import jakarta.jms.TextMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Listens to the cache invalidation topic and invalidates cached entries in this application
+ * for each object listed in received messages
+ *
+ * @author bbpennel
+ */
+public class CacheInvalidationListener implements MessageListener {
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    private static final ObjectReader MAPPER = new ObjectMapper().readerFor(CacheInvalidationMessage.class);
+
+    private List<CacheInvalidator> invalidators = Collections.emptyList();
+
+    @Override
+    public void onMessage(Message message) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = MAPPER.readValue(((TextMessage) message).getText());
+        } catch (Exception e) {
+            log.error("Unable to read cache invalidation message", e);
+            return;
+        }
+        if (invalidation.getIds() == null) {
+            return;
+        }
+
+        log.debug("Invalidating caches for {} objects", invalidation.getIds().size());
+        for (String id : invalidation.getIds()) {
+            PID pid;
+            try {
+                pid = PIDs.get(id);
+            } catch (Exception e) {
+                log.debug("Failed to parse {} as PID for cache invalidation: {}", id, e.getMessage());
+                continue;
+            }
+            if (pid == null) {
+                continue;
+            }
+            for (CacheInvalidator invalidator : invalidators) {
+                invalidator.invalidate(pid);
+            }
+        }
+    }
+
+    /**
+     * @param invalidators caches in this application which should be invalidated
+     */
+    public void setInvalidators(List<CacheInvalidator> invalidators) {
+        this.invalidators = invalidators;
+    }
+}
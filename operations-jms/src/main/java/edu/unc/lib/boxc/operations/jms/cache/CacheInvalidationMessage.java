@@ -0,0 +1,23 @@
+package edu.unc.lib.boxc.operations.jms.cache;
+
+import java.util.List;
+
+/**
+ * Message listing objects whose cached data should be invalidated
+ *
+ * @author bbpennel
+ */
+public class CacheInvalidationMessage {
+    private List<String> ids;
+
+    /**
+     * @return repository paths of the objects to invalidate
+     */
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
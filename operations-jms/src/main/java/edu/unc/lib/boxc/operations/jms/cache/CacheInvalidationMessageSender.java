@@ -0,0 +1,166 @@
+package edu.unc.lib.boxc.operations.jms.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.operations.jms.MessageSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service which publishes cache invalidation messages, so that every application subscribed to the
+ * invalidation topic can evict its cached entries for updated objects.
+ *
+ * Invalidations are coalesced, so an object invalidated several times before the next flush is only sent once,
+ * and are published in batches when the flush interval elapses or when a full batch is pending. If no flush
+ * executor is provided, each invalidation is published immediately.
+ *
+ * @author bbpennel
+ */
+public class CacheInvalidationMessageSender extends MessageSender {
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationMessageSender.class);
+    private static final ObjectWriter MAPPER = new ObjectMapper().writerFor(CacheInvalidationMessage.class);
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private ScheduledExecutorService flushExecutor;
+    private long flushInterval = 500;
+    private int batchSize = 500;
+    private int maxPending = 50000;
+    private long retryDelay = 1000;
+    private long maxRetryDelay = 60000;
+    private long currentRetryDelay;
+    private long nextAttempt;
+
+    public void init() {
+        if (flushExecutor != null) {
+            flushExecutor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void destroy() {
+        publishPending();
+    }
+
+    /**
+     * Queue the provided object to be invalidated in all subscribed applications. When a flush executor is
+     * configured, publishing always happens on the executor, so the caller is never blocked by the broker.
+     * @param pid
+     */
+    public void sendInvalidation(PID pid) {
+        if (pending.size() >= maxPending) {
+            log.warn("Dropping cache invalidation for {}, {} invalidations are already pending", pid, maxPending);
+            return;
+        }
+        pending.add(pid.getRepositoryPath());
+        if (flushExecutor == null) {
+            flush();
+        } else if (pending.size() >= batchSize && flushQueued.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Publish all pending invalidations, unless waiting to retry after a failed publish. If a batch cannot be
+     * published, it and all remaining invalidations are left pending, and publishing is retried after a delay
+     * which doubles with each consecutive failure.
+     */
+    public synchronized void flush() {
+        flushQueued.set(false);
+        if (System.currentTimeMillis() < nextAttempt) {
+            return;
+        }
+        if (publishPending()) {
+            currentRetryDelay = 0;
+            nextAttempt = 0;
+        } else {
+            currentRetryDelay = currentRetryDelay == 0 ? retryDelay : Math.min(currentRetryDelay * 2, maxRetryDelay);
+            nextAttempt = System.currentTimeMillis() + currentRetryDelay;
+        }
+    }
+
+    /**
+     * @return false if a batch could not be published
+     */
+    private synchronized boolean publishPending() {
+        List<String> batch = new ArrayList<>();
+        Iterator<String> it = pending.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            it.remove();
+            if (batch.size() >= batchSize) {
+                if (!send(batch)) {
+                    return false;
+                }
+                batch = new ArrayList<>();
+            }
+        }
+        return batch.isEmpty() || send(batch);
+    }
+
+    private boolean send(List<String> ids) {
+        var message = new CacheInvalidationMessage();
+        message.setIds(ids);
+        try {
+            sendMessage(MAPPER.writeValueAsString(message));
+            log.debug("Published cache invalidation for {} objects", ids.size());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to publish cache invalidation for {} objects, will retry", ids.size(), e);
+            pending.addAll(ids);
+            return false;
+        }
+    }
+
+    /**
+     * @param flushExecutor executor which periodically publishes pending invalidations
+     */
+    public void setFlushExecutor(ScheduledExecutorService flushExecutor) {
+        this.flushExecutor = flushExecutor;
+    }
+
+    /**
+     * @param flushInterval number of milliseconds between publishing pending invalidations
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * @param batchSize max number of objects to include in a single invalidation message
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param maxPending max number of invalidations which may be pending, including those waiting to be
+     *      retried. Further invalidations are dropped until the pending invalidations are published.
+     */
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * @param retryDelay number of milliseconds to wait before retrying after the first failed publish
+     */
+    public void setRetryDelay(long retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * @param maxRetryDelay max number of milliseconds to wait between retries of failed publishes
+     */
+    public void setMaxRetryDelay(long maxRetryDelay) {
+        this.maxRetryDelay = maxRetryDelay;
+    }
+}
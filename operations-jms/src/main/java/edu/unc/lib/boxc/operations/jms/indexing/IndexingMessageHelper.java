@@ -23,10 +23,21 @@ import edu.unc.lib.boxc.model.api.ids.PID;
  */
 public class IndexingMessageHelper {
     private static final Logger log = LoggerFactory.getLogger(IndexingMessageHelper.class);
+    // Parameter marking messages queued while reindexing a tree, which do not reflect changes to the objects
+    public static final String TREE_REINDEX_PARAM = "treeReindex";
+    public static final Map<String, String> TREE_REINDEX_PARAMS = Map.of(TREE_REINDEX_PARAM, "true");
 
     private IndexingMessageHelper() {
     }
 
+    /**
+     * @param params parameters from an indexing message, may be null
+     * @return true if the parameters mark the message as part of a tree reindex
+     */
+    public static boolean isTreeReindex(Map<String, String> params) {
+        return params != null && Boolean.parseBoolean(params.get(TREE_REINDEX_PARAM));
+    }
+
     public static Document makeIndexingOperationBody(String userid, PID targetPid, Collection<PID> children,
             IndexingActionType actionType) {
         return makeIndexingOperationBody(userid, targetPid, children, actionType, null, null);
@@ -0,0 +1,74 @@
+package edu.unc.lib.boxc.operations.jms.cache;
+
+import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.api.services.CacheInvalidator;
+import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+/**
+ * @author bbpennel
+ */
+public class CacheInvalidationListenerTest {
+    private static final String PID1_UUID = "f277bb38-272c-471c-a28a-9887a1328a1f";
+    private static final String PID2_UUID = "83c2d7f8-2e6b-4f0b-ab7e-7397969c0682";
+
+    private AutoCloseable closeable;
+
+    @Mock
+    private CacheInvalidator invalidator1;
+    @Mock
+    private CacheInvalidator invalidator2;
+    @Mock
+    private TextMessage message;
+
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    public void setup() {
+        closeable = openMocks(this);
+        listener = new CacheInvalidationListener();
+        listener.setInvalidators(List.of(invalidator1, invalidator2));
+    }
+
+    @AfterEach
+    void closeService() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    public void invalidatesAllListedObjectsTest() throws Exception {
+        PID pid1 = PIDs.get(PID1_UUID);
+        PID pid2 = PIDs.get(PID2_UUID);
+        when(message.getText()).thenReturn("{\"ids\":[\"" + pid1.getRepositoryPath()
+                + "\",\"" + pid2.getRepositoryPath() + "\"]}");
+
+        listener.onMessage(message);
+
+        verify(invalidator1).invalidate(pid1);
+        verify(invalidator1).invalidate(pid2);
+        verify(invalidator2).invalidate(pid1);
+        verify(invalidator2).invalidate(pid2);
+    }
+
+    @Test
+    public void invalidMessageTest() throws Exception {
+        when(message.getText()).thenReturn("not json");
+
+        listener.onMessage(message);
+
+        verify(invalidator1, never()).invalidate(any(PID.class));
+        verify(invalidator2, never()).invalidate(any(PID.class));
+    }
+}
@@ -0,0 +1,184 @@
+package edu.unc.lib.boxc.operations.jms.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessageCreator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+/**
+ * @author bbpennel
+ */
+public class CacheInvalidationMessageSenderTest {
+    private static final String PID1_UUID = "f277bb38-272c-471c-a28a-9887a1328a1f";
+    private static final String PID2_UUID = "83c2d7f8-2e6b-4f0b-ab7e-7397969c0682";
+    private static final String PID3_UUID = "0e33ad0b-7a16-4bfa-b833-6126c262d889";
+
+    private AutoCloseable closeable;
+
+    @Mock
+    private JmsTemplate jmsTemplate;
+    @Mock
+    private ScheduledExecutorService flushExecutor;
+    @Mock
+    private Session session;
+    @Captor
+    private ArgumentCaptor<MessageCreator> creatorCaptor;
+
+    private CacheInvalidationMessageSender sender;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        closeable = openMocks(this);
+        sender = new CacheInvalidationMessageSender();
+        sender.setJmsTemplate(jmsTemplate);
+        when(session.createTextMessage(anyString())).thenAnswer(invocation -> {
+            TextMessage message = mock(TextMessage.class);
+            when(message.getText()).thenReturn(invocation.getArgument(0));
+            return message;
+        });
+    }
+
+    @AfterEach
+    void closeService() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    public void sendImmediatelyWithoutExecutorTest() throws Exception {
+        PID pid = PIDs.get(PID1_UUID);
+        sender.sendInvalidation(pid);
+
+        List<List<String>> sent = getSentIds(1);
+        assertEquals(List.of(pid.getRepositoryPath()), sent.get(0));
+    }
+
+    @Test
+    public void coalesceUntilFlushTest() throws Exception {
+        sender.setFlushExecutor(flushExecutor);
+        sender.init();
+
+        PID pid1 = PIDs.get(PID1_UUID);
+        PID pid2 = PIDs.get(PID2_UUID);
+        sender.sendInvalidation(pid1);
+        sender.sendInvalidation(pid2);
+        sender.sendInvalidation(pid1);
+
+        verify(jmsTemplate, never()).send(any(MessageCreator.class));
+
+        sender.flush();
+
+        List<List<String>> sent = getSentIds(1);
+        assertEquals(2, sent.get(0).size());
+        assertTrue(sent.get(0).contains(pid1.getRepositoryPath()));
+        assertTrue(sent.get(0).contains(pid2.getRepositoryPath()));
+    }
+
+    @Test
+    public void flushOnExecutorWhenBatchFullTest() throws Exception {
+        sender.setFlushExecutor(flushExecutor);
+        sender.setBatchSize(2);
+        sender.init();
+
+        sender.sendInvalidation(PIDs.get(PID1_UUID));
+        verify(flushExecutor, never()).execute(any(Runnable.class));
+        sender.sendInvalidation(PIDs.get(PID2_UUID));
+        sender.sendInvalidation(PIDs.get(PID3_UUID));
+        // Publishing is handed off to the executor once, rather than performed by the caller
+        verify(flushExecutor).execute(any(Runnable.class));
+        verify(jmsTemplate, never()).send(any(MessageCreator.class));
+
+        sender.flush();
+
+        List<List<String>> sent = getSentIds(2);
+        assertEquals(2, sent.get(0).size());
+        assertEquals(1, sent.get(1).size());
+    }
+
+    @Test
+    public void retryFailedPublishTest() throws Exception {
+        sender.setFlushExecutor(flushExecutor);
+        sender.setRetryDelay(0);
+        sender.init();
+        doThrow(new UncategorizedJmsException("Broker unavailable")).doNothing()
+                .when(jmsTemplate).send(any(MessageCreator.class));
+
+        PID pid = PIDs.get(PID1_UUID);
+        sender.sendInvalidation(pid);
+        sender.flush();
+        sender.flush();
+
+        List<List<String>> sent = getSentIds(2);
+        assertEquals(List.of(pid.getRepositoryPath()), sent.get(0));
+        assertEquals(List.of(pid.getRepositoryPath()), sent.get(1));
+    }
+
+    @Test
+    public void backOffAfterFailedPublishTest() throws Exception {
+        sender.setFlushExecutor(flushExecutor);
+        sender.setRetryDelay(60000);
+        sender.init();
+        doThrow(new UncategorizedJmsException("Broker unavailable"))
+                .when(jmsTemplate).send(any(MessageCreator.class));
+
+        sender.sendInvalidation(PIDs.get(PID1_UUID));
+        sender.flush();
+        // Still waiting for the retry delay, so no further attempt is made
+        sender.flush();
+
+        verify(jmsTemplate, times(1)).send(any(MessageCreator.class));
+    }
+
+    @Test
+    public void dropInvalidationsWhenPendingFullTest() throws Exception {
+        sender.setFlushExecutor(flushExecutor);
+        sender.setMaxPending(2);
+        sender.init();
+
+        sender.sendInvalidation(PIDs.get(PID1_UUID));
+        sender.sendInvalidation(PIDs.get(PID2_UUID));
+        sender.sendInvalidation(PIDs.get(PID3_UUID));
+        sender.flush();
+
+        List<List<String>> sent = getSentIds(1);
+        assertEquals(2, sent.get(0).size());
+        assertFalse(sent.get(0).contains(PIDs.get(PID3_UUID).getRepositoryPath()));
+    }
+
+    private List<List<String>> getSentIds(int expectedMessages) throws Exception {
+        verify(jmsTemplate, times(expectedMessages)).send(creatorCaptor.capture());
+        var mapper = new ObjectMapper();
+        List<List<String>> result = new ArrayList<>();
+        for (MessageCreator creator : creatorCaptor.getAllValues()) {
+            var text = ((TextMessage) creator.createMessage(session)).getText();
+            result.add(mapper.readValue(text, CacheInvalidationMessage.class).getIds());
+        }
+        return result;
+    }
+}
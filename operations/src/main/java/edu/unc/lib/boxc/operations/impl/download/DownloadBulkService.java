@@ -4,20 +4,34 @@ import edu.unc.lib.boxc.auth.api.Permission;
 import edu.unc.lib.boxc.auth.api.models.AccessGroupSet;
 import edu.unc.lib.boxc.auth.api.services.AccessControlService;
 import edu.unc.lib.boxc.fcrepo.exceptions.ServiceException;
-import edu.unc.lib.boxc.model.api.objects.ContentObject;
 import edu.unc.lib.boxc.model.api.objects.FileObject;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObjectLoader;
 import edu.unc.lib.boxc.model.api.objects.WorkObject;
 import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -25,23 +39,40 @@ import java.util.zip.ZipOutputStream;
  * Service that manages downloading all of a Work's FileObjects as a zip file
  */
 public class DownloadBulkService {
+    private static final Logger log = LoggerFactory.getLogger(DownloadBulkService.class);
+
+    private static final Set<String> COMPRESSED_MIMETYPES = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp", "image/jp2",
+            "application/pdf", "application/zip", "application/gzip", "application/x-gzip",
+            "application/x-7z-compressed", "application/x-bzip2", "application/x-rar-compressed",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation",
+            "application/epub+zip");
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "jpg", "jpeg", "png", "gif", "webp", "jp2", "pdf", "zip", "gz", "tgz", "7z", "bz2", "rar",
+            "mp3", "mp4", "m4a", "m4v", "mov", "avi", "mkv", "webm", "ogg", "aac", "docx", "xlsx", "pptx", "epub");
+
     private AccessControlService aclService;
     private RepositoryObjectLoader repoObjLoader;
     private Path basePath;
     private int fileLimit;
+    private ExecutorService readAheadExecutor;
+    private int readAheadSize = 2;
 
+    /**
+     * Create a zip file containing the original files of a work's members
+     *
+     * @param request bulk download request
+     * @return path of the zip file
+     */
     public Path downloadBulk(DownloadBulkRequest request) {
         var pidString = request.getWorkPidString();
-        var workPid = PIDs.get(pidString);
-        var agentPrincipals = request.getPrincipals();
-        aclService.assertHasAccess(
-                "User does not have permissions to view the Work for download",
-                workPid, agentPrincipals, Permission.viewOriginal);
+        var workObject = getWorkObject(request);
 
         var zipFilePath = Paths.get(basePath.toString(), getZipFilename(pidString));
-        var workObject = repoObjLoader.getWorkObject(workPid);
-        try {
-            zipFiles(workObject, agentPrincipals, zipFilePath);
+        try (var fos = Files.newOutputStream(zipFilePath)) {
+            zipFiles(workObject, request.getPrincipals(), fos);
         } catch (IOException e){
             throw new ServiceException("Failed to perform bulk download for WorkObject " + pidString, e);
         }
@@ -49,34 +80,63 @@ public class DownloadBulkService {
         return zipFilePath;
     }
 
-    private void zipFiles(WorkObject workObject, AccessGroupSet agentPrincipals, Path zipFilePath) throws IOException {
+    /**
+     * Stream a zip containing the original files of a work's members to the provided output stream,
+     * writing each entry as its content is retrieved rather than building the zip on disk first.
+     *
+     * @param request bulk download request
+     * @param outputStream stream to write the zip to. It is not closed by this method.
+     * @throws IOException if the zip cannot be written to the output stream
+     */
+    public void streamBulk(DownloadBulkRequest request, OutputStream outputStream) throws IOException {
+        var workObject = getWorkObject(request);
+        zipFiles(workObject, request.getPrincipals(), outputStream);
+    }
+
+    private WorkObject getWorkObject(DownloadBulkRequest request) {
+        var workPid = PIDs.get(request.getWorkPidString());
+        aclService.assertHasAccess(
+                "User does not have permissions to view the Work for download",
+                workPid, request.getPrincipals(), Permission.viewOriginal);
+        return repoObjLoader.getWorkObject(workPid);
+    }
+
+    private void zipFiles(WorkObject workObject, AccessGroupSet agentPrincipals, OutputStream outputStream)
+            throws IOException {
         var memberObjects = workObject.getMembers();
-        try (
-                var fos = Files.newOutputStream(zipFilePath);
-                ZipOutputStream zipOut = new ZipOutputStream(fos)
-        ) {
+        try (ZipOutputStream zipOut = new ZipOutputStream(CloseShieldOutputStream.wrap(outputStream))) {
             if (memberObjects.isEmpty()) {
                 // return an empty zip file
                 return;
             }
 
+            // Access is checked lazily, so that members beyond the file limit are not evaluated
+            Iterator<FileObject> filesIt = memberObjects.stream()
+                    .filter(memberObject -> memberObject instanceof FileObject)
+                    .filter(memberObject -> aclService.hasAccess(memberObject.getPid(), agentPrincipals,
+                            Permission.viewOriginal))
+                    .map(memberObject -> (FileObject) memberObject)
+                    .iterator();
+
+            // Binaries for upcoming entries are retrieved in parallel while the current entry is written
+            int window = readAheadExecutor == null ? 1 : readAheadSize + 1;
+            Deque<CompletableFuture<ZipSource>> pending = new ArrayDeque<>();
             Map<String, Integer> duplicates = new HashMap<>();
             int count = 0;
-            for (ContentObject memberObject : memberObjects ) {
-                if (count == fileLimit) {
-                    break;
-                }
-                if (!(memberObject instanceof FileObject)) {
-                    continue;
-                }
-                var fileObject = (FileObject) memberObject;
-                if (aclService.hasAccess(memberObject.getPid(), agentPrincipals, Permission.viewOriginal)) {
-                    var binObj = fileObject.getOriginalFile();
-                    if (binObj == null) {
+            try {
+                while (count < fileLimit) {
+                    while (pending.size() < window && filesIt.hasNext()) {
+                        pending.add(openSourceAsync(filesIt.next()));
+                    }
+                    if (pending.isEmpty()) {
+                        break;
+                    }
+                    var source = awaitSource(pending.poll());
+                    if (source == null) {
                         continue;
                     }
-                    try (var binaryStream = binObj.getBinaryStream()) {
-                        var filename = binObj.getFilename();
+                    try (var binaryStream = source.binaryStream) {
+                        var filename = source.filename;
 
                         // start keeping track of filenames
                         duplicates.putIfAbsent(filename, 0);
@@ -84,15 +144,80 @@ public class DownloadBulkService {
                         var zipFilename = formatFilename(filename, copyNumber);
                         duplicates.put(filename, copyNumber + 1);
 
+                        // Recompressing already compressed formats wastes time without reducing the size
+                        zipOut.setLevel(isCompressedFormat(source) ? Deflater.NO_COMPRESSION
+                                : Deflater.DEFAULT_COMPRESSION);
                         ZipEntry zipEntry = new ZipEntry(zipFilename);
                         zipOut.putNextEntry(zipEntry);
 
                         IOUtils.copy(binaryStream, zipOut);
+                        zipOut.closeEntry();
                     }
                     count++;
                 }
+            } finally {
+                closeSources(pending);
+            }
+        }
+    }
+
+    private CompletableFuture<ZipSource> openSourceAsync(FileObject fileObject) {
+        if (readAheadExecutor == null) {
+            return CompletableFuture.completedFuture(openSource(fileObject));
+        }
+        return CompletableFuture.supplyAsync(() -> openSource(fileObject), readAheadExecutor);
+    }
+
+    private ZipSource openSource(FileObject fileObject) {
+        var binObj = fileObject.getOriginalFile();
+        if (binObj == null) {
+            return null;
+        }
+        var binaryStream = binObj.getBinaryStream();
+        try {
+            return new ZipSource(binObj.getFilename(), binObj.getMimetype(), binaryStream);
+        } catch (RuntimeException e) {
+            IOUtils.closeQuietly(binaryStream);
+            throw e;
+        }
+    }
+
+    private ZipSource awaitSource(CompletableFuture<ZipSource> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ServiceException("Failed to retrieve file for bulk download", e.getCause());
+        }
+    }
+
+    private void closeSources(Deque<CompletableFuture<ZipSource>> pending) {
+        for (var future : pending) {
+            try {
+                var source = future.join();
+                if (source != null) {
+                    IOUtils.closeQuietly(source.binaryStream);
+                }
+            } catch (CompletionException | CancellationException e) {
+                log.debug("Failed to retrieve unused file for bulk download", e);
             }
         }
+        pending.clear();
+    }
+
+    private boolean isCompressedFormat(ZipSource source) {
+        var mimetype = source.mimetype;
+        if (mimetype != null) {
+            mimetype = StringUtils.substringBefore(mimetype, ";").trim().toLowerCase();
+            if (COMPRESSED_MIMETYPES.contains(mimetype)
+                    || mimetype.startsWith("video/") || mimetype.startsWith("audio/")) {
+                return true;
+            }
+        }
+        var extension = FilenameUtils.getExtension(source.filename);
+        return extension != null && COMPRESSED_EXTENSIONS.contains(extension.toLowerCase());
     }
 
     public static String getZipFilename(String workPidString) {
@@ -123,4 +248,33 @@ public class DownloadBulkService {
     public void setFileLimit(int fileLimit) {
         this.fileLimit = fileLimit;
     }
+
+    /**
+     * @param readAheadExecutor optional executor used to retrieve upcoming files while the current one is zipped
+     */
+    public void setReadAheadExecutor(ExecutorService readAheadExecutor) {
+        this.readAheadExecutor = readAheadExecutor;
+    }
+
+    /**
+     * @param readAheadSize max number of files to retrieve ahead of the file currently being zipped
+     */
+    public void setReadAheadSize(int readAheadSize) {
+        this.readAheadSize = readAheadSize;
+    }
+
+    /**
+     * Content of a file to add to the zip, along with the details needed to create its entry
+     */
+    private static class ZipSource {
+        private final String filename;
+        private final String mimetype;
+        private final InputStream binaryStream;
+
+        private ZipSource(String filename, String mimetype, InputStream binaryStream) {
+            this.filename = filename;
+            this.mimetype = mimetype;
+            this.binaryStream = binaryStream;
+        }
+    }
 }
@@ -21,17 +21,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
 import java.util.zip.ZipFile;
 
 import static edu.unc.lib.boxc.model.fcrepo.test.TestHelper.makePid;
 import static edu.unc.lib.boxc.operations.impl.download.DownloadBulkService.getZipFilename;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -241,6 +245,53 @@ public class DownloadBulkServiceTest {
                 List.of("flower", "flower", "flower"));
     }
 
+    @Test
+    public void streamBulkWithReadAheadTest() throws IOException {
+        var fileObject3 = mock(FileObject.class);
+        var fileObject3Pid = makePid();
+        when(fileObject3.getPid()).thenReturn(fileObject3Pid);
+        when(repoObjLoader.getWorkObject(eq(parentPid))).thenReturn(parentWork);
+        when(parentWork.getMembers()).thenReturn(List.of(fileObject1, fileObject2, fileObject3));
+        when(aclService.hasAccess(any(PID.class), any(), eq(Permission.viewOriginal))).thenReturn(true);
+        makeBinaryObject(fileObject1, FILENAME1);
+        makeBinaryObject(fileObject2, FILENAME2);
+        makeBinaryObject(fileObject3, "flower.txt");
+        var executor = Executors.newFixedThreadPool(2);
+        service.setReadAheadExecutor(executor);
+        service.setFileLimit(2);
+
+        var outputStream = new ByteArrayOutputStream();
+        try {
+            service.streamBulk(request, outputStream);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var zipPath = zipStorageBasePath.resolve(getZipFilename(PARENT_UUID));
+        Files.write(zipPath, outputStream.toByteArray());
+        assertZipFiles(List.of(FILENAME1, FILENAME2), List.of("flower", "flower"));
+    }
+
+    @Test
+    public void compressedFormatsNotRecompressedTest() throws IOException {
+        when(repoObjLoader.getWorkObject(eq(parentPid))).thenReturn(parentWork);
+        when(parentWork.getMembers()).thenReturn(List.of(fileObject1, fileObject2));
+        when(aclService.hasAccess(any(PID.class), any(), eq(Permission.viewOriginal))).thenReturn(true);
+        var content = "flower".repeat(1000);
+        makeBinaryObject(fileObject1, "flower.txt", "text/plain", content);
+        makeBinaryObject(fileObject2, "flower.jpg", "image/jpeg", content);
+
+        service.downloadBulk(request);
+
+        var zipFilePath = zipStorageBasePath.resolve(getZipFilename(PARENT_UUID));
+        try (ZipFile zipFile = new ZipFile(zipFilePath.toFile())) {
+            var textEntry = zipFile.getEntry("flower.txt");
+            assertTrue(textEntry.getCompressedSize() < textEntry.getSize());
+            var imageEntry = zipFile.getEntry("flower.jpg");
+            assertTrue(imageEntry.getCompressedSize() >= imageEntry.getSize());
+        }
+    }
+
     private void assertZipFiles(List<String> filenames, List<String> content) throws IOException {
         var zipFilePathTest = zipStorageBasePath.resolve(getZipFilename(PARENT_UUID));
         var actualFilenames = new ArrayList<String>();
@@ -261,12 +312,16 @@ public class DownloadBulkServiceTest {
     }
 
     private void makeBinaryObject(FileObject fileObject, String filename) {
+        makeBinaryObject(fileObject, filename, null, "flower");
+    }
+
+    private void makeBinaryObject(FileObject fileObject, String filename, String mimetype, String content) {
         var binObj = mock(BinaryObject.class);
-        var binaryStream = IOUtils.toInputStream("flower", StandardCharsets.UTF_8);
+        var binaryStream = IOUtils.toInputStream(content, StandardCharsets.UTF_8);
 
         when(fileObject.getOriginalFile()).thenReturn(binObj);
         when(binObj.getBinaryStream()).thenReturn(binaryStream);
         when(binObj.getFilename()).thenReturn(filename);
-
+        when(binObj.getMimetype()).thenReturn(mimetype);
     }
 }
@@ -1,8 +1,10 @@
 package edu.unc.lib.boxc.persist.api.transfer;
 
 import java.net.URI;
+import java.util.Map;
 
 import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.persist.api.DigestAlgorithm;
 
 /**
  * Information describing the outcome of a binary transfer operation
@@ -30,4 +32,9 @@ public interface BinaryTransferOutcome {
      * @return SHA1 calculated of the binary during transfer
      */
     String getSha1();
+
+    /**
+     * @return all digests calculated of the binary during transfer, by algorithm
+     */
+    Map<DigestAlgorithm, String> getDigests();
 }
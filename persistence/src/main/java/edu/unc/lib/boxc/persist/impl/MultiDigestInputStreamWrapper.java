@@ -27,6 +27,7 @@ import edu.unc.lib.boxc.persist.api.exceptions.UnsupportedAlgorithmException;
  */
 public class MultiDigestInputStreamWrapper {
     private static final Logger log = LoggerFactory.getLogger(MultiDigestInputStreamWrapper.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
 
     private final InputStream sourceStream;
 
@@ -136,7 +137,7 @@ public class MultiDigestInputStreamWrapper {
             // Stream not previously consumed, consume it now in order to calculate digests
             try (InputStream is = getInputStream()) {
                 log.debug("Inputstream open, beginning read");
-                byte[] buffer = new byte[4096];
+                byte[] buffer = new byte[BUFFER_SIZE];
                 while (is.read(buffer) > -1) {
                 }
             } catch (final IOException e) {
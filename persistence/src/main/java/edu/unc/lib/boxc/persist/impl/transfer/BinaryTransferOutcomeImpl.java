@@ -1,8 +1,12 @@
 package edu.unc.lib.boxc.persist.impl.transfer;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 
 import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.persist.api.DigestAlgorithm;
 import edu.unc.lib.boxc.persist.api.transfer.BinaryTransferOutcome;
 
 /**
@@ -15,13 +19,19 @@ public class BinaryTransferOutcomeImpl implements BinaryTransferOutcome {
     private PID binPid;
     private URI destinationUri;
     private String destinationId;
-    private String sha1;
+    private Map<DigestAlgorithm, String> digests;
 
     public BinaryTransferOutcomeImpl(PID binPid, URI destinationUri, String destinationId, String sha1) {
+        this(binPid, destinationUri, destinationId, Collections.singletonMap(DigestAlgorithm.SHA1, sha1));
+    }
+
+    public BinaryTransferOutcomeImpl(PID binPid, URI destinationUri, String destinationId,
+            Map<DigestAlgorithm, String> digests) {
         this.binPid = binPid;
         this.destinationUri = destinationUri;
         this.destinationId = destinationId;
-        this.sha1 = sha1;
+        this.digests = new EnumMap<>(DigestAlgorithm.class);
+        this.digests.putAll(digests);
     }
 
     @Override
@@ -31,7 +41,12 @@ public class BinaryTransferOutcomeImpl implements BinaryTransferOutcome {
 
     @Override
     public String getSha1() {
-        return sha1;
+        return digests.get(DigestAlgorithm.SHA1);
+    }
+
+    @Override
+    public Map<DigestAlgorithm, String> getDigests() {
+        return Collections.unmodifiableMap(digests);
     }
 
     @Override
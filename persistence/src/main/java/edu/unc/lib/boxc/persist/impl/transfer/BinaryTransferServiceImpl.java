@@ -35,18 +35,25 @@ public class BinaryTransferServiceImpl implements BinaryTransferService {
 
     private Map<String, Collection<TransferCacheEntry>> txTransferCache;
 
+    private TransferThrottle transferThrottle;
+
     public BinaryTransferServiceImpl() {
         txTransferCache = new ConcurrentHashMap<>();
     }
 
     @Override
     public MultiDestinationTransferSession getSession() {
-        return new MultiDestinationTransferSessionImpl(sourceManager, storageLocationManager, this);
+        MultiDestinationTransferSessionImpl session =
+                new MultiDestinationTransferSessionImpl(sourceManager, storageLocationManager, this);
+        session.setTransferThrottle(transferThrottle);
+        return session;
     }
 
     @Override
     public BinaryTransferSession getSession(StorageLocation destination) {
-        return new BinaryTransferSessionImpl(sourceManager, destination, this);
+        BinaryTransferSessionImpl session = new BinaryTransferSessionImpl(sourceManager, destination, this);
+        session.setTransferThrottle(transferThrottle);
+        return session;
     }
 
     @Override
@@ -106,6 +113,14 @@ public class BinaryTransferServiceImpl implements BinaryTransferService {
         this.storageLocationManager = storageLocationManager;
     }
 
+    /**
+     * @param transferThrottle throttle shared by all sessions, limiting concurrent file transfers
+     *      per storage location and their aggregate bandwidth
+     */
+    public void setTransferThrottle(TransferThrottle transferThrottle) {
+        this.transferThrottle = transferThrottle;
+    }
+
     private static class TransferCacheEntry {
         private URI newContentUri;
         private String newContentStorageId;
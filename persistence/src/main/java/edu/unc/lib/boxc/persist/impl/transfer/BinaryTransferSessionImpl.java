@@ -6,8 +6,8 @@ import static org.springframework.util.Assert.notNull;
 
 import java.io.InputStream;
 import java.net.URI;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -32,12 +32,14 @@ public class BinaryTransferSessionImpl implements BinaryTransferSession {
 
     private IngestSourceManager sourceManager;
     private StorageLocation storageLocation;
-    private Map<String, BinaryTransferClient> clientCache;
-    private StreamTransferClient streamClient;
+    private final Map<String, BinaryTransferClient> clientCache = new ConcurrentHashMap<>();
+    private volatile StreamTransferClient streamClient;
     private BinaryTransferService binaryTransferService;
+    private TransferThrottle transferThrottle;
 
     /**
-     * Constructor for session for a single destination
+     * Constructor for session for a single destination. Sessions may be shared by multiple threads
+     * in order to perform transfers concurrently.
      *
      * @param storageLocation
      */
@@ -51,9 +53,7 @@ public class BinaryTransferSessionImpl implements BinaryTransferSession {
 
     @Override
     public void close() {
-        if (clientCache != null) {
-            clientCache.values().forEach(BinaryTransferClient::shutdown);
-        }
+        clientCache.values().forEach(BinaryTransferClient::shutdown);
         if (streamClient != null) {
             streamClient.shutdown();
         }
@@ -63,37 +63,59 @@ public class BinaryTransferSessionImpl implements BinaryTransferSession {
     public BinaryTransferOutcome transfer(PID binPid, URI sourceFileUri) {
         IngestSource source = sourceManager.getIngestSourceForUri(sourceFileUri);
         BinaryTransferClient client = getTransferClient(source);
-        return binaryTransferService.registerOutcome(
-                client.transfer(binPid, sourceFileUri));
+        acquireTransfer();
+        try {
+            return binaryTransferService.registerOutcome(
+                    client.transfer(binPid, sourceFileUri));
+        } finally {
+            releaseTransfer();
+        }
     }
 
     @Override
     public BinaryTransferOutcome transferReplaceExisting(PID binPid, URI sourceFileUri) {
         IngestSource source = sourceManager.getIngestSourceForUri(sourceFileUri);
         BinaryTransferClient client = getTransferClient(source);
-        return binaryTransferService.registerOutcome(
-                client.transferReplaceExisting(binPid, sourceFileUri));
+        acquireTransfer();
+        try {
+            return binaryTransferService.registerOutcome(
+                    client.transferReplaceExisting(binPid, sourceFileUri));
+        } finally {
+            releaseTransfer();
+        }
     }
 
     @Override
     public BinaryTransferOutcome transferVersion(PID binPid, URI sourceFileUri) {
         IngestSource source = sourceManager.getIngestSourceForUri(sourceFileUri);
         BinaryTransferClient client = getTransferClient(source);
-        return binaryTransferService.registerOutcome(
-                client.transferVersion(binPid, sourceFileUri));
+        acquireTransfer();
+        try {
+            return binaryTransferService.registerOutcome(
+                    client.transferVersion(binPid, sourceFileUri));
+        } finally {
+            releaseTransfer();
+        }
     }
 
-    private BinaryTransferClient getTransferClient(IngestSource source) {
-        if (clientCache == null) {
-            clientCache = new HashMap<>();
+    private void acquireTransfer() {
+        if (transferThrottle != null) {
+            transferThrottle.acquireTransfer(storageLocation.getId());
         }
+    }
 
-        String key = source.getId();
-        if (clientCache.containsKey(key)) {
-            return clientCache.get(key);
+    private void releaseTransfer() {
+        if (transferThrottle != null) {
+            transferThrottle.releaseTransfer(storageLocation.getId());
         }
+    }
 
-        BinaryTransferClient client = null;
+    private BinaryTransferClient getTransferClient(IngestSource source) {
+        return clientCache.computeIfAbsent(source.getId(), k -> createTransferClient(source));
+    }
+
+    private BinaryTransferClient createTransferClient(IngestSource source) {
+        FSToFSTransferClient client;
         if (FILESYSTEM.equals(source.getStorageType()) && FILESYSTEM.equals(storageLocation.getStorageType())) {
             client = new FSToFSTransferClient(source, storageLocation);
         } else if (FILESYSTEM.equals(source.getStorageType()) && POSIX_FS.equals(storageLocation.getStorageType())) {
@@ -102,8 +124,7 @@ public class BinaryTransferSessionImpl implements BinaryTransferSession {
             throw new NotImplementedException("Transfer from " + source.getId() + " to " + storageLocation.getId()
                 + " is not currently supported.");
         }
-        clientCache.put(key, client);
-
+        client.setTransferThrottle(transferThrottle);
         return client;
     }
 
@@ -125,7 +146,7 @@ public class BinaryTransferSessionImpl implements BinaryTransferSession {
                 getStreamClient().transferVersion(binPid, sourceStream));
     }
 
-    private StreamTransferClient getStreamClient() {
+    private synchronized StreamTransferClient getStreamClient() {
         if (streamClient != null) {
             return streamClient;
         }
@@ -152,6 +173,13 @@ public class BinaryTransferSessionImpl implements BinaryTransferSession {
         return getStreamClient().getStoredBinaryDetails(binPid);
     }
 
+    /**
+     * @param transferThrottle throttle limiting concurrency and bandwidth of file transfers in this session
+     */
+    public void setTransferThrottle(TransferThrottle transferThrottle) {
+        this.transferThrottle = transferThrottle;
+    }
+
     @Override
     public boolean isTransferred(PID binPid, URI sourceUri) {
         IngestSource source = sourceManager.getIngestSourceForUri(sourceUri);
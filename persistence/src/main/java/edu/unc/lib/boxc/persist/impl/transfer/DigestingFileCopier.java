@@ -0,0 +1,131 @@
+package edu.unc.lib.boxc.persist.impl.transfer;
+
+import static org.apache.commons.codec.binary.Hex.encodeHexString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+import edu.unc.lib.boxc.persist.api.DigestAlgorithm;
+import edu.unc.lib.boxc.persist.api.exceptions.UnsupportedAlgorithmException;
+
+/**
+ * Copies files between filesystem locations while calculating digests of the content.
+ * The source file is read a single time through a large direct buffer, with each chunk fed
+ * to all of the requested digest algorithms before being written to the destination.
+ *
+ * @author bbpennel
+ */
+public class DigestingFileCopier {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    // Direct buffers are expensive to allocate, so reuse one per transfer thread
+    private static final ThreadLocal<ByteBuffer> BUFFERS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private DigestingFileCopier() {
+    }
+
+    /**
+     * Copy a file, calculating all supported digests of its content
+     *
+     * @param srcPath path of the file to copy
+     * @param destPath path to copy the file to
+     * @return map of calculated digests, as hex strings
+     * @throws IOException
+     */
+    public static Map<DigestAlgorithm, String> copyFile(Path srcPath, Path destPath) throws IOException {
+        return copyFile(srcPath, destPath, Arrays.asList(DigestAlgorithm.values()));
+    }
+
+    /**
+     * Copy a file, calculating digests of its content with the given algorithms
+     *
+     * @param srcPath path of the file to copy
+     * @param destPath path to copy the file to
+     * @param algorithms digest algorithms to calculate
+     * @return map of calculated digests, as hex strings
+     * @throws IOException
+     */
+    public static Map<DigestAlgorithm, String> copyFile(Path srcPath, Path destPath,
+            Collection<DigestAlgorithm> algorithms) throws IOException {
+        return copyFile(srcPath, destPath, algorithms, null);
+    }
+
+    /**
+     * Copy a file, calculating digests of its content with the given algorithms
+     *
+     * @param srcPath path of the file to copy
+     * @param destPath path to copy the file to
+     * @param algorithms digest algorithms to calculate
+     * @param throttle optional throttle limiting the rate at which content is copied
+     * @return map of calculated digests, as hex strings
+     * @throws IOException
+     */
+    public static Map<DigestAlgorithm, String> copyFile(Path srcPath, Path destPath,
+            Collection<DigestAlgorithm> algorithms, TransferThrottle throttle) throws IOException {
+        if (Files.exists(destPath) && Files.isDirectory(destPath)) {
+            throw new IOException("Destination '" + destPath + "' exists but is a directory");
+        }
+
+        Map<DigestAlgorithm, MessageDigest> digesters = createDigesters(algorithms);
+        final long srcLen = Files.size(srcPath);
+        ByteBuffer buffer = BUFFERS.get();
+        buffer.clear();
+        // FileChannels are interruptible, so an interrupted transfer will abort
+        try (FileChannel input = FileChannel.open(srcPath, StandardOpenOption.READ);
+                FileChannel output = FileChannel.open(destPath, StandardOpenOption.WRITE,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int bytesRead;
+            while ((bytesRead = input.read(buffer)) != -1) {
+                if (throttle != null) {
+                    throttle.acquireBytes(bytesRead);
+                }
+                buffer.flip();
+                for (MessageDigest digester : digesters.values()) {
+                    buffer.mark();
+                    digester.update(buffer);
+                    buffer.reset();
+                }
+                while (buffer.hasRemaining()) {
+                    output.write(buffer);
+                }
+                buffer.clear();
+            }
+        } finally {
+            buffer.clear();
+        }
+
+        final long dstLen = Files.size(destPath);
+        if (srcLen != dstLen) {
+            throw new IOException("Failed to copy full contents from '" +
+                    srcPath + "' to '" + destPath + "' Expected length: " + srcLen + " Actual: " + dstLen);
+        }
+        Files.setLastModifiedTime(destPath, Files.getLastModifiedTime(srcPath));
+
+        Map<DigestAlgorithm, String> digests = new EnumMap<>(DigestAlgorithm.class);
+        digesters.forEach((alg, digester) -> digests.put(alg, encodeHexString(digester.digest())));
+        return digests;
+    }
+
+    private static Map<DigestAlgorithm, MessageDigest> createDigesters(Collection<DigestAlgorithm> algorithms) {
+        Map<DigestAlgorithm, MessageDigest> digesters = new EnumMap<>(DigestAlgorithm.class);
+        for (DigestAlgorithm algorithm : algorithms) {
+            try {
+                digesters.put(algorithm, MessageDigest.getInstance(algorithm.getName()));
+            } catch (final NoSuchAlgorithmException e) {
+                throw new UnsupportedAlgorithmException("Unsupported digest algorithm: " + algorithm, e);
+            }
+        }
+        return digesters;
+    }
+}
@@ -1,20 +1,12 @@
 package edu.unc.lib.boxc.persist.impl.transfer;
 
-import static org.apache.commons.codec.binary.Hex.encodeHexString;
-
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
-import java.nio.channels.Channels;
-import java.nio.channels.FileChannel;
-import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.security.DigestInputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
@@ -22,7 +14,6 @@ import org.slf4j.LoggerFactory;
 
 import edu.unc.lib.boxc.model.api.ids.PID;
 import edu.unc.lib.boxc.persist.api.DigestAlgorithm;
-import edu.unc.lib.boxc.persist.api.exceptions.UnsupportedAlgorithmException;
 import edu.unc.lib.boxc.persist.api.sources.IngestSource;
 import edu.unc.lib.boxc.persist.api.storage.BinaryDetails;
 import edu.unc.lib.boxc.persist.api.storage.StorageLocation;
@@ -42,6 +33,7 @@ public class FSToFSTransferClient implements BinaryTransferClient {
 
     private IngestSource source;
     protected StorageLocation destination;
+    private TransferThrottle transferThrottle;
 
     private static final Logger log = LoggerFactory.getLogger(FSToFSTransferClient.class);
 
@@ -68,7 +60,7 @@ public class FSToFSTransferClient implements BinaryTransferClient {
     }
 
     protected BinaryTransferOutcome transfer(PID binPid, URI sourceFileUri, TransferMode transferMode) {
-        String digest;
+        Map<DigestAlgorithm, String> digests;
         URI destUri = destination.getNewStorageUri(binPid);
         Path destinationPath = Paths.get(destUri);
         log.debug("Transferring {} to {}", sourceFileUri, destUri);
@@ -91,8 +83,9 @@ public class FSToFSTransferClient implements BinaryTransferClient {
 
             Path sourcePath = Paths.get(sourceFileUri);
 
-            // Using FileUtils.copyFile since it defers to FileChannel.transferFrom, which is interruptible
-            digest = copyFile(sourcePath, destinationPath);
+            // Read the source once, calculating all digests during the copy
+            digests = DigestingFileCopier.copyFile(sourcePath, destinationPath,
+                    Arrays.asList(DigestAlgorithm.values()), transferThrottle);
         } catch (IOException e) {
             log.debug("Attempting to cleanup failed transfer of {} to {}",
                     sourceFileUri, destinationPath);
@@ -111,56 +104,14 @@ public class FSToFSTransferClient implements BinaryTransferClient {
 
         log.debug("Finished transferring {} to {}", sourceFileUri, destUri);
 
-        return new BinaryTransferOutcomeImpl(binPid, destUri, destination.getId(), digest);
+        return new BinaryTransferOutcomeImpl(binPid, destUri, destination.getId(), digests);
     }
 
-    private static final long FILE_COPY_BUFFER_SIZE = 1024 * 1024 * 30;
-
     /**
-     * Based on org.apache.commons.io.FileUtils.copyFile(File, File, boolean)
-     * but adds Digest calculation during transfer
-     * @param srcPath
-     * @param destPath
-     * @throws IOException
+     * @param transferThrottle throttle limiting the bandwidth used by transfers from this client
      */
-    private static String copyFile(Path srcPath, Path destPath) throws IOException {
-        if (Files.exists(destPath) && Files.isDirectory(destPath)) {
-            throw new IOException("Destination '" + destPath + "' exists but is a directory");
-        }
-
-        String digest;
-        final long srcLen = Files.size(srcPath);
-        try (
-                InputStream fis = Files.newInputStream(srcPath);
-                DigestInputStream digestStream = new DigestInputStream(
-                        fis, MessageDigest.getInstance(DigestAlgorithm.DEFAULT_ALGORITHM.getName()));
-                ReadableByteChannel input = Channels.newChannel(digestStream);
-                FileChannel output = FileChannel.open(destPath, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
-
-            long pos = 0;
-            long count = 0;
-            while (pos < srcLen) {
-                final long remain = srcLen - pos;
-                count = remain > FILE_COPY_BUFFER_SIZE ? FILE_COPY_BUFFER_SIZE : remain;
-                final long bytesCopied = output.transferFrom(input, pos, count);
-                if (bytesCopied == 0) {
-                    break; // ensure we don't loop forever
-                }
-                pos += bytesCopied;
-            }
-            digest = encodeHexString(digestStream.getMessageDigest().digest());
-        } catch (final NoSuchAlgorithmException e) {
-            throw new UnsupportedAlgorithmException(e);
-        }
-
-        final long dstLen = Files.size(destPath);
-        if (srcLen != dstLen) {
-            throw new IOException("Failed to copy full contents from '" +
-                    srcPath + "' to '" + destPath + "' Expected length: " + srcLen + " Actual: " + dstLen);
-        }
-        Files.setLastModifiedTime(destPath, Files.getLastModifiedTime(srcPath));
-
-        return digest;
+    public void setTransferThrottle(TransferThrottle transferThrottle) {
+        this.transferThrottle = transferThrottle;
     }
 
     @Override
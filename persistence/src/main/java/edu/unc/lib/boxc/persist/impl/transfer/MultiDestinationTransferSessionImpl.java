@@ -2,8 +2,8 @@ package edu.unc.lib.boxc.persist.impl.transfer;
 
 import static org.springframework.util.Assert.notNull;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import edu.unc.lib.boxc.model.api.objects.RepositoryObject;
 import edu.unc.lib.boxc.persist.api.sources.IngestSourceManager;
@@ -25,6 +25,7 @@ public class MultiDestinationTransferSessionImpl implements MultiDestinationTran
     private IngestSourceManager sourceManager;
     private Map<String, BinaryTransferSession> sessionMap;
     private BinaryTransferService binaryTransferService;
+    private TransferThrottle transferThrottle;
 
     /**
      *
@@ -33,7 +34,7 @@ public class MultiDestinationTransferSessionImpl implements MultiDestinationTran
      */
     public MultiDestinationTransferSessionImpl(IngestSourceManager sourceManager,
             StorageLocationManager storageLocationManager, BinaryTransferService binaryTransferService) {
-        sessionMap = new HashMap<>();
+        sessionMap = new ConcurrentHashMap<>();
         this.sourceManager = sourceManager;
         this.storageLocationManager = storageLocationManager;
         this.binaryTransferService = binaryTransferService;
@@ -47,12 +48,12 @@ public class MultiDestinationTransferSessionImpl implements MultiDestinationTran
     @Override
     public BinaryTransferSession forDestination(StorageLocation dest) {
         notNull(dest, "Must provide a destination location");
-        BinaryTransferSession session = sessionMap.get(dest.getId());
-        if (session == null) {
-            session = new BinaryTransferSessionImpl(sourceManager, dest, binaryTransferService);
-            sessionMap.put(dest.getId(), session);
-        }
-        return session;
+        return sessionMap.computeIfAbsent(dest.getId(), k -> {
+            BinaryTransferSessionImpl session = new BinaryTransferSessionImpl(
+                    sourceManager, dest, binaryTransferService);
+            session.setTransferThrottle(transferThrottle);
+            return session;
+        });
     }
 
     @Override
@@ -60,4 +61,11 @@ public class MultiDestinationTransferSessionImpl implements MultiDestinationTran
         StorageLocation loc = storageLocationManager.getStorageLocation(repoObj);
         return forDestination(loc);
     }
+
+    /**
+     * @param transferThrottle throttle applied to file transfers in all destination sessions
+     */
+    public void setTransferThrottle(TransferThrottle transferThrottle) {
+        this.transferThrottle = transferThrottle;
+    }
 }
@@ -0,0 +1,87 @@
+package edu.unc.lib.boxc.persist.impl.transfer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import edu.unc.lib.boxc.persist.api.transfer.BinaryTransferException;
+
+/**
+ * Limits the number of file transfers which may run concurrently against each storage location,
+ * and the aggregate bandwidth used by all file transfers sharing this throttle.
+ * Limits less than or equal to zero are treated as unlimited.
+ *
+ * @author bbpennel
+ */
+public class TransferThrottle {
+
+    private int maxConcurrentPerLocation = 0;
+    private RateLimiter bandwidthLimiter;
+    private final Map<String, Semaphore> locationPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Block until a transfer slot is available for the given storage location
+     *
+     * @param locationId id of the storage location
+     */
+    public void acquireTransfer(String locationId) {
+        if (maxConcurrentPerLocation <= 0) {
+            return;
+        }
+        try {
+            getPermits(locationId).acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BinaryTransferException("Interrupted while waiting to transfer to " + locationId, e);
+        }
+    }
+
+    /**
+     * Release a transfer slot previously acquired for the given storage location
+     *
+     * @param locationId id of the storage location
+     */
+    public void releaseTransfer(String locationId) {
+        if (maxConcurrentPerLocation <= 0) {
+            return;
+        }
+        getPermits(locationId).release();
+    }
+
+    /**
+     * Block until the given number of bytes may be transferred within the bandwidth limit
+     *
+     * @param numBytes number of bytes about to be transferred
+     */
+    public void acquireBytes(int numBytes) {
+        if (bandwidthLimiter == null || numBytes <= 0) {
+            return;
+        }
+        bandwidthLimiter.acquire(numBytes);
+    }
+
+    private Semaphore getPermits(String locationId) {
+        return locationPermits.computeIfAbsent(locationId, k -> new Semaphore(maxConcurrentPerLocation, true));
+    }
+
+    /**
+     * @param maxConcurrentPerLocation max number of concurrent file transfers to a single storage location
+     */
+    public void setMaxConcurrentPerLocation(int maxConcurrentPerLocation) {
+        this.maxConcurrentPerLocation = maxConcurrentPerLocation;
+        locationPermits.clear();
+    }
+
+    /**
+     * @param maxBytesPerSecond max combined rate at which files may be transferred
+     */
+    public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+        if (maxBytesPerSecond <= 0) {
+            bandwidthLimiter = null;
+        } else {
+            bandwidthLimiter = RateLimiter.create(maxBytesPerSecond);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.mockito.Mock;
 
 import edu.unc.lib.boxc.model.api.ids.PID;
 import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import edu.unc.lib.boxc.persist.api.DigestAlgorithm;
 import edu.unc.lib.boxc.persist.api.sources.IngestSource;
 import edu.unc.lib.boxc.persist.api.storage.BinaryDetails;
 import edu.unc.lib.boxc.persist.api.storage.StorageLocation;
@@ -48,6 +49,7 @@ public class FSToFSTransferClientTest {
     protected static final String TEST_UUID = "a168cf29-a2a9-4da8-9b8d-025855b180d5";
     protected static final String FILE_CONTENT = "File content";
     protected static final String FILE_CONTENT_SHA1 = "6c4244329888770c6fa7f3fbf1d3b8baf9ccb7d0";
+    protected static final String FILE_CONTENT_MD5 = DigestUtils.md5Hex(FILE_CONTENT);
 
     protected FSToFSTransferClient client;
     private AutoCloseable closeable;
@@ -118,6 +120,17 @@ public class FSToFSTransferClientTest {
         assertOutcome(outcome, FILE_CONTENT_SHA1);
     }
 
+    @Test
+    public void transferFileCalculatesAllDigests() throws Exception {
+        Path sourceFile = createSourceFile();
+
+        BinaryTransferOutcome outcome = client.transfer(binPid, sourceFile.toUri());
+
+        assertIsSourceFile(outcome);
+        assertEquals(FILE_CONTENT_SHA1, outcome.getDigests().get(DigestAlgorithm.SHA1));
+        assertEquals(FILE_CONTENT_MD5, outcome.getDigests().get(DigestAlgorithm.MD5));
+    }
+
     @Test
     public void transferFileAlreadyExists() throws Exception {
         Assertions.assertThrows(BinaryAlreadyExistsException.class, () -> {
@@ -0,0 +1,60 @@
+package edu.unc.lib.boxc.persist.impl.transfer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bbpennel
+ */
+public class TransferThrottleTest {
+    private static final String LOC1_ID = "loc1";
+    private static final String LOC2_ID = "loc2";
+
+    private TransferThrottle throttle;
+
+    @BeforeEach
+    public void setup() {
+        throttle = new TransferThrottle();
+    }
+
+    @Test
+    public void unlimitedTransfersTest() throws Exception {
+        // Without limits, acquiring never waits for transfers to be released
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread acquiring = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                throttle.acquireTransfer(LOC1_ID);
+            }
+            throttle.acquireBytes(1024 * 1024);
+            acquired.countDown();
+        });
+        acquiring.start();
+
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void limitConcurrentTransfersPerLocationTest() throws Exception {
+        throttle.setMaxConcurrentPerLocation(1);
+        throttle.acquireTransfer(LOC1_ID);
+        // Other locations are not affected by the first location's transfer
+        throttle.acquireTransfer(LOC2_ID);
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            throttle.acquireTransfer(LOC1_ID);
+            acquired.countDown();
+        });
+        waiting.start();
+
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        throttle.releaseTransfer(LOC1_ID);
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -20,6 +20,7 @@ public class SearchRequest implements Serializable {
     protected AccessGroupSet accessGroups;
     protected String rootId;
     protected PID rootPid;
+    private String cursorMark;
 
     public SearchRequest() {
         this((PID) null, null, null, false);
@@ -87,6 +88,21 @@ public class SearchRequest implements Serializable {
         this.retrieveFacets = retrieveFacets;
     }
 
+    /**
+     * @return cursor mark for deep paging through results, or null if paging by start row
+     */
+    public String getCursorMark() {
+        return cursorMark;
+    }
+
+    /**
+     * @param cursorMark cursor mark to page from, starting with "*" for the first page of results.
+     *      When set, the start row from the search state is ignored.
+     */
+    public void setCursorMark(String cursorMark) {
+        this.cursorMark = cursorMark;
+    }
+
     public boolean isAllowAnyResourceTypesInFacets() {
         return allowAnyResourceTypesInFacets;
     }
@@ -58,6 +58,7 @@ import static edu.unc.lib.boxc.search.api.SearchFieldKey.WCAG_COMPLIANCE;
 
 
 import java.text.ParseException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -83,7 +84,8 @@ public class IndexDocumentBean {
     private Map<String, Object> fields;
 
     public IndexDocumentBean() {
-        fields = new HashMap<>();
+        // Synchronized since fields may be populated by multiple indexing filters concurrently
+        fields = Collections.synchronizedMap(new HashMap<>());
     }
 
     @Field("*_d")
@@ -26,6 +26,7 @@ public class SearchResultResponse {
     private long resultCount;
     private SearchState searchState;
     private SolrQuery generatedQuery;
+    private String nextCursorMark;
 
     public SearchResultResponse() {
     }
@@ -78,6 +79,17 @@ public class SearchResultResponse {
         this.generatedQuery = generatedQuery;
     }
 
+    /**
+     * @return cursor mark for retrieving the next page of results, if the search was performed with a cursor mark
+     */
+    public String getNextCursorMark() {
+        return nextCursorMark;
+    }
+
+    public void setNextCursorMark(String nextCursorMark) {
+        this.nextCursorMark = nextCursorMark;
+    }
+
     public ContentObjectRecord getSelectedContainer() {
         return selectedContainer;
     }
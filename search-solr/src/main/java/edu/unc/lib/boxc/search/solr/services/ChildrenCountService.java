@@ -9,7 +9,10 @@ import static edu.unc.lib.boxc.search.api.SearchFieldKey.ANCESTOR_PATH;
 import static edu.unc.lib.boxc.search.api.SearchFieldKey.RESOURCE_TYPE;
 import static java.util.Arrays.asList;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -22,6 +25,7 @@ import edu.unc.lib.boxc.auth.api.models.AccessGroupSet;
 import edu.unc.lib.boxc.model.api.ResourceType;
 import edu.unc.lib.boxc.search.api.exceptions.SolrRuntimeException;
 import edu.unc.lib.boxc.search.api.models.ContentObjectRecord;
+import edu.unc.lib.boxc.search.solr.config.SolrSettings;
 
 /**
  * Service for calculating the number of child objects within containers.
@@ -37,6 +41,7 @@ public class ChildrenCountService extends AbstractQueryService {
             asList(AdminUnit.name(), Collection.name(), Folder.name(), Work.name());
     private static final List<String> WORK_CHILD_TYPES =
             asList(File.name());
+    private static final String COUNT_FACET_PREFIX = "count_";
 
     /**
      * Get the count of child objects within the container, at any depth.
@@ -107,24 +112,75 @@ public class ChildrenCountService extends AbstractQueryService {
             }
         }
 
-        // Calculate the child count for each provided container one at a time
-        for (ContentObjectRecord container : containers) {
-            // Skip counts for any file objects
-            if (ResourceType.File.name().equals(container.getResourceType())) {
-                continue;
+        // Skip counts for any file objects
+        List<ContentObjectRecord> countable = containers.stream()
+                .filter(c -> !ResourceType.File.name().equals(c.getResourceType()))
+                .collect(Collectors.toList());
+
+        if (commonQuery != null) {
+            addChildrenCountsBatch(countable, principals, countKey, commonQuery);
+        } else {
+            // Works and other containers count different types of children, so count each group separately
+            Map<Boolean, List<ContentObjectRecord>> byIsWork = countable.stream()
+                    .collect(Collectors.partitioningBy(c -> Work.equals(c.getResourceType())));
+            addChildrenCountsBatch(byIsWork.get(false), principals, countKey, null);
+            addChildrenCountsBatch(byIsWork.get(true), principals, countKey, null);
+        }
+    }
+
+    /**
+     * Calculate the child counts for a batch of containers with a single query, using a
+     * facet query per container to count the objects which have it as an ancestor.
+     * All containers in the batch must use the same base query.
+     */
+    private void addChildrenCountsBatch(List<ContentObjectRecord> containers, AccessGroupSet principals,
+            String countKey, SolrQuery commonQuery) {
+        if (containers.isEmpty()) {
+            return;
+        }
+        SolrQuery solrQuery = createCommonQuery(principals, containers.get(0), commonQuery);
+        // Clear out any facet queries inherited from the base query, so only container counts are returned
+        String[] facetQueries = solrQuery.getFacetQuery();
+        if (facetQueries != null) {
+            for (String facetQuery : facetQueries) {
+                solrQuery.removeFacetQuery(facetQuery);
             }
-            SolrQuery solrQuery = createBaseQuery(principals, container, commonQuery);
+        }
 
-            try {
-                QueryResponse queryResponse = executeQuery(solrQuery);
-                container.getCountMap().put(countKey, queryResponse.getResults().getNumFound());
-            } catch (SolrServerException e) {
-                throw new SolrRuntimeException(e);
+        List<String> ancestorValues = new ArrayList<>(containers.size());
+        for (int i = 0; i < containers.size(); i++) {
+            String ancestorValue = SolrSettings.sanitize(containers.get(i).getPath().getSearchValue());
+            ancestorValues.add(ancestorValue);
+            solrQuery.addFacetQuery("{!key=" + COUNT_FACET_PREFIX + i + "}"
+                    + solrField(ANCESTOR_PATH) + ":" + ancestorValue);
+        }
+        // Only retrieve objects contained by at least one of the containers
+        solrQuery.addFilterQuery(makeFilter(ANCESTOR_PATH, ancestorValues));
+
+        try {
+            QueryResponse queryResponse = executeQuery(solrQuery);
+            Map<String, Integer> counts = queryResponse.getFacetQuery();
+            for (int i = 0; i < containers.size(); i++) {
+                Integer count = counts == null ? null : counts.get(COUNT_FACET_PREFIX + i);
+                containers.get(i).getCountMap().put(countKey, count == null ? 0L : count.longValue());
             }
+        } catch (SolrServerException e) {
+            throw new SolrRuntimeException(e);
         }
     }
 
     private SolrQuery createBaseQuery(AccessGroupSet principals, ContentObjectRecord container, SolrQuery baseQuery) {
+        SolrQuery solrQuery = createCommonQuery(principals, container, baseQuery);
+
+        StringBuilder filterQuery = new StringBuilder();
+        addFilter(filterQuery, ANCESTOR_PATH, container.getPath().getSearchValue());
+        solrQuery.addFilterQuery(filterQuery.toString());
+
+        return solrQuery;
+    }
+
+    private SolrQuery createCommonQuery(AccessGroupSet principals, ContentObjectRecord container,
+            SolrQuery baseQuery) {
         SolrQuery solrQuery;
         if (baseQuery == null) {
             solrQuery = new SolrQuery();
@@ -148,10 +204,6 @@ public class ChildrenCountService extends AbstractQueryService {
         solrQuery.setRows(0);
         solrQuery.setFacet(true);
 
-        StringBuilder filterQuery = new StringBuilder();
-        addFilter(filterQuery, ANCESTOR_PATH, container.getPath().getSearchValue());
-        solrQuery.addFilterQuery(filterQuery.toString());
-
         return solrQuery;
     }
 }
@@ -2,8 +2,13 @@ package edu.unc.lib.boxc.search.solr.services;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import jakarta.annotation.PostConstruct;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -76,6 +81,17 @@ public class ObjectPathFactory {
         return pathData != null ? pathData.name : null;
     }
 
+    /**
+     * Retrieve the names of multiple objects, retrieving any which are not cached in a single lookup
+     *
+     * @param pids
+     * @return map of pid to name. Objects whose names could not be determined are not included.
+     */
+    public Map<String, String> getNames(Collection<String> pids) {
+        return getPathData(pids).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().name));
+    }
+
     /**
      * Retrieve path of ancestors leading up to and including the object
      * identified by pid.
@@ -103,17 +119,52 @@ public class ObjectPathFactory {
      * @return
      */
     public ObjectPath getPath(ContentObjectRecord record) {
+        return buildPath(record, getPathData(getAncestorIds(record)));
+    }
+
+    /**
+     * Populate the object paths of all of the provided records. The path information for all
+     * of the distinct ancestors of the records is retrieved together, with any entries which
+     * are not cached retrieved from the index in a single lookup.
+     *
+     * @param records records to populate paths for
+     */
+    public void populatePaths(Collection<? extends ContentObjectRecord> records) {
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+        Set<String> ancestorIds = new LinkedHashSet<>();
+        for (ContentObjectRecord record : records) {
+            ancestorIds.addAll(getAncestorIds(record));
+        }
+        Map<String, PathCacheData> pathDataMap = getPathData(ancestorIds);
+
+        for (ContentObjectRecord record : records) {
+            record.setObjectPath(buildPath(record, pathDataMap));
+        }
+    }
+
+    private List<String> getAncestorIds(ContentObjectRecord record) {
+        if (record.getAncestorPathFacet() == null) {
+            return List.of();
+        }
+        return record.getAncestorPathFacet().getFacetNodes().stream()
+                .map(HierarchicalFacetNode::getSearchKey)
+                .collect(Collectors.toList());
+    }
+
+    private ObjectPath buildPath(ContentObjectRecord record, Map<String, PathCacheData> pathDataMap) {
         if (record.getAncestorPathFacet() == null && !RepositoryPaths.getContentRootPid().equals(record.getPid())) {
             return null;
         }
 
         List<ObjectPathEntry> entries = new ArrayList<>();
 
-        // Retrieve path data for each node in the ancestor path
+        // Add path data for each node in the ancestor path
         if (record.getAncestorPathFacet() != null) {
             for (HierarchicalFacetNode node : record.getAncestorPathFacet().getFacetNodes()) {
                 String pid = node.getSearchKey();
-                PathCacheData pathData = getPathData(pid);
+                PathCacheData pathData = pathDataMap.get(pid);
 
                 if (pathData != null) {
                     entries.add(new ObjectPathEntry(pid, pathData.name, pathData.isContainer, pathData.collectionId));
@@ -147,34 +198,64 @@ public class ObjectPathFactory {
      * @return
      */
     private PathCacheData getPathData(String pid) {
-        PathCacheData cacheData = pathCache.get(pid);
-        // Check if the cached values are still up to date
-        if (cacheData != null && System.currentTimeMillis() <= (cacheData.retrievedAt + timeToLiveMilli)) {
-            log.debug("Retrieved path information for {} from cache", pid);
-            return cacheData;
+        return getPathData(List.of(pid)).get(pid);
+    }
+
+    /**
+     * Returns path data for multiple entries, as identified by pid. Data is retrieved from the cache
+     * for entries not older than the allowed time to live, and all other entries are retrieved from
+     * the index together.
+     *
+     * @param pids
+     * @return map of pid to path data. Entries which could not be retrieved are not included.
+     */
+    private Map<String, PathCacheData> getPathData(Collection<String> pids) {
+        Map<String, PathCacheData> result = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        long now = System.currentTimeMillis();
+        for (String pid : pids) {
+            PathCacheData cacheData = pathCache.get(pid);
+            // Check if the cached values are still up to date
+            if (cacheData != null && now <= (cacheData.retrievedAt + timeToLiveMilli)) {
+                result.put(pid, cacheData);
+            } else {
+                missing.add(pid);
+            }
+        }
+        log.debug("Retrieved path information for {} objects from cache", result.size());
+        if (missing.isEmpty()) {
+            return result;
         }
 
         // Cache wasn't available, retrieve fresh data from solr
+        Map<String, Map<String, Object>> fieldsMap;
         try {
-            Map<String, Object> fields = search.getFields(pid, pathFields);
+            fieldsMap = search.getFields(missing, pathFields);
+        } catch (SolrServerException e) {
+            log.error("Failed to get object path information for {}", missing, e);
+            return result;
+        }
+
+        for (String pid : missing) {
+            Map<String, Object> fields = fieldsMap.get(pid);
             if (fields == null) {
                 log.warn("Unable to retrieve solr record for object {}, it may not be present or indexed", pid);
-                return null;
+                continue;
+            }
+            try {
+                PathCacheData pathData = new PathCacheData((String) fields.get(titleFieldName),
+                        isContainer((String) fields.get(typeFieldName)), (String) fields.get(collectionId));
+
+                // Cache the results for this entry
+                pathCache.put(pid, pathData);
+                result.put(pid, pathData);
+            } catch (InvalidPathDataException e) {
+                log.error("Failed to get object path information for {}", pid, e);
             }
-
-            PathCacheData pathData = new PathCacheData((String) fields.get(titleFieldName),
-                    isContainer((String) fields.get(typeFieldName)), (String) fields.get(collectionId));
-
-            // Cache the results for this entry
-            pathCache.put(pid, pathData);
-
-            log.debug("Retrieved path information for {} from solr", pid);
-
-            return pathData;
-        } catch (SolrServerException | InvalidPathDataException e) {
-            log.error("Failed to get object path information for {}", pid, e);
         }
-        return null;
+        log.debug("Retrieved path information for {} objects from solr", missing.size());
+
+        return result;
     }
 
     private boolean isContainer(String resourceType) {
@@ -7,6 +7,7 @@ import edu.unc.lib.boxc.search.solr.facets.GenericFacet;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Query service which fills in missing titles for facets containing object ids
@@ -38,9 +39,12 @@ public class SetFacetTitleByIdService {
     }
 
     private void populateInList(String facetName, List<SearchFacet> facetList) {
+        // Look up the titles for all of the values together
+        var ids = facetList.stream().map(SearchFacet::getSearchValue).collect(Collectors.toList());
+        var titles = pathFactory.getNames(ids);
         for (var facetValue: facetList) {
             GenericFacet pidFacet = (GenericFacet) facetValue;
-            var facetTitle = pathFactory.getName(pidFacet.getSearchValue());
+            var facetTitle = titles.get(pidFacet.getSearchValue());
 
             if (facetTitle != null) {
                 pidFacet.setFieldName(facetName);
@@ -4,17 +4,24 @@ import static edu.unc.lib.boxc.search.api.SearchFieldKey.RESOURCE_TYPE;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import edu.unc.lib.boxc.search.api.exceptions.SolrRuntimeException;
 import edu.unc.lib.boxc.search.api.filters.QueryFilter;
 import edu.unc.lib.boxc.search.solr.config.SearchSettings;
 import edu.unc.lib.boxc.search.solr.ranges.RangePair;
 import edu.unc.lib.boxc.search.solr.ranges.UnknownRange;
+import com.google.common.collect.Lists;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -22,6 +29,8 @@ import org.apache.solr.client.solrj.response.Group;
 import org.apache.solr.client.solrj.response.GroupCommand;
 import org.apache.solr.client.solrj.response.GroupResponse;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.GroupParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,6 +74,9 @@ public class SolrSearchService extends AbstractQueryService {
     protected static final String DEFAULT_SEARCHABLE_FIELDS =
             "text,titleIndex,contributorIndex,subjectIndex,keywordIndex,identifierIndex";
 
+    protected int idQueryChunkSize = 1000;
+    protected ExecutorService idQueryExecutor;
+
     public SolrSearchService() {
     }
 
@@ -111,50 +123,79 @@ public class SolrSearchService extends AbstractQueryService {
         return null;
     }
 
-    @SuppressWarnings("unchecked")
     public List<ContentObjectRecord> getObjectsById(IdListRequest listRequest) {
-        QueryResponse queryResponse = null;
-        SolrQuery solrQuery = new SolrQuery();
-        StringBuilder query = new StringBuilder("*:* ");
+        SolrQuery baseQuery = new SolrQuery("*:*");
 
         try {
             // Add access restrictions to query
-            addAccessRestrictions(solrQuery, listRequest.getAccessGroups());
+            addAccessRestrictions(baseQuery, listRequest.getAccessGroups());
         } catch (AccessRestrictionException e) {
             // If the user doesn't have any access groups, they don't have access to anything, return null.
             LOG.error("Error while attempting to add access restrictions to query for " + listRequest.getIds(), e);
             return null;
         }
 
-        query.append(" AND (");
+        addResultFields(listRequest.getResultFields(), baseQuery);
+        // Id is needed in order to return results in the requested order
+        if (listRequest.getResultFields() != null
+                && !listRequest.getResultFields().contains(SearchFieldKey.ID.name())) {
+            baseQuery.addField(SearchFieldKey.ID.getSolrField());
+        }
 
-        boolean first = true;
-        for (String id : listRequest.getIds()) {
-            if (first) {
-                first = false;
-            } else {
-                query.append(" OR ");
+        List<String> ids = listRequest.getIds().stream().distinct().collect(Collectors.toList());
+        List<List<String>> chunks = Lists.partition(ids, idQueryChunkSize);
+        Map<String, ContentObjectRecord> idToRecord = new HashMap<>(ids.size());
+        if (idQueryExecutor == null || chunks.size() < 2) {
+            for (List<String> chunk : chunks) {
+                queryIdChunk(baseQuery, chunk).forEach(r -> idToRecord.put(r.getId(), r));
+            }
+        } else {
+            List<CompletableFuture<List<ContentObjectSolrRecord>>> futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> queryIdChunk(baseQuery, chunk), idQueryExecutor))
+                    .collect(Collectors.toList());
+            try {
+                for (CompletableFuture<List<ContentObjectSolrRecord>> future : futures) {
+                    future.join().forEach(r -> idToRecord.put(r.getId(), r));
+                }
+            } catch (CompletionException e) {
+                futures.forEach(f -> f.cancel(true));
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new SolrRuntimeException("Error retrieving Solr object request", e.getCause());
             }
-            query.append(SearchFieldKey.ID.getSolrField()).append(':')
-                    .append(SolrSettings.sanitize(id));
         }
 
-        query.append(")");
-
-        addResultFields(listRequest.getResultFields(), solrQuery);
+        // Return the results in the order they were requested
+        List<ContentObjectRecord> results = new ArrayList<>(idToRecord.size());
+        for (String id : ids) {
+            ContentObjectRecord record = idToRecord.get(id);
+            if (record != null) {
+                results.add(record);
+            }
+        }
+        return results;
+    }
 
-        solrQuery.setQuery(query.toString());
-        solrQuery.setRows(listRequest.getIds().size());
+    /**
+     * Retrieve the records for a chunk of ids, using a terms filter rather than a boolean query
+     * so that the number of ids is not limited by the max boolean clauses of the index
+     *
+     * @param baseQuery query containing the access restrictions and result fields for the request
+     * @param ids ids to retrieve
+     * @return records matching the ids
+     */
+    private List<ContentObjectSolrRecord> queryIdChunk(SolrQuery baseQuery, List<String> ids) {
+        SolrQuery solrQuery = baseQuery.getCopy();
+        solrQuery.addFilterQuery("{!terms f=" + SearchFieldKey.ID.getSolrField() + "}" + String.join(",", ids));
+        solrQuery.setRows(ids.size());
 
-        LOG.debug("getObjectsById query: " + solrQuery.toString());
+        LOG.debug("getObjectsById query: {}", solrQuery);
         try {
-            queryResponse = executeQuery(solrQuery);
+            return executeQuery(solrQuery).getBeans(ContentObjectSolrRecord.class);
         } catch (SolrServerException e) {
             throw new SolrRuntimeException("Error retrieving Solr object request", e);
         }
-
-        List<?> results = queryResponse.getBeans(ContentObjectSolrRecord.class);
-        return (List<ContentObjectRecord>) results;
     }
 
     /**
@@ -192,17 +233,7 @@ public class SolrSearchService extends AbstractQueryService {
             // Add in the correct rollup representatives when they are missing, if we are rolling up on the rollup id
             if (searchRequest.getSearchState().getRollup() != null && searchRequest.getSearchState().getRollup()
                     && searchRequest.getSearchState().getRollupField() == null) {
-                for (ContentObjectRecord item : resultResponse.getResultList()) {
-                    if (item.getId() != null && item.getRollup() != null && !item.getId().equals(item.getRollup())) {
-                        ContentObjectRecord representative = this.getObjectById(new SimpleIdRequest(
-                                PIDs.get(item.getRollup()), searchRequest.getAccessGroups()));
-                        if (representative != null) {
-                            GroupedContentObjectSolrRecord grouped = (GroupedContentObjectSolrRecord) item;
-                            grouped.getItems().add(representative);
-                            grouped.setRepresentative(representative);
-                        }
-                    }
-                }
+                addRollupRepresentatives(resultResponse.getResultList(), searchRequest.getAccessGroups());
             }
 
             return resultResponse;
@@ -211,6 +242,44 @@ public class SolrSearchService extends AbstractQueryService {
         }
     }
 
+    /**
+     * Retrieve the representatives of all grouped results whose rollup object was not returned
+     * as part of the group, using a single query, and add them to their groups.
+     *
+     * @param resultList grouped results
+     * @param accessGroups access groups of the user
+     */
+    private void addRollupRepresentatives(List<ContentObjectRecord> resultList, AccessGroupSet accessGroups) {
+        List<String> rollupIds = resultList.stream()
+                .filter(item -> item.getId() != null && item.getRollup() != null
+                        && !item.getId().equals(item.getRollup()))
+                .map(ContentObjectRecord::getRollup)
+                .distinct()
+                .collect(Collectors.toList());
+        if (rollupIds.isEmpty()) {
+            return;
+        }
+
+        List<ContentObjectRecord> representatives = getObjectsById(new IdListRequest(rollupIds, null, accessGroups));
+        if (representatives == null || representatives.isEmpty()) {
+            return;
+        }
+        Map<String, ContentObjectRecord> idToRepresentative = representatives.stream()
+                .collect(Collectors.toMap(ContentObjectRecord::getId, Function.identity(), (a, b) -> a));
+
+        for (ContentObjectRecord item : resultList) {
+            if (item.getId() == null || item.getRollup() == null || item.getId().equals(item.getRollup())) {
+                continue;
+            }
+            ContentObjectRecord representative = idToRepresentative.get(item.getRollup());
+            if (representative != null) {
+                GroupedContentObjectSolrRecord grouped = (GroupedContentObjectSolrRecord) item;
+                grouped.getItems().add(representative);
+                grouped.setRepresentative(representative);
+            }
+        }
+    }
+
     /**
      * Adds access restrictions to the provided query string buffer. If there
      * are no access groups in the provided group set, then an
@@ -410,7 +479,14 @@ public class SolrSearchService extends AbstractQueryService {
         }
 
         // Set Navigation options
-        if (searchState.getStartRow() != null) {
+        if (searchRequest.getCursorMark() != null) {
+            // Cursors require a sort on the unique key to break ties
+            String idField = SearchFieldKey.ID.getSolrField();
+            if (solrQuery.getSorts().stream().noneMatch(sort -> idField.equals(sort.getItem()))) {
+                solrQuery.addSort(idField, SolrQuery.ORDER.asc);
+            }
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, searchRequest.getCursorMark());
+        } else if (searchState.getStartRow() != null) {
             solrQuery.setStart(searchState.getStartRow());
         }
         if (searchState.getRowsPerPage() != null) {
@@ -624,6 +700,8 @@ public class SolrSearchService extends AbstractQueryService {
             response.setFacetFields(null);
         }
 
+        response.setNextCursorMark(queryResponse.getNextCursorMark());
+
         // Set search state that generated this result
         response.setSearchState(searchState);
 
@@ -652,6 +730,35 @@ public class SolrSearchService extends AbstractQueryService {
         return null;
     }
 
+    /**
+     * Retrieve the specified fields for multiple objects, using a single query per chunk of ids
+     *
+     * @param ids ids of the objects to retrieve fields for
+     * @param fields solr fields to retrieve
+     * @return map of object id to the field values of that object. Objects which were not found are not included.
+     * @throws SolrServerException
+     */
+    public Map<String, Map<String, Object>> getFields(Collection<String> ids, List<String> fields)
+            throws SolrServerException {
+        Map<String, Map<String, Object>> results = new HashMap<>();
+        String idField = SearchFieldKey.ID.getSolrField();
+        List<String> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        for (List<String> chunk : Lists.partition(distinctIds, idQueryChunkSize)) {
+            SolrQuery solrQuery = new SolrQuery("*:*");
+            solrQuery.addFilterQuery("{!terms f=" + idField + "}" + String.join(",", chunk));
+            solrQuery.addField(idField);
+            for (String field : fields) {
+                solrQuery.addField(field);
+            }
+            solrQuery.setRows(chunk.size());
+
+            for (SolrDocument doc : executeQuery(solrQuery).getResults()) {
+                results.put((String) doc.getFieldValue(idField), doc.getFieldValueMap());
+            }
+        }
+        return results;
+    }
+
     public void setFacetFieldFactory(FacetFieldFactory facetFieldFactory) {
         this.facetFieldFactory = facetFieldFactory;
     }
@@ -659,4 +766,18 @@ public class SolrSearchService extends AbstractQueryService {
     public void setFacetFieldUtil(FacetFieldUtil facetFieldUtil) {
         this.facetFieldUtil = facetFieldUtil;
     }
+
+    /**
+     * @param idQueryChunkSize max number of ids to retrieve per request in getObjectsById
+     */
+    public void setIdQueryChunkSize(int idQueryChunkSize) {
+        this.idQueryChunkSize = idQueryChunkSize;
+    }
+
+    /**
+     * @param idQueryExecutor optional executor used to retrieve chunks of ids in parallel in getObjectsById
+     */
+    public void setIdQueryExecutor(ExecutorService idQueryExecutor) {
+        this.idQueryExecutor = idQueryExecutor;
+    }
 }
@@ -2,55 +2,100 @@ package edu.unc.lib.boxc.search.solr.services;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import edu.unc.lib.boxc.common.metrics.RegistryService;
 import edu.unc.lib.boxc.model.api.exceptions.NotFoundException;
 import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.api.services.CacheInvalidator;
 import edu.unc.lib.boxc.search.api.SearchFieldKey;
+import edu.unc.lib.boxc.search.api.exceptions.SolrRuntimeException;
+import io.dropwizard.metrics5.Gauge;
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
 import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
 import org.slf4j.Logger;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
- * Service for retrieving titles of objects
+ * Service for retrieving titles of objects.
+ *
+ * Titles are cached, and entries older than the cache time to live are refreshed from the index when next
+ * requested. If a refresh executor is provided, the previous title is returned while the refresh happens in the
+ * background. Entries which are not refreshed before the cache expiration are evicted.
  *
  * @author bbpennel
  */
-public class TitleRetrievalService {
+public class TitleRetrievalService implements CacheInvalidator {
     private static final Logger log = getLogger(TitleRetrievalService.class);
+    private static final int BULK_QUERY_SIZE = 500;
     private LoadingCache<String, String> titleCache;
 
     private long cacheTimeToLive = 10 * 60;
+    private long cacheExpiration = 60 * 60;
     private long cacheMaxSize = 1024;
+    private String metricsScope;
+    private ExecutorService refreshExecutor;
 
     private SolrSearchService solrSearchService;
 
     public void init() {
+        if (cacheExpiration <= cacheTimeToLive) {
+            throw new IllegalArgumentException("Title cache expiration of " + cacheExpiration
+                    + "s must be longer than the time to live of " + cacheTimeToLive + "s");
+        }
+        CacheLoader<String, String> loader = new CacheLoader<String, String>() {
+            @Override
+            public String load(String key) throws Exception {
+                SolrQuery solrQuery = new SolrQuery();
+                solrQuery.setQuery("*:*");
+                solrQuery.addFilterQuery(SearchFieldKey.ID.getSolrField() + ":" + key);
+                solrQuery.setFields(SearchFieldKey.TITLE.getSolrField());
+                log.debug("Retrieve title query {}", solrQuery);
+                var resp = solrSearchService.executeQuery(solrQuery);
+                var results = resp.getResults();
+                if (results.isEmpty()) {
+                    throw new NotFoundException("Unable to find solr record for object " + key);
+                } else {
+                    var title = (String) results.get(0).getFieldValue(SearchFieldKey.TITLE.getSolrField());
+                    log.debug("Got title {} for {}", title, key);
+                    return title;
+                }
+            }
+        };
         titleCache = CacheBuilder.newBuilder()
                 .maximumSize(cacheMaxSize)
-                .expireAfterWrite(cacheTimeToLive, TimeUnit.SECONDS)
-                .build(new CacheLoader<String, String>() {
-                    @Override
-                    public String load(String key) throws Exception {
-                        SolrQuery solrQuery = new SolrQuery();
-                        solrQuery.setQuery("*:*");
-                        solrQuery.addFilterQuery(SearchFieldKey.ID.getSolrField() + ":" + key);
-                        solrQuery.setFields(SearchFieldKey.TITLE.getSolrField());
-                        log.debug("Retrieve title query {}", solrQuery);
-                        var resp = solrSearchService.executeQuery(solrQuery);
-                        var results = resp.getResults();
-                        if (results.isEmpty()) {
-                            throw new NotFoundException("Unable to find solr record for object " + key);
-                        } else {
-                            var title = (String) results.get(0).getFieldValue(SearchFieldKey.TITLE.getSolrField());
-                            log.debug("Got title {} for {}", title, key);
-                            return title;
-                        }
-                    }
-                });
+                .refreshAfterWrite(cacheTimeToLive, TimeUnit.SECONDS)
+                .expireAfterWrite(cacheExpiration, TimeUnit.SECONDS)
+                .recordStats()
+                .build(refreshExecutor == null ? loader : CacheLoader.asyncReloading(loader, refreshExecutor));
+
+        registerGauge("cacheSize", (Gauge<Long>) () -> titleCache.size());
+        registerGauge("cacheHitRate", (Gauge<Double>) () -> titleCache.stats().hitRate());
+    }
+
+    /**
+     * Register a gauge for this instance's cache, replacing any gauge previously registered under the
+     * same name so that the registry does not report on, or retain, a discarded cache
+     */
+    private void registerGauge(String name, Gauge<?> gauge) {
+        MetricRegistry registry = RegistryService.getInstance().getRegistry();
+        MetricName metricName = MetricRegistry.name(TitleRetrievalService.class, metricsScope, name);
+        registry.remove(metricName);
+        registry.register(metricName, gauge);
     }
 
     /**
@@ -69,6 +114,47 @@ public class TitleRetrievalService {
         }
     }
 
+    /**
+     * Retrieve the titles of multiple objects. Titles which are not already cached are retrieved
+     * from the index together rather than one object at a time.
+     * @param pids
+     * @return map of object ids to titles, in the order requested. Objects which could not be found are not
+     *      included.
+     */
+    public Map<String, String> retrieveTitles(Collection<PID> pids) {
+        var ids = pids.stream().map(PID::getId).distinct().collect(Collectors.toList());
+        Map<String, String> titles = new HashMap<>(titleCache.getAllPresent(ids));
+        var missingIds = ids.stream().filter(id -> !titles.containsKey(id)).collect(Collectors.toList());
+        for (List<String> chunk : Lists.partition(missingIds, BULK_QUERY_SIZE)) {
+            var loaded = loadTitles(chunk);
+            titleCache.putAll(loaded);
+            titles.putAll(loaded);
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        ids.stream().filter(titles::containsKey).forEach(id -> result.put(id, titles.get(id)));
+        return result;
+    }
+
+    private Map<String, String> loadTitles(List<String> ids) {
+        SolrQuery solrQuery = new SolrQuery();
+        solrQuery.setQuery("*:*");
+        solrQuery.addFilterQuery("{!terms f=" + SearchFieldKey.ID.getSolrField() + "}" + String.join(",", ids));
+        solrQuery.setFields(SearchFieldKey.ID.getSolrField(), SearchFieldKey.TITLE.getSolrField());
+        solrQuery.setRows(ids.size());
+        log.debug("Retrieve titles query {}", solrQuery);
+        try {
+            var results = solrSearchService.executeQuery(solrQuery).getResults();
+            return results.stream()
+                    .filter(doc -> doc.getFieldValue(SearchFieldKey.TITLE.getSolrField()) != null)
+                    .collect(Collectors.toMap(
+                            doc -> (String) doc.getFieldValue(SearchFieldKey.ID.getSolrField()),
+                            doc -> (String) doc.getFieldValue(SearchFieldKey.TITLE.getSolrField()),
+                            (a, b) -> a));
+        } catch (SolrServerException e) {
+            throw new SolrRuntimeException("Failed to retrieve titles", e);
+        }
+    }
+
     /**
      * Retrieve the title from the cache if already present, otherwise return null
      * @param pid
@@ -91,11 +177,63 @@ public class TitleRetrievalService {
      * Invalidate cache entry for the specified pid
      * @param pid
      */
+    @Override
     public void invalidate(PID pid) {
         titleCache.invalidate(pid.getId());
     }
 
+    /**
+     * @return hit and load statistics for the title cache
+     */
+    public CacheStats getCacheStats() {
+        return titleCache.stats();
+    }
+
+    /**
+     * @return number of titles currently cached
+     */
+    public long getCacheSize() {
+        return titleCache.size();
+    }
+
     public void setSolrSearchService(SolrSearchService solrSearchService) {
         this.solrSearchService = solrSearchService;
     }
+
+    /**
+     * @param cacheTimeToLive number of seconds after which a cached title will be refreshed when next requested
+     */
+    public void setCacheTimeToLive(long cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
+    /**
+     * @param cacheExpiration number of seconds after which a cached title which has not been refreshed is
+     *      evicted. Must be longer than the cache time to live.
+     */
+    public void setCacheExpiration(long cacheExpiration) {
+        this.cacheExpiration = cacheExpiration;
+    }
+
+    /**
+     * @param cacheMaxSize max number of titles to cache
+     */
+    public void setCacheMaxSize(long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    /**
+     * @param refreshExecutor executor used to refresh cached titles in the background. If not provided,
+     *      titles are refreshed in the requesting thread.
+     */
+    public void setRefreshExecutor(ExecutorService refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * @param metricsScope name added to the cache metric names, to distinguish between multiple instances
+     */
+    public void setMetricsScope(String metricsScope) {
+        this.metricsScope = metricsScope;
+    }
 }
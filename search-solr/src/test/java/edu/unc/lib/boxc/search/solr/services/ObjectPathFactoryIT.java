@@ -131,6 +131,32 @@ public class ObjectPathFactoryIT extends BaseEmbeddedSolrTest {
         assertEquals(TestCorpus.TEST_COLL_ID, collEntry.getCollectionId());
     }
 
+    @Test
+    public void testPopulatePaths() throws Exception {
+        ContentObjectRecord workRec = solrSearchService.getObjectById(new SimpleIdRequest(testCorpus.work1Pid, null));
+        ContentObjectRecord fileRec = solrSearchService.getObjectById(
+                new SimpleIdRequest(testCorpus.work3File1Pid, null));
+
+        objPathFactory.populatePaths(List.of(workRec, fileRec));
+
+        assertPathPids(workRec.getObjectPath(), testCorpus.rootPid, testCorpus.unitPid, testCorpus.coll1Pid,
+                testCorpus.folder1Pid, testCorpus.work1Pid);
+        assertEquals("/Collections/Unit/Collection 1/Folder 1/Work 1", workRec.getObjectPath().toNamePath());
+        assertPathPids(fileRec.getObjectPath(), testCorpus.rootPid, testCorpus.unitPid, testCorpus.coll2Pid,
+                testCorpus.work3Pid, testCorpus.work3File1Pid);
+        assertEquals("/Collections/Unit/Collection 2/Work 3/File 1", fileRec.getObjectPath().toNamePath());
+    }
+
+    @Test
+    public void testGetNames() throws Exception {
+        var names = objPathFactory.getNames(List.of(testCorpus.coll1Pid.getId(), testCorpus.unitPid.getId(),
+                "d3b0b1a4-c6b9-4b56-a8b5-8f4b9c5a1f00"));
+
+        assertEquals(2, names.size());
+        assertEquals("Collection 1", names.get(testCorpus.coll1Pid.getId()));
+        assertEquals("Unit", names.get(testCorpus.unitPid.getId()));
+    }
+
     private void assertPathPids(ObjectPath path, PID... pids) {
         List<ObjectPathEntry> pathEntries = path.getEntries();
 
@@ -5,6 +5,7 @@ import edu.unc.lib.boxc.auth.api.exceptions.AccessRestrictionException;
 import edu.unc.lib.boxc.auth.api.models.AccessGroupSet;
 import edu.unc.lib.boxc.auth.fcrepo.models.AccessGroupSetImpl;
 import edu.unc.lib.boxc.search.api.SearchFieldKey;
+import edu.unc.lib.boxc.search.api.models.ContentObjectRecord;
 import edu.unc.lib.boxc.search.api.exceptions.SolrRuntimeException;
 import edu.unc.lib.boxc.search.api.requests.IdListRequest;
 import edu.unc.lib.boxc.search.api.requests.SearchRequest;
@@ -25,6 +26,8 @@ import org.mockito.Mock;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -101,8 +104,26 @@ public class SolrSearchServiceIT extends BaseEmbeddedSolrTest {
         var request = new IdListRequest(idList, resultFields, accessGroups);
         var records = solrSearchService.getObjectsById(request);
         assertEquals(2, records.size());
-        assertEquals(testCorpus.folder1Pid.getId(), records.get(0).getId());
-        assertEquals(testCorpus.work1Pid.getId(), records.get(1).getId());
+        // Results are returned in the order requested
+        assertEquals(testCorpus.work1Pid.getId(), records.get(0).getId());
+        assertEquals(testCorpus.folder1Pid.getId(), records.get(1).getId());
+    }
+
+    @Test
+    public void getObjectsByIdChunkedTest() {
+        solrSearchService.setIdQueryChunkSize(2);
+        var executor = Executors.newFixedThreadPool(2);
+        solrSearchService.setIdQueryExecutor(executor);
+        var idList = Arrays.asList(testCorpus.work2Pid.getId(), testCorpus.folder1Pid.getId(),
+                "notarealid", testCorpus.work1Pid.getId(), testCorpus.coll1Pid.getId(),
+                testCorpus.work2Pid.getId());
+        var resultFields = Arrays.asList(SearchFieldKey.TITLE.name());
+        var request = new IdListRequest(idList, resultFields, accessGroups);
+        var records = solrSearchService.getObjectsById(request);
+        var resultIds = records.stream().map(ContentObjectRecord::getId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(testCorpus.work2Pid.getId(), testCorpus.folder1Pid.getId(),
+                testCorpus.work1Pid.getId(), testCorpus.coll1Pid.getId()), resultIds);
+        executor.shutdownNow();
     }
 
     @Test
@@ -166,6 +187,24 @@ public class SolrSearchServiceIT extends BaseEmbeddedSolrTest {
         assertEquals(2, workGroup.getItemCount());
     }
 
+    @Test
+    public void getSearchResultsRollupRepresentativesTest() {
+        var searchState = new SearchState();
+        searchState.setRollup(true);
+        searchState.setSearchFields(Map.of(SearchFieldKey.TITLE_INDEX.name(), "File"));
+        searchState.setSortType("title");
+        var searchRequest = new SearchRequest(searchState, accessGroups);
+        var resp = solrSearchService.getSearchResults(searchRequest);
+        var results = resp.getResultList();
+        var resultIds = results.stream().map(ContentObjectRecord::getId).collect(Collectors.toList());
+        // Works are not matched by the query, so their representatives are retrieved separately
+        assertTrue(resultIds.contains(testCorpus.work1Pid.getId()));
+        assertTrue(resultIds.contains(testCorpus.work2Pid.getId()));
+        for (var result : results) {
+            assertEquals(result.getRollup(), result.getId());
+        }
+    }
+
     @Test
     public void getSearchResultsByPermissionLimitsTest() {
         var publicGroups = new AccessGroupSetImpl("everyone");
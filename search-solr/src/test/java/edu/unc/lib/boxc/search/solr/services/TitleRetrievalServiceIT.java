@@ -0,0 +1,199 @@
+package edu.unc.lib.boxc.search.solr.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import edu.unc.lib.boxc.common.metrics.RegistryService;
+import edu.unc.lib.boxc.common.test.TestHelpers;
+import edu.unc.lib.boxc.model.api.ResourceType;
+import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import edu.unc.lib.boxc.search.solr.test.BaseEmbeddedSolrTest;
+import edu.unc.lib.boxc.search.solr.test.TestCorpus;
+import edu.unc.lib.boxc.search.solr.utils.AccessRestrictionUtil;
+import io.dropwizard.metrics5.Gauge;
+import io.dropwizard.metrics5.MetricRegistry;
+
+/**
+ * @author bbpennel
+ */
+public class TitleRetrievalServiceIT extends BaseEmbeddedSolrTest {
+    private TestCorpus testCorpus;
+    private SolrSearchService solrSearchService;
+
+    private TitleRetrievalService titleService;
+
+    private AutoCloseable closeable;
+
+    @Mock
+    private AccessRestrictionUtil restrictionUtil;
+
+    public TitleRetrievalServiceIT() {
+        testCorpus = new TestCorpus();
+    }
+
+    @BeforeEach
+    public void init() throws Exception {
+        closeable = openMocks(this);
+
+        index(testCorpus.populate());
+
+        solrSearchService = new SolrSearchService();
+        solrSearchService.setSolrSettings(solrSettings);
+        solrSearchService.setAccessRestrictionUtil(restrictionUtil);
+        TestHelpers.setField(solrSearchService, "solrClient", server);
+
+        titleService = new TitleRetrievalService();
+        titleService.setSolrSearchService(solrSearchService);
+        titleService.setCacheMaxSize(2000);
+        titleService.init();
+    }
+
+    @AfterEach
+    void closeService() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    public void retrieveTitleTest() {
+        assertEquals("Work 1", titleService.retrieveTitle(testCorpus.work1Pid));
+        assertEquals("Work 1", titleService.retrieveCachedTitle(testCorpus.work1Pid));
+    }
+
+    @Test
+    public void retrieveTitlesMultipleChunksTest() throws Exception {
+        // Enough objects to require multiple bulk queries
+        List<PID> pids = indexWorks(1200);
+        Collections.shuffle(pids);
+
+        Map<String, String> titles = titleService.retrieveTitles(pids);
+
+        assertEquals(1200, titles.size());
+        assertEquals(ids(pids), new ArrayList<>(titles.keySet()));
+        for (PID pid : pids) {
+            assertEquals("Title " + pid.getId(), titles.get(pid.getId()));
+            assertEquals("Title " + pid.getId(), titleService.retrieveCachedTitle(pid));
+        }
+    }
+
+    @Test
+    public void retrieveTitlesMissingIdsTest() throws Exception {
+        List<PID> indexed = indexWorks(600);
+        List<PID> missing = List.of(makePid(), makePid());
+        List<PID> pids = new ArrayList<>();
+        pids.add(missing.get(0));
+        pids.addAll(indexed.subList(0, 550));
+        pids.add(missing.get(1));
+        pids.addAll(indexed.subList(550, 600));
+
+        Map<String, String> titles = titleService.retrieveTitles(pids);
+
+        assertEquals(600, titles.size());
+        assertEquals(ids(indexed), new ArrayList<>(titles.keySet()));
+        for (PID pid : missing) {
+            assertFalse(titles.containsKey(pid.getId()));
+            assertNull(titleService.retrieveCachedTitle(pid));
+        }
+    }
+
+    @Test
+    public void retrieveTitlesCombinesCachedAndLoadedTest() throws Exception {
+        titleService.storeTitle(testCorpus.work1Pid, "Cached Work 1");
+        List<PID> pids = List.of(testCorpus.work2Pid, testCorpus.work1Pid, testCorpus.coll1Pid);
+
+        Map<String, String> titles = titleService.retrieveTitles(pids);
+
+        assertEquals(ids(pids), new ArrayList<>(titles.keySet()));
+        assertEquals("Work 2", titles.get(testCorpus.work2Pid.getId()));
+        assertEquals("Cached Work 1", titles.get(testCorpus.work1Pid.getId()));
+        assertEquals("Collection 1", titles.get(testCorpus.coll1Pid.getId()));
+    }
+
+    @Test
+    public void refreshTitleAfterTimeToLiveTest() throws Exception {
+        titleService.setCacheTimeToLive(1);
+        titleService.setCacheExpiration(60);
+        titleService.init();
+        assertEquals("Work 1", titleService.retrieveTitle(testCorpus.work1Pid));
+
+        index(testCorpus.makeContainerDocument(testCorpus.work1Pid, "Updated Work 1", ResourceType.Work, null,
+                testCorpus.rootPid, testCorpus.unitPid, testCorpus.coll1Pid, testCorpus.folder1Pid));
+        // Still cached until the time to live has passed
+        assertEquals("Work 1", titleService.retrieveTitle(testCorpus.work1Pid));
+
+        Thread.sleep(1100);
+        assertEquals("Updated Work 1", titleService.retrieveTitle(testCorpus.work1Pid));
+    }
+
+    @Test
+    public void expireTitleNotRefreshedTest() throws Exception {
+        titleService.setCacheTimeToLive(1);
+        titleService.setCacheExpiration(2);
+        titleService.init();
+        titleService.storeTitle(testCorpus.work1Pid, "Cached Work 1");
+
+        Thread.sleep(2100);
+        assertNull(titleService.retrieveCachedTitle(testCorpus.work1Pid));
+    }
+
+    @Test
+    public void expirationMustExceedTimeToLiveTest() {
+        titleService.setCacheTimeToLive(60);
+        titleService.setCacheExpiration(60);
+        assertThrows(IllegalArgumentException.class, () -> titleService.init());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void cacheSizeGaugeReportsCurrentInstanceTest() {
+        titleService.setMetricsScope("titleIT");
+        titleService.init();
+        var otherService = new TitleRetrievalService();
+        otherService.setSolrSearchService(solrSearchService);
+        otherService.setMetricsScope("titleIT");
+        otherService.init();
+
+        otherService.retrieveTitle(testCorpus.work1Pid);
+
+        var gauge = (Gauge<Long>) RegistryService.getInstance().getRegistry().getGauges()
+                .get(MetricRegistry.name(TitleRetrievalService.class, "titleIT", "cacheSize"));
+        assertEquals(1L, gauge.getValue());
+    }
+
+    private List<PID> indexWorks(int count) throws Exception {
+        List<PID> pids = new ArrayList<>();
+        List<SolrInputDocument> docs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PID pid = makePid();
+            pids.add(pid);
+            docs.add(testCorpus.makeContainerDocument(pid, "Title " + pid.getId(), ResourceType.Work, null,
+                    testCorpus.rootPid, testCorpus.unitPid, testCorpus.coll1Pid));
+        }
+        index(docs);
+        return pids;
+    }
+
+    private List<String> ids(List<PID> pids) {
+        return pids.stream().map(PID::getId).collect(Collectors.toList());
+    }
+
+    private PID makePid() {
+        return PIDs.get(UUID.randomUUID().toString());
+    }
+}
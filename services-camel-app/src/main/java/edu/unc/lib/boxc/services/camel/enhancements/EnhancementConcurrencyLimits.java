@@ -0,0 +1,44 @@
+package edu.unc.lib.boxc.services.camel.enhancements;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.Body;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Maximum number of each type of enhancement which may run at the same time
+ *
+ * @author bbpennel
+ */
+public class EnhancementConcurrencyLimits {
+    private final Map<String, Integer> limits = new HashMap<>();
+    private final int defaultLimit;
+
+    /**
+     * @param config comma separated list of enhancement name and limit pairs, in the form
+     *      "imageAccessCopy:2,extractFulltext:4"
+     * @param defaultLimit limit for enhancements which are not included in the config
+     */
+    public EnhancementConcurrencyLimits(String config, int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+        if (StringUtils.isBlank(config)) {
+            return;
+        }
+        for (String entry : config.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid enhancement concurrency limit: " + entry);
+            }
+            limits.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    /**
+     * @param enhancement name of the enhancement
+     * @return max number of the enhancement which may run at the same time
+     */
+    public int getLimit(@Body String enhancement) {
+        return limits.getOrDefault(enhancement, defaultLimit);
+    }
+}
@@ -1,12 +1,15 @@
 package edu.unc.lib.boxc.services.camel.enhancements;
 
 import static edu.unc.lib.boxc.model.api.rdf.Fcrepo4Repository.Binary;
+import static edu.unc.lib.boxc.operations.jms.RunEnhancementsMessageHelpers.DEFAULT_ENHANCEMENTS;
 import static edu.unc.lib.boxc.services.camel.util.CdrFcrepoHeaders.CdrBinaryPath;
 import static edu.unc.lib.boxc.services.camel.util.CdrFcrepoHeaders.CdrEnhancementSet;
 import static org.apache.camel.LoggingLevel.DEBUG;
 import static org.apache.camel.LoggingLevel.INFO;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.util.concurrent.ExecutorService;
+
 import org.apache.camel.BeanInject;
 import org.apache.camel.ExchangePattern;
 import org.apache.camel.LoggingLevel;
@@ -37,8 +40,14 @@ public class EnhancementRouter extends RouteBuilder {
     @PropertyInject("cdr.enhancement.processingThreads")
     private Integer enhancementThreads;
 
+    @PropertyInject("cdr.enhancement.typeConcurrency:")
+    private String typeConcurrency;
+
     @Override
     public void configure() throws Exception {
+        // By default each type of enhancement may run on as many binaries at once as there are consumers
+        EnhancementConcurrencyLimits concurrencyLimits =
+                new EnhancementConcurrencyLimits(typeConcurrency, enhancementThreads);
 
         // Queue which interprets fedora messages into enhancement requests
         from("{{cdr.enhancement.stream.camel}}")
@@ -82,7 +91,7 @@ public class EnhancementRouter extends RouteBuilder {
             .log(INFO, log, "Processing queued enhancements ${headers[CdrEnhancementSet]}" +
                 "for ${headers[CamelFcrepoUri]}")
             .multicast()
-            // trigger enhancements sequentially followed by indexing
+            // trigger enhancements, followed by indexing once all of them have completed
             .to("direct:process.enhancements", "direct:solrIndexing");
 
         // Expands enhancement requests into individual services
@@ -90,8 +99,16 @@ public class EnhancementRouter extends RouteBuilder {
             .routeId("AddBinaryEnhancements")
             .startupOrder(106)
             .doTry()
+                // Enhancements of a binary are independent, so run them concurrently
                 .split(simple("${headers[CdrEnhancementSet]}"))
                     .shareUnitOfWork()
+                    .parallelProcessing()
+                    .executorService(createWorkerPool("Enhancements"))
+                    // Limit how many of each type of enhancement run at once across all binaries. The pool has
+                    // a thread for every enhancement of every consumer, so waiting on a limit never holds up
+                    // other types of enhancements
+                    .throttle(method(concurrencyLimits, "getLimit"))
+                        .correlationExpression(body())
                     .log(LoggingLevel.INFO, log, "Calling enhancement direct:process.enhancement.${body}")
                     .toD("direct:process.enhancement.${body}")
                 .end()
@@ -110,4 +127,10 @@ public class EnhancementRouter extends RouteBuilder {
         from("direct:process.enhancement.machineGenDescription")
                 .to("{{cdr.machine.gen.description.stream.camel}}");
     }
+
+    private ExecutorService createWorkerPool(String name) {
+        // Created through camel so that the pool is shut down along with the context
+        return getContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, name, enhancementThreads * DEFAULT_ENHANCEMENTS.size());
+    }
 }
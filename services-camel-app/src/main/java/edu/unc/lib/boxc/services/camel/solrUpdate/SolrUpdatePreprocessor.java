@@ -20,6 +20,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static edu.unc.lib.boxc.model.api.xml.JDOMNamespaceUtil.ATOM_NS;
+import static edu.unc.lib.boxc.model.api.xml.JDOMNamespaceUtil.CDR_MESSAGE_NS;
+import static edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageHelper.TREE_REINDEX_PARAM;
 
 /**
  * Processor which prepares update messages for further processing
@@ -50,6 +52,20 @@ public class SolrUpdatePreprocessor implements Processor {
         if (priority != null) {
             in.setHeader(CdrFcrepoHeaders.CdrSolrIndexingPriority, priority);
         }
+
+        if (isTreeReindex(body)) {
+            in.setHeader(CdrFcrepoHeaders.CdrSolrTreeReindex, true);
+        }
+    }
+
+    private boolean isTreeReindex(Element body) {
+        Element paramsEl = body.getChild("params", CDR_MESSAGE_NS);
+        if (paramsEl == null) {
+            return false;
+        }
+        return paramsEl.getChildren("param", CDR_MESSAGE_NS).stream()
+                .anyMatch(p -> TREE_REINDEX_PARAM.equals(p.getAttributeValue("name"))
+                        && Boolean.parseBoolean(p.getTextTrim()));
     }
 
     /**
@@ -16,6 +16,7 @@ import edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType;
 import edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageSender;
 import edu.unc.lib.boxc.search.solr.config.SolrSettings;
 import edu.unc.lib.boxc.search.solr.services.TitleRetrievalService;
+import edu.unc.lib.boxc.services.camel.util.CacheInvalidatingProcessor;
 import edu.unc.lib.boxc.services.camel.util.MessageUtil;
 import io.dropwizard.metrics5.Timer;
 import org.apache.camel.Exchange;
@@ -40,6 +41,7 @@ import java.util.stream.Collectors;
 import static edu.unc.lib.boxc.common.metrics.TimerFactory.createTimerForClass;
 import static edu.unc.lib.boxc.model.api.xml.JDOMNamespaceUtil.ATOM_NS;
 import static edu.unc.lib.boxc.model.api.xml.JDOMNamespaceUtil.CDR_MESSAGE_NS;
+import static edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageHelper.isTreeReindex;
 import static java.util.stream.Collectors.toMap;
 
 /**
@@ -58,6 +60,7 @@ public class SolrUpdateProcessor implements Processor {
     private SolrClient solrClient;
     private SolrSettings solrSettings;
     private IndexingMessageSender indexingMessageSender;
+    private CacheInvalidatingProcessor cacheInvalidatingProcessor;
     private Map<IndexingActionType, IndexingAction> solrIndexingActionMap;
     private Set<IndexingActionType> NEED_UPDATE_PARENT_WORK = EnumSet.of(
             IndexingActionType.DELETE, IndexingActionType.ADD);
@@ -112,10 +115,19 @@ public class SolrUpdateProcessor implements Processor {
             if (needsUpdateOfChildrenPathInfo(targetObj, actionType)) {
                 previousTitle = titleRetrievalService.retrieveCachedTitle(targetPid);
             }
+            // Only the target of the message is invalidated before routing, so invalidate each member of a set
+            if (cacheInvalidatingProcessor != null && updateRequest instanceof ChildSetRequest) {
+                var childPids = ((ChildSetRequest) updateRequest).getChildren();
+                if (isTreeReindex(params)) {
+                    childPids.forEach(cacheInvalidatingProcessor::invalidateForTreeReindex);
+                } else {
+                    childPids.forEach(cacheInvalidatingProcessor::invalidate);
+                }
+            }
             log.info("Performing action {} on object {}", action, pid);
             indexingAction.performAction(updateRequest);
 
-            triggerFollowupActions(targetObj, actionType, previousTitle);
+            triggerFollowupActions(targetObj, actionType, previousTitle, !children.isEmpty());
         }
     }
 
@@ -126,10 +138,17 @@ public class SolrUpdateProcessor implements Processor {
     }
 
     private void triggerFollowupActions(RepositoryObject targetObj, IndexingActionType actionType,
-                                        String previousTitle) {
+                                        String previousTitle, boolean isChildSet) {
         // Trigger update of parent work obj for files if the action requires it
         if (NEED_UPDATE_PARENT_WORK.contains(actionType)) {
-            if (targetObj instanceof FileObject) {
+            if (isChildSet) {
+                // Set of children indexed together, so the work only needs to be updated once for all its files
+                if (targetObj instanceof WorkObject) {
+                    log.debug("Requesting indexing of work {} after indexing a set of its files",
+                            targetObj.getPid().getId());
+                    updateWorkSender.sendMessage(targetObj.getPid().getQualifiedId());
+                }
+            } else if (targetObj instanceof FileObject) {
                 var parent = targetObj.getParent();
                 if (parent instanceof WorkObject) {
                     log.debug("Requesting indexing of work {} containing file {}",
@@ -210,4 +229,8 @@ public class SolrUpdateProcessor implements Processor {
     public void setSolrSettings(SolrSettings solrSettings) {
         this.solrSettings = solrSettings;
     }
+
+    public void setCacheInvalidatingProcessor(CacheInvalidatingProcessor cacheInvalidatingProcessor) {
+        this.cacheInvalidatingProcessor = cacheInvalidatingProcessor;
+    }
 }
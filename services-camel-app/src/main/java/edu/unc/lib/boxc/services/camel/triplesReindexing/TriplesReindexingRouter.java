@@ -25,6 +25,9 @@ public class TriplesReindexingRouter extends RouteBuilder {
     @BeanInject("indexingMessageProcessor")
     private IndexingMessageProcessor indexingMessageProcessor;
 
+    @BeanInject("triplestoreReindexTraverser")
+    private TriplestoreReindexTraverser triplestoreReindexTraverser;
+
     private String fcrepoBaseUrl;
     private String reindexingStream;
     private String triplestoreReindexStream;
@@ -32,6 +35,7 @@ public class TriplesReindexingRouter extends RouteBuilder {
     private long errorRetryDelay;
     private int errorMaxRedeliveries;
     private int errorBackOffMultiplier;
+    private boolean triplestoreTraversal;
 
     @Override
     public void configure() throws Exception {
@@ -46,7 +50,13 @@ public class TriplesReindexingRouter extends RouteBuilder {
             .routeId("TripleIndexingRoute")
             .bean(indexingMessageProcessor)
             .log(INFO, log, "Received triple reindexing update message: ${headers[CamelFcrepoUri]}")
-            .to(ExchangePattern.InOnly, reindexingStream + "?disableTimeToLive=true");
+            .choice()
+                // List the resources to reindex from the triplestore instead of traversing fedora
+                .when(constant(triplestoreTraversal))
+                    .bean(triplestoreReindexTraverser)
+                .otherwise()
+                    .to(ExchangePattern.InOnly, reindexingStream + "?disableTimeToLive=true")
+            .end();
 
         // Route which recursively steps through fedora objects and submits them for indexing
         from(reindexingStream + "?asyncConsumer=true")
@@ -93,10 +103,19 @@ public class TriplesReindexingRouter extends RouteBuilder {
         this.errorBackOffMultiplier = errorBackOffMultiplier;
     }
 
+    @PropertyInject("triplesReindex.triplestoreTraversal:false")
+    public void setTriplestoreTraversal(boolean triplestoreTraversal) {
+        this.triplestoreTraversal = triplestoreTraversal;
+    }
+
     public void setIndexingMessageProcessor(IndexingMessageProcessor indexingMessageProcessor) {
         this.indexingMessageProcessor = indexingMessageProcessor;
     }
 
+    public void setTriplestoreReindexTraverser(TriplestoreReindexTraverser triplestoreReindexTraverser) {
+        this.triplestoreReindexTraverser = triplestoreReindexTraverser;
+    }
+
     @PropertyInject("fcrepo.baseUrl")
     public void setFcrepoBaseUrl(String fcrepoBaseUrl) {
         this.fcrepoBaseUrl = fcrepoBaseUrl;
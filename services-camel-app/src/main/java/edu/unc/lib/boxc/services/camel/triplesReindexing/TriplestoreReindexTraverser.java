@@ -0,0 +1,297 @@
+package edu.unc.lib.boxc.services.camel.triplesReindexing;
+
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Resource;
+import org.slf4j.Logger;
+
+import edu.unc.lib.boxc.model.api.exceptions.RepositoryException;
+import edu.unc.lib.boxc.model.api.rdf.Cdr;
+import edu.unc.lib.boxc.model.api.rdf.PcdmModels;
+import edu.unc.lib.boxc.model.api.sparql.SparqlQueryService;
+
+/**
+ * Reindexes the triples of a resource and all of the resources beneath it, using the triplestore
+ * to list the descendants rather than retrieving the containment of each resource from fedora.
+ *
+ * Descendants are found breadth first by following the structural relations which are indexed in the
+ * triplestore: pcdm:memberOf from children to their parents, and pcdm:hasFile, cdr:hasMods and cdr:hasEvents
+ * from objects to their binaries. Each lookup is bound to a batch of parent URIs, and the children of a
+ * batch are listed and indexed in pages by a pool of workers. Plain ldp containers which are not the
+ * target of one of these relations are not reindexed. Only resources which are already present in the
+ * triplestore are found, so this traversal is intended for refreshing an existing triplestore rather than
+ * populating an empty one.
+ *
+ * If a checkpoint directory is configured, the parents which have not yet been expanded are recorded after
+ * each batch so that an interrupted traversal resumes from that point when the request is received again.
+ * Resources which could not be reindexed are appended to a failure list alongside the checkpoint.
+ *
+ * @author bbpennel
+ */
+public class TriplestoreReindexTraverser implements Processor {
+    private static final Logger log = getLogger(TriplestoreReindexTraverser.class);
+    private static final String FAILURES_SUFFIX = ".failed";
+
+    private static final String CHILDREN_QUERY =
+            "select distinct ?s"
+            + " where {"
+                + " values ?parent { %1$s }"
+                + " { ?s <%2$s> ?parent }"
+                + " union { ?parent <%3$s> ?s }"
+                + " union { ?parent <%4$s> ?s }"
+                + " union { ?parent <%5$s> ?s }"
+                + " filter (str(?s) > \"%6$s\") }"
+            + " order by str(?s)"
+            + " limit %7$d";
+
+    private SparqlQueryService sparqlQueryService;
+    private ExecutorService executorService;
+    private ProducerTemplate producerTemplate;
+    private String indexingEndpoint = TriplestoreRouter.INDEX_TRIPLESTORE_ROUTE;
+    private Path checkpointDir;
+    private int pageSize = 5000;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        String rootUri = exchange.getIn().getHeader(FCREPO_URI, String.class);
+        if (producerTemplate == null) {
+            producerTemplate = exchange.getContext().createProducerTemplate();
+        }
+
+        Deque<String> pending = readCheckpoint(rootUri);
+        long failures = 0;
+        if (pending.isEmpty()) {
+            clearFailures(rootUri);
+            failures += indexPage(rootUri, Collections.singletonList(rootUri));
+            pending.add(rootUri);
+        } else {
+            log.info("Resuming triples reindexing of {} with {} parents remaining", rootUri, pending.size());
+        }
+
+        long count = 0;
+        while (!pending.isEmpty()) {
+            List<String> parents = new ArrayList<>(pageSize);
+            for (Iterator<String> it = pending.iterator(); it.hasNext() && parents.size() < pageSize; ) {
+                parents.add(it.next());
+            }
+
+            List<String> children = new ArrayList<>();
+            String lastUri = "";
+            while (true) {
+                List<String> page = listPage(parents, lastUri);
+                if (page.isEmpty()) {
+                    break;
+                }
+                failures += indexPage(rootUri, page);
+                children.addAll(page);
+                count += page.size();
+                lastUri = page.get(page.size() - 1);
+                log.info("Submitted {} resources under {} for triples reindexing", count, rootUri);
+            }
+
+            // Only advance the checkpoint once all children of the batch have been indexed
+            parents.forEach(p -> pending.removeFirst());
+            pending.addAll(children);
+            writeCheckpoint(rootUri, pending);
+        }
+
+        clearCheckpoint(rootUri);
+        if (failures > 0) {
+            log.error("Finished triples reindexing of {} resources under {}, {} failed and are listed in {}",
+                    count, rootUri, failures, checkpointDir == null ? "the log" : getFailuresPath(rootUri));
+        } else {
+            log.info("Finished triples reindexing of {} resources under {}", count, rootUri);
+        }
+    }
+
+    private List<String> listPage(List<String> parents, String lastUri) {
+        String parentValues = parents.stream().map(p -> "<" + p + ">").collect(Collectors.joining(" "));
+        String queryString = String.format(CHILDREN_QUERY, parentValues, PcdmModels.memberOf.getURI(),
+                PcdmModels.hasFile.getURI(), Cdr.hasMods.getURI(), Cdr.hasEvents.getURI(),
+                escape(lastUri), pageSize);
+        log.debug("Performing reindex page query:\n{}", queryString);
+
+        List<String> uris = new ArrayList<>(pageSize);
+        try (QueryExecution qexec = sparqlQueryService.executeQuery(queryString)) {
+            ResultSet results = qexec.execSelect();
+            while (results.hasNext()) {
+                QuerySolution soln = results.nextSolution();
+                Resource subject = soln.getResource("s");
+                if (subject != null && subject.isURIResource()) {
+                    uris.add(subject.getURI());
+                }
+            }
+        }
+        return uris;
+    }
+
+    /**
+     * Index each resource in the page with the worker pool, waiting for all of them to complete
+     *
+     * @return number of resources which failed to index
+     */
+    private int indexPage(String rootUri, List<String> page) throws InterruptedException {
+        List<Future<?>> futures = new ArrayList<>(page.size());
+        for (String uri : page) {
+            futures.add(executorService.submit(() -> {
+                producerTemplate.sendBodyAndHeader(indexingEndpoint, null, FCREPO_URI, uri);
+            }));
+        }
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (ExecutionException e) {
+                log.error("Failed to reindex triples for {}", page.get(i), e.getCause());
+                failed.add(page.get(i));
+            }
+        }
+        recordFailures(rootUri, failed);
+        return failed.size();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private Path getCheckpointPath(String rootUri) {
+        String name = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(rootUri.getBytes(StandardCharsets.UTF_8));
+        return checkpointDir.resolve(name);
+    }
+
+    private Path getFailuresPath(String rootUri) {
+        Path path = getCheckpointPath(rootUri);
+        return path.resolveSibling(path.getFileName() + FAILURES_SUFFIX);
+    }
+
+    private Deque<String> readCheckpoint(String rootUri) {
+        Deque<String> pending = new ArrayDeque<>();
+        if (checkpointDir == null) {
+            return pending;
+        }
+        Path path = getCheckpointPath(rootUri);
+        try {
+            if (Files.exists(path)) {
+                Files.readAllLines(path).stream().filter(StringUtils::isNotBlank).forEach(pending::add);
+            }
+            return pending;
+        } catch (IOException e) {
+            throw new RepositoryException("Unable to read reindexing checkpoint " + path, e);
+        }
+    }
+
+    private void writeCheckpoint(String rootUri, Collection<String> pending) {
+        if (checkpointDir == null) {
+            return;
+        }
+        Path path = getCheckpointPath(rootUri);
+        try {
+            Files.createDirectories(checkpointDir);
+            Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(tmpPath, pending);
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RepositoryException("Unable to write reindexing checkpoint " + path, e);
+        }
+    }
+
+    private void clearCheckpoint(String rootUri) {
+        if (checkpointDir == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(getCheckpointPath(rootUri));
+        } catch (IOException e) {
+            log.warn("Unable to remove reindexing checkpoint for {}", rootUri, e);
+        }
+    }
+
+    private void recordFailures(String rootUri, List<String> failed) {
+        if (checkpointDir == null || failed.isEmpty()) {
+            return;
+        }
+        Path path = getFailuresPath(rootUri);
+        try {
+            Files.createDirectories(checkpointDir);
+            Files.write(path, failed, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new RepositoryException("Unable to record reindexing failures in " + path, e);
+        }
+    }
+
+    private void clearFailures(String rootUri) {
+        if (checkpointDir == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(getFailuresPath(rootUri));
+        } catch (IOException e) {
+            throw new RepositoryException("Unable to clear reindexing failures for " + rootUri, e);
+        }
+    }
+
+    public void setSparqlQueryService(SparqlQueryService sparqlQueryService) {
+        this.sparqlQueryService = sparqlQueryService;
+    }
+
+    /**
+     * @param executorService pool of workers which index the resources in each page
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public void setProducerTemplate(ProducerTemplate producerTemplate) {
+        this.producerTemplate = producerTemplate;
+    }
+
+    /**
+     * @param indexingEndpoint endpoint which each resource is sent to for indexing
+     */
+    public void setIndexingEndpoint(String indexingEndpoint) {
+        this.indexingEndpoint = indexingEndpoint;
+    }
+
+    /**
+     * @param checkpointDir directory where traversal progress is recorded. If blank, progress is not recorded.
+     */
+    public void setCheckpointDir(String checkpointDir) {
+        this.checkpointDir = StringUtils.isBlank(checkpointDir) ? null : Paths.get(checkpointDir);
+    }
+
+    /**
+     * @param pageSize number of parents to look up, and of resources to list, from the triplestore at a time
+     */
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+}
@@ -34,7 +34,7 @@ public class TriplestoreRouter extends RouteBuilder {
     private static final String DELETE = "https://www.w3.org/ns/activitystreams#Delete";
     private static final String UPDATE_TRIPLESTORE_ROUTE = "direct:update.triplestore";
     private static final String DELETE_TRIPLESTORE_ROUTE = "direct:delete.triplestore";
-    private static final String INDEX_TRIPLESTORE_ROUTE = "direct:index.triplestore";
+    static final String INDEX_TRIPLESTORE_ROUTE = "direct:index.triplestore";
 
     /**
      * Configure the message route workflow.
@@ -1,5 +1,6 @@
 package edu.unc.lib.boxc.services.camel.util;
 
+import edu.unc.lib.boxc.auth.fcrepo.services.InheritedAclFactory;
 import edu.unc.lib.boxc.auth.fcrepo.services.ObjectAclFactory;
 import edu.unc.lib.boxc.indexing.solr.utils.MemberOrderService;
 import edu.unc.lib.boxc.model.api.DatastreamType;
@@ -8,6 +9,7 @@ import edu.unc.lib.boxc.model.api.ids.PIDConstants;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObjectLoader;
 import edu.unc.lib.boxc.model.api.services.ContentPathFactory;
 import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import edu.unc.lib.boxc.operations.jms.cache.CacheInvalidationMessageSender;
 import edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType;
 import edu.unc.lib.boxc.search.solr.services.TitleRetrievalService;
 import org.apache.camel.Exchange;
@@ -18,7 +20,8 @@ import org.slf4j.Logger;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
- * Processor which invalidates cache entries for updated objects
+ * Processor which invalidates cache entries for updated objects. If an invalidation message sender is provided,
+ * the invalidation is also published so that other applications can invalidate their own cache entries.
  *
  * @author bbpennel
  */
@@ -26,9 +29,11 @@ public class CacheInvalidatingProcessor implements Processor {
     private static final Logger log = getLogger(CacheInvalidatingProcessor.class);
     private RepositoryObjectLoader repoObjLoader;
     private ObjectAclFactory objectAclFactory;
+    private InheritedAclFactory inheritedAclFactory;
     private ContentPathFactory contentPathFactory;
     private TitleRetrievalService titleRetrievalService;
     private MemberOrderService memberOrderService;
+    private CacheInvalidationMessageSender cacheInvalidationMessageSender;
 
     @Override
     public void process(Exchange exchange) throws Exception {
@@ -49,6 +54,33 @@ public class CacheInvalidatingProcessor implements Processor {
             log.debug("Failed to parse fcrepo id {} as PID while filtering: {}", fcrepoUri, e.getMessage());
             return;
         }
+        if (Boolean.TRUE.equals(in.getHeader(CdrFcrepoHeaders.CdrSolrTreeReindex, Boolean.class))) {
+            invalidateForTreeReindex(pid);
+        } else {
+            invalidate(pid);
+        }
+    }
+
+    /**
+     * Invalidate cache entries for an object being reindexed as part of a tree. The object itself has not
+     * changed, and the change which triggered the tree reindex already invalidated the state inherited from
+     * its ancestors, so only the object is reloaded. Path, acl and title entries are retained so that
+     * entries prefetched for the tree are reused, and the invalidation is not published.
+     * @param pid
+     */
+    public void invalidateForTreeReindex(PID pid) {
+        if (pid == null || !PIDConstants.CONTENT_QUALIFIER.equals(pid.getQualifier())) {
+            return;
+        }
+        log.debug("Invalidating repository object for tree reindex of {}", pid);
+        repoObjLoader.invalidate(pid);
+    }
+
+    /**
+     * Invalidate cache entries for the specified object, if it is a content object
+     * @param pid
+     */
+    public void invalidate(PID pid) {
         // Filter out non-content objects
         if (pid == null || !PIDConstants.CONTENT_QUALIFIER.equals(pid.getQualifier())) {
             return;
@@ -56,11 +88,17 @@ public class CacheInvalidatingProcessor implements Processor {
         log.debug("Invalidating caches for {}", pid);
         repoObjLoader.invalidate(pid);
         objectAclFactory.invalidate(pid);
+        if (inheritedAclFactory != null) {
+            inheritedAclFactory.invalidate(pid);
+        }
         contentPathFactory.invalidate(pid);
         memberOrderService.invalidate(pid);
         if (pid.getComponentPath() == null || pid.getComponentPath().contains(DatastreamType.MD_DESCRIPTIVE.getId())) {
             titleRetrievalService.invalidate(pid);
         }
+        if (cacheInvalidationMessageSender != null) {
+            cacheInvalidationMessageSender.sendInvalidation(pid);
+        }
     }
 
     public void setRepositoryObjectLoader(RepositoryObjectLoader repoObjLoader) {
@@ -71,6 +109,10 @@ public class CacheInvalidatingProcessor implements Processor {
         this.objectAclFactory = objectAclFactory;
     }
 
+    public void setInheritedAclFactory(InheritedAclFactory inheritedAclFactory) {
+        this.inheritedAclFactory = inheritedAclFactory;
+    }
+
     public void setContentPathFactory(ContentPathFactory contentPathFactory) {
         this.contentPathFactory = contentPathFactory;
     }
@@ -82,4 +124,8 @@ public class CacheInvalidatingProcessor implements Processor {
     public void setMemberOrderService(MemberOrderService memberOrderService) {
         this.memberOrderService = memberOrderService;
     }
+
+    public void setCacheInvalidationMessageSender(CacheInvalidationMessageSender cacheInvalidationMessageSender) {
+        this.cacheInvalidationMessageSender = cacheInvalidationMessageSender;
+    }
 }
@@ -41,4 +41,7 @@ public abstract class CdrFcrepoHeaders {
     public static final String CdrSolrUpdateAction = "CdrSolrUpdateAction";
 
     public static final String CdrSolrIndexingPriority = "CdrSolrIndexingPriority";
+
+    // Flag indicating that a solr update was queued by a tree reindex rather than by a change to the object
+    public static final String CdrSolrTreeReindex = "CdrSolrTreeReindex";
 }
@@ -0,0 +1,34 @@
+package edu.unc.lib.boxc.services.camel.enhancements;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bbpennel
+ */
+public class EnhancementConcurrencyLimitsTest {
+
+    @Test
+    public void configuredLimitsTest() {
+        var limits = new EnhancementConcurrencyLimits("imageAccessCopy:2, extractFulltext:3", 4);
+
+        assertEquals(2, limits.getLimit("imageAccessCopy"));
+        assertEquals(3, limits.getLimit("extractFulltext"));
+        assertEquals(4, limits.getLimit("audioAccessCopy"));
+    }
+
+    @Test
+    public void blankConfigTest() {
+        var limits = new EnhancementConcurrencyLimits("", 4);
+
+        assertEquals(4, limits.getLimit("imageAccessCopy"));
+    }
+
+    @Test
+    public void invalidConfigTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EnhancementConcurrencyLimits("imageAccessCopy", 4));
+    }
+}
@@ -0,0 +1,74 @@
+package edu.unc.lib.boxc.services.camel.enhancements;
+
+import org.apache.camel.Produce;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.AdviceWith;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.test.spring.junit5.CamelSpringTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author bbpennel
+ */
+public class EnhancementRouterTest extends CamelSpringTestSupport {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Produce("direct:start")
+    protected ProducerTemplate template;
+
+    @Override
+    protected AbstractApplicationContext createApplicationContext() {
+        return new ClassPathXmlApplicationContext("/service-context.xml", "/enhancement-router-context.xml");
+    }
+
+    @Test
+    public void enhancementsRunConcurrentlyThenIndexOnceTest() throws Exception {
+        // Each enhancement waits for the other to start, so they only complete if run at the same time
+        var bothStarted = new CyclicBarrier(2);
+        var completed = new AtomicInteger();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:process.enhancement.imageAccessCopy")
+                        .process(e -> {
+                            bothStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                            completed.incrementAndGet();
+                        });
+                from("direct:process.enhancement.extractFulltext")
+                        .process(e -> {
+                            bothStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                            completed.incrementAndGet();
+                        });
+            }
+        });
+        createContext("PerformEnhancementsQueue");
+
+        List<Integer> completedWhenIndexed = new CopyOnWriteArrayList<>();
+        var solrEndpoint = getMockEndpoint("mock:direct:solrIndexing");
+        solrEndpoint.expectedMessageCount(1);
+        solrEndpoint.whenAnyExchangeReceived(e -> completedWhenIndexed.add(completed.get()));
+
+        template.sendBodyAndHeader("", "CdrEnhancementSet", "imageAccessCopy,extractFulltext");
+
+        solrEndpoint.assertIsSatisfied();
+        assertEquals(List.of(2), completedWhenIndexed);
+    }
+
+    private void createContext(String routeName) throws Exception {
+        AdviceWith.adviceWith(context, routeName, a -> {
+            a.replaceFromWith("direct:start");
+            a.mockEndpointsAndSkip("direct:solrIndexing");
+        });
+        context.start();
+    }
+}
@@ -5,6 +5,7 @@ import static edu.unc.lib.boxc.model.api.xml.JDOMNamespaceUtil.CDR_MESSAGE_NS;
 import static edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType.ADD;
 import static edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType.DELETE;
 import static edu.unc.lib.boxc.operations.jms.indexing.IndexingActionType.UPDATE_DESCRIPTION;
+import static edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageHelper.TREE_REINDEX_PARAM;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,11 +25,13 @@ import java.util.UUID;
 
 import edu.unc.lib.boxc.model.api.objects.CollectionObject;
 import edu.unc.lib.boxc.model.api.objects.FileObject;
+import edu.unc.lib.boxc.model.api.objects.FolderObject;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObjectLoader;
 import edu.unc.lib.boxc.model.api.objects.Tombstone;
 import edu.unc.lib.boxc.model.api.objects.WorkObject;
 import edu.unc.lib.boxc.operations.jms.MessageSender;
 import edu.unc.lib.boxc.services.camel.TestHelper;
+import edu.unc.lib.boxc.services.camel.util.CacheInvalidatingProcessor;
 import edu.unc.lib.boxc.operations.jms.indexing.IndexingMessageSender;
 import edu.unc.lib.boxc.search.solr.services.TitleRetrievalService;
 import org.apache.camel.Exchange;
@@ -84,6 +87,8 @@ public class SolrUpdateProcessorTest {
     private IndexingMessageSender indexingMessageSender;
     @Mock
     private SolrClient solrClient;
+    @Mock
+    private CacheInvalidatingProcessor cacheInvalidatingProcessor;
 
     @Captor
     private ArgumentCaptor<SolrUpdateRequest> requestCaptor;
@@ -105,6 +110,7 @@ public class SolrUpdateProcessorTest {
         processor.setTitleRetrievalService(titleRetrievalService);
         processor.setIndexingMessageSender(indexingMessageSender);
         processor.setSolrClient(solrClient);
+        processor.setCacheInvalidatingProcessor(cacheInvalidatingProcessor);
 
         bodyDoc = new Document();
         when(exchange.getIn()).thenReturn(msg);
@@ -168,6 +174,46 @@ public class SolrUpdateProcessorTest {
         verify(mockAction).performAction(any(SolrUpdateRequest.class));
     }
 
+    @Test
+    public void testWorkChildSetMessageUpdatesWorkOnce() throws Exception {
+        populateEntry(IndexingActionType.ADD);
+        var children = addChildren(3);
+        var targetWork = mock(WorkObject.class);
+        when(targetWork.getPid()).thenReturn(targetPid);
+        when(repositoryObjectLoader.getRepositoryObject(targetPid)).thenReturn(targetWork);
+
+        processor.process(exchange);
+
+        verify(messageSender).sendMessage(targetPid.getQualifiedId());
+        verify(mockAction).performAction(any(ChildSetRequest.class));
+        // Each member of the set has its cached data invalidated before indexing
+        for (PID child : children) {
+            verify(cacheInvalidatingProcessor).invalidate(child);
+        }
+    }
+
+    @Test
+    public void testTreeReindexChildSetOnlyInvalidatesObjects() throws Exception {
+        populateEntry(IndexingActionType.ADD);
+        var children = addChildren(3);
+        bodyDoc.getRootElement()
+                .addContent(new Element("params", CDR_MESSAGE_NS)
+                        .addContent(new Element("param", CDR_MESSAGE_NS)
+                                .setAttribute("name", TREE_REINDEX_PARAM)
+                                .setText("true")));
+        var targetFolder = mock(FolderObject.class);
+        when(targetFolder.getPid()).thenReturn(targetPid);
+        when(repositoryObjectLoader.getRepositoryObject(targetPid)).thenReturn(targetFolder);
+
+        processor.process(exchange);
+
+        verify(mockAction).performAction(any(ChildSetRequest.class));
+        for (PID child : children) {
+            verify(cacheInvalidatingProcessor).invalidateForTreeReindex(child);
+        }
+        verify(cacheInvalidatingProcessor, never()).invalidate(any(PID.class));
+    }
+
     @Test
     public void testFileMessageNotNeedWorkUpdate() throws Exception {
         populateEntry(IndexingActionType.UPDATE_ACCESS);
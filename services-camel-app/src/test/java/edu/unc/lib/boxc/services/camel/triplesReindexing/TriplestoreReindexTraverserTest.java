@@ -0,0 +1,161 @@
+package edu.unc.lib.boxc.services.camel.triplesReindexing;
+
+import static org.fcrepo.camel.FcrepoHeaders.FCREPO_URI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.ProducerTemplate;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.vocabulary.DCTerms;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import edu.unc.lib.boxc.model.api.rdf.Cdr;
+import edu.unc.lib.boxc.model.api.rdf.PcdmModels;
+import edu.unc.lib.boxc.model.fcrepo.sparql.JenaSparqlQueryServiceImpl;
+
+/**
+ * @author bbpennel
+ */
+public class TriplestoreReindexTraverserTest {
+    private static final String ENDPOINT = "direct:index";
+    private static final String ROOT_URI = "http://localhost/rest/content/ab/cd/ef/gh/abcdefgh";
+    private static final String CHILD1_URI = "http://localhost/rest/content/11/11/11/11/11111111";
+    private static final String CHILD2_URI = "http://localhost/rest/content/22/22/22/22/22222222";
+    private static final String GRANDCHILD_URI = "http://localhost/rest/content/33/33/33/33/33333333";
+    private static final String OTHER_URI = "http://localhost/rest/content/zz/other";
+
+    private AutoCloseable closeable;
+
+    @Mock
+    private Exchange exchange;
+    @Mock
+    private Message message;
+    @Mock
+    private ProducerTemplate producerTemplate;
+    @TempDir
+    public Path tmpDir;
+
+    private Model model;
+    private ExecutorService executorService;
+    private TriplestoreReindexTraverser traverser;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        closeable = openMocks(this);
+
+        model = ModelFactory.createDefaultModel();
+        addResource(ROOT_URI);
+        addRelation(CHILD1_URI, PcdmModels.memberOf, ROOT_URI);
+        addRelation(CHILD2_URI, PcdmModels.memberOf, ROOT_URI);
+        addRelation(GRANDCHILD_URI, PcdmModels.memberOf, CHILD1_URI);
+        addRelation(GRANDCHILD_URI, PcdmModels.hasFile, GRANDCHILD_URI + "/datafs/original_file");
+        addRelation(ROOT_URI, Cdr.hasEvents, ROOT_URI + "/md/event_log");
+        addRelation(CHILD2_URI, Cdr.hasMods, CHILD2_URI + "/md/descriptive");
+        addRelation(OTHER_URI, PcdmModels.memberOf, "http://localhost/rest/content/zz/parent");
+
+        executorService = Executors.newFixedThreadPool(2);
+
+        traverser = new TriplestoreReindexTraverser();
+        traverser.setSparqlQueryService(new JenaSparqlQueryServiceImpl(model));
+        traverser.setExecutorService(executorService);
+        traverser.setProducerTemplate(producerTemplate);
+        traverser.setIndexingEndpoint(ENDPOINT);
+        traverser.setCheckpointDir(tmpDir.toString());
+        traverser.setPageSize(2);
+
+        when(exchange.getIn()).thenReturn(message);
+        when(message.getHeader(FCREPO_URI, String.class)).thenReturn(ROOT_URI);
+    }
+
+    @AfterEach
+    void closeService() throws Exception {
+        executorService.shutdownNow();
+        closeable.close();
+    }
+
+    @Test
+    public void testTraverseAllDescendants() throws Exception {
+        traverser.process(exchange);
+
+        verifyIndexed(ROOT_URI);
+        verifyIndexed(ROOT_URI + "/md/event_log");
+        verifyIndexed(CHILD1_URI);
+        verifyIndexed(CHILD2_URI);
+        verifyIndexed(CHILD2_URI + "/md/descriptive");
+        verifyIndexed(GRANDCHILD_URI);
+        verifyIndexed(GRANDCHILD_URI + "/datafs/original_file");
+        verify(producerTemplate, times(7)).sendBodyAndHeader(eq(ENDPOINT), isNull(), eq(FCREPO_URI), any());
+        // Traversal completed, so no checkpoint remains
+        assertEquals(0, Files.list(tmpDir).count());
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        Files.write(tmpDir.resolve(getCheckpointName()), List.of(CHILD1_URI));
+
+        traverser.process(exchange);
+
+        verify(producerTemplate, never()).sendBodyAndHeader(ENDPOINT, null, FCREPO_URI, ROOT_URI);
+        verify(producerTemplate, never()).sendBodyAndHeader(ENDPOINT, null, FCREPO_URI, CHILD2_URI);
+        verifyIndexed(GRANDCHILD_URI);
+        verifyIndexed(GRANDCHILD_URI + "/datafs/original_file");
+        verify(producerTemplate, times(2)).sendBodyAndHeader(eq(ENDPOINT), isNull(), eq(FCREPO_URI), any());
+        assertEquals(0, Files.list(tmpDir).count());
+    }
+
+    @Test
+    public void testFailuresRecorded() throws Exception {
+        doThrow(new RuntimeException("Boom")).when(producerTemplate)
+                .sendBodyAndHeader(ENDPOINT, null, FCREPO_URI, CHILD1_URI);
+
+        traverser.process(exchange);
+
+        // Descendants of the failed resource are still reindexed
+        verifyIndexed(GRANDCHILD_URI);
+        verify(producerTemplate, times(7)).sendBodyAndHeader(eq(ENDPOINT), isNull(), eq(FCREPO_URI), any());
+        assertFalse(Files.exists(tmpDir.resolve(getCheckpointName())));
+        assertEquals(List.of(CHILD1_URI), Files.readAllLines(tmpDir.resolve(getCheckpointName() + ".failed")));
+    }
+
+    private void verifyIndexed(String uri) {
+        verify(producerTemplate).sendBodyAndHeader(ENDPOINT, null, FCREPO_URI, uri);
+    }
+
+    private String getCheckpointName() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(ROOT_URI.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void addResource(String uri) {
+        model.getResource(uri).addProperty(DCTerms.title, "title");
+    }
+
+    private void addRelation(String subject, Property property, String object) {
+        model.getResource(subject).addProperty(property, model.getResource(object));
+    }
+}
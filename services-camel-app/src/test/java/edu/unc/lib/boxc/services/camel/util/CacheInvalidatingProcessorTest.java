@@ -5,23 +5,36 @@ import edu.unc.lib.boxc.fcrepo.FcrepoJmsConstants;
 import edu.unc.lib.boxc.indexing.solr.utils.MemberOrderService;
 import edu.unc.lib.boxc.model.api.ids.PID;
 import edu.unc.lib.boxc.model.api.ids.PIDConstants;
+import edu.unc.lib.boxc.model.api.rdf.PcdmModels;
 import edu.unc.lib.boxc.model.api.services.ContentPathFactory;
 import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import edu.unc.lib.boxc.model.fcrepo.ids.RepositoryPaths;
+import edu.unc.lib.boxc.model.fcrepo.services.ContentPathFactoryImpl;
 import edu.unc.lib.boxc.model.fcrepo.services.RepositoryObjectLoaderImpl;
+import edu.unc.lib.boxc.model.fcrepo.sparql.JenaSparqlQueryServiceImpl;
 import edu.unc.lib.boxc.model.fcrepo.test.TestHelper;
+import edu.unc.lib.boxc.operations.jms.cache.CacheInvalidationMessageSender;
 import edu.unc.lib.boxc.search.solr.services.TitleRetrievalService;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.fcrepo.client.FcrepoClient;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -45,6 +58,8 @@ public class CacheInvalidatingProcessorTest {
     private TitleRetrievalService titleRetrievalService;
     @Mock
     private MemberOrderService memberOrderService;
+    @Mock
+    private CacheInvalidationMessageSender cacheInvalidationMessageSender;
 
     private CacheInvalidatingProcessor processor;
 
@@ -58,6 +73,7 @@ public class CacheInvalidatingProcessorTest {
         processor.setContentPathFactory(contentPathFactory);
         processor.setTitleRetrievalService(titleRetrievalService);
         processor.setMemberOrderService(memberOrderService);
+        processor.setCacheInvalidationMessageSender(cacheInvalidationMessageSender);
     }
 
     @AfterEach
@@ -77,6 +93,53 @@ public class CacheInvalidatingProcessorTest {
         verify(objectAclFactory).invalidate(pid);
         verify(contentPathFactory).invalidate(pid);
         verify(memberOrderService).invalidate(pid);
+        verify(cacheInvalidationMessageSender).sendInvalidation(pid);
+    }
+
+    @Test
+    public void treeReindexOnlyInvalidatesObjectTest() throws Exception {
+        String objPath = PIDConstants.CONTENT_QUALIFIER + PID_PATH;
+        Exchange exchange = mockExchange(objPath);
+        when(exchange.getIn().getHeader(CdrFcrepoHeaders.CdrSolrTreeReindex, Boolean.class)).thenReturn(true);
+
+        processor.process(exchange);
+
+        PID pid = PIDs.get(FEDORA_BASE + objPath);
+        verify(repoObjLoader).invalidate(pid);
+        // Paths prefetched for the tree and inherited data are retained
+        verify(objectAclFactory, never()).invalidate(any(PID.class));
+        verify(contentPathFactory, never()).invalidate(any(PID.class));
+        verify(titleRetrievalService, never()).invalidate(any(PID.class));
+        verify(cacheInvalidationMessageSender, never()).sendInvalidation(any(PID.class));
+    }
+
+    @Test
+    public void treeReindexRetainsPrefetchedPathsTest() throws Exception {
+        FcrepoClient fcrepoClient = mock(FcrepoClient.class);
+        Model model = ModelFactory.createDefaultModel();
+        PID rootPid = RepositoryPaths.getContentRootPid();
+        PID collPid = PIDs.get(UUID.randomUUID().toString());
+        PID workPid = PIDs.get(UUID.randomUUID().toString());
+        model.getResource(collPid.getRepositoryPath())
+                .addProperty(PcdmModels.memberOf, model.getResource(rootPid.getRepositoryPath()));
+        model.getResource(workPid.getRepositoryPath())
+                .addProperty(PcdmModels.memberOf, model.getResource(collPid.getRepositoryPath()));
+        var pathFactory = new ContentPathFactoryImpl();
+        pathFactory.setCacheMaxSize(100);
+        pathFactory.setCacheTimeToLive(60000);
+        pathFactory.setFcrepoClient(fcrepoClient);
+        pathFactory.setSparqlQueryService(new JenaSparqlQueryServiceImpl(model));
+        pathFactory.init();
+        processor.setContentPathFactory(pathFactory);
+
+        pathFactory.prefetchSubtree(rootPid);
+        Exchange exchange = mockExchange(workPid.getRepositoryPath().substring(FEDORA_BASE.length()));
+        when(exchange.getIn().getHeader(CdrFcrepoHeaders.CdrSolrTreeReindex, Boolean.class)).thenReturn(true);
+        processor.process(exchange);
+
+        assertEquals(Arrays.asList(rootPid, collPid), pathFactory.getAncestorPids(workPid));
+        // Path was served from the prefetched entries rather than looked up in fedora
+        verifyNoInteractions(fcrepoClient);
     }
 
     @Test
@@ -90,6 +153,7 @@ public class CacheInvalidatingProcessorTest {
         verify(objectAclFactory, never()).invalidate(any(PID.class));
         verify(contentPathFactory, never()).invalidate(any(PID.class));
         verify(memberOrderService, never()).invalidate(any(PID.class));
+        verify(cacheInvalidationMessageSender, never()).sendInvalidation(any(PID.class));
     }
 
     @Test
@@ -103,6 +167,7 @@ public class CacheInvalidatingProcessorTest {
         verify(objectAclFactory, never()).invalidate(any(PID.class));
         verify(contentPathFactory, never()).invalidate(any(PID.class));
         verify(memberOrderService, never()).invalidate(any(PID.class));
+        verify(cacheInvalidationMessageSender, never()).sendInvalidation(any(PID.class));
     }
 
     private Exchange mockExchange(String rescPath) {
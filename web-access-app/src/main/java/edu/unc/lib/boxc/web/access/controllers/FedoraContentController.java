@@ -106,7 +106,7 @@ public class FedoraContentController {
         var range = request.getHeader(RANGE);
 
         try {
-            fedoraContentService.streamData(pid, datastream, asAttachment, response, range);
+            fedoraContentService.streamData(pid, datastream, asAttachment, request, response, range);
             recordDownloadEvent(pid, datastream, principals, request);
         } catch (IOException e) {
             handleIOException(pid, datastream, e);
@@ -108,6 +108,7 @@ public abstract class AbstractSolrSearchController {
 
         childrenCountService.addChildrenCounts(resp.getResultList(),
                 principals);
+        queryLayer.populateObjectPaths(resp.getResultList());
 
         List<Map<String, Object>> resultList = SerializationUtil.resultsToList(resp, principals);
         Map<String, Object> results = new HashMap<>();
@@ -12,18 +12,15 @@ import edu.unc.lib.boxc.model.api.ids.PID;
 import edu.unc.lib.boxc.model.fcrepo.services.DerivativeService;
 import edu.unc.lib.boxc.model.fcrepo.services.DerivativeService.Derivative;
 import edu.unc.lib.boxc.web.common.exceptions.ResourceNotFoundException;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpRange;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.util.List;
 
 /**
  * Streams content for derivative files of repository objects.
@@ -34,8 +31,6 @@ import java.util.List;
 public class DerivativeContentService {
     private static final Logger log = LoggerFactory.getLogger(DerivativeContentService.class);
 
-    private static final int BUFFER_SIZE = 8192;
-
     private DerivativeService derivativeService;
 
     private AccessControlService accessControlService;
@@ -61,7 +56,33 @@ public class DerivativeContentService {
      */
     public void streamData(PID pid, String dsName, AccessGroupSet principals, boolean asAttachment, String rangeHeader,
             HttpServletResponse response) throws IOException, ResourceNotFoundException {
+        streamData(pid, dsName, principals, asAttachment, rangeHeader, null, response);
+    }
 
+    /**
+     * Set content headers and stream the content of the specified derivative
+     * from the object identified by pid. Range and conditional headers from the request
+     * are honored, responding with not modified when the client's copy is current.
+     *
+     * @param pid pid of object containing the derivative
+     * @param dsName name of derivative being requested. Must be a derivative
+     *            type, otherwise an IllegalArgumentException will be thrown.
+     * @param principals principals of requesting client
+     * @param asAttachment if true, then content-disposition header will specify
+     *            as "attachment" instead of "inline"
+     * @param request request for the derivative
+     * @param response response content and headers will be added to.
+     * @throws IOException if unable to stream content to the response.
+     * @throws ResourceNotFoundException if an invalid derivative type is
+     *             requested.
+     */
+    public void streamData(PID pid, String dsName, AccessGroupSet principals, boolean asAttachment,
+            HttpServletRequest request, HttpServletResponse response) throws IOException, ResourceNotFoundException {
+        streamData(pid, dsName, principals, asAttachment, request.getHeader(HttpHeaders.RANGE), request, response);
+    }
+
+    private void streamData(PID pid, String dsName, AccessGroupSet principals, boolean asAttachment,
+            String rangeHeader, HttpServletRequest request, HttpServletResponse response) throws IOException {
         DatastreamType derivType = getType(dsName);
 
         accessControlService.assertHasAccess("Insufficient permissions to access derivative "
@@ -71,6 +92,14 @@ public class DerivativeContentService {
         Derivative deriv = getDerivative(pid, dsName, derivType);
 
         File derivFile = deriv.getFile();
+        if (checkNotModified(derivFile, request, response)) {
+            return;
+        }
+        if (request != null && !isRangeCurrent(derivFile, request)) {
+            // Client's copy is out of date, so it must receive the entire file instead of the range
+            rangeHeader = null;
+        }
+
         response.setContentType(derivType.getMimetype());
         String filename = derivFile.getName();
         if (asAttachment) {
@@ -78,84 +107,46 @@ public class DerivativeContentService {
         } else {
             response.setHeader(CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"");
         }
-        if (rangeHeader == null) {
-            streamEntireFile(derivFile, response);
-        } else {
-            streamRange(derivFile, rangeHeader, response);
-        }
+        FileContentStreamer.streamFile(derivFile, derivType.getMimetype(), rangeHeader, request, response);
     }
 
-    private void streamEntireFile(File file, HttpServletResponse response) throws IOException {
-        response.setStatus(HttpServletResponse.SC_OK);
-        response.setContentLengthLong(file.length());
-
-        OutputStream outStream = response.getOutputStream();
-        IOUtils.copy(new FileInputStream(file), outStream, BUFFER_SIZE);
+    /**
+     * Sets the validator headers for the file, and responds with not modified if the
+     * conditional headers in the request indicate the client already has the current version.
+     *
+     * @return true if a not modified response was sent
+     */
+    private boolean checkNotModified(File file, HttpServletRequest request, HttpServletResponse response) {
+        String etag = getETag(file);
+        long lastModified = file.lastModified();
+        if (request == null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            return false;
+        }
+        return new ServletWebRequest(request, response).checkNotModified(etag, lastModified);
     }
 
-    private void streamRange(File file, String rangeHeader, HttpServletResponse response) throws IOException {
-        long fileLength = file.length();
+    /**
+     * @return false if the request contains an If-Range header which does not match the current file
+     */
+    private boolean isRangeCurrent(File file, HttpServletRequest request) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null || ifRange.equals(getETag(file))) {
+            return true;
+        }
         try {
-            List<HttpRange> httpRanges = HttpRange.parseRanges(rangeHeader);
-            // Currently only supporting single range requests
-            if (httpRanges.size() > 1) {
-                throw new IllegalArgumentException("Only single range requests are supported");
-            }
-            // If parsing produced no ranges, stream the entire file
-            if (httpRanges.isEmpty()) {
-                streamEntireFile(file, response);
-                return;
-            }
-
-            // Get the single range
-            HttpRange range = httpRanges.get(0);
-            long start = range.getRangeStart(fileLength);
-            long end = range.getRangeEnd(fileLength);
-            long contentLength = end - start + 1;
-
-            // Set appropriate headers for partial content
-            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
-            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
-            response.setContentLengthLong(contentLength);
-            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileLength);
-
-            // Stream the requested range
-            try (FileInputStream inputStream = new FileInputStream(file)) {
-                // Skip to the start position
-                var skipped = inputStream.skip(start);
-                if (skipped != start) {
-                    throw new IOException("Unable to skip to the requested range start: " + start);
-                }
-                // Copy only the requested range
-                copyRangeBytesToResponse(inputStream, response, contentLength);
-            }
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            // Compare at second precision, since that is the precision of http dates
+            return ifRangeDate != -1 && file.lastModified() / 1000 <= ifRangeDate / 1000;
         } catch (IllegalArgumentException e) {
-            log.debug("Failed to parse range header: {}", rangeHeader, e);
-            // HttpRange will throw IllegalArgumentException for invalid range header values
-            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
-            response.setHeader("Content-Range", "bytes */" + fileLength);
+            // Value was an entity tag which did not match
+            return false;
         }
     }
 
-    private void copyRangeBytesToResponse(FileInputStream inputStream,
-            HttpServletResponse response, long contentLength) throws IOException {
-        var outStream = response.getOutputStream();
-        long bytesToCopy = contentLength;
-        byte[] buffer = new byte[BUFFER_SIZE];
-        int bytesRead;
-        try {
-            while (bytesToCopy > 0 && (bytesRead =
-                    inputStream.read(buffer, 0, (int) Math.min(buffer.length, bytesToCopy))) != -1) {
-                outStream.write(buffer, 0, bytesRead);
-                bytesToCopy -= bytesRead;
-            }
-        } catch (IOException e) {
-            // Silently ignore IO errors while streaming, such as the client closing the connection
-            log.debug("IO error while streaming range: {}", e.getMessage());
-            if (!response.isCommitted()) {
-                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            }
-        }
+    private String getETag(File file) {
+        return "\"" + Long.toHexString(file.length()) + "-" + Long.toHexString(file.lastModified()) + "\"";
     }
 
     private DatastreamType getType(String dsName) {
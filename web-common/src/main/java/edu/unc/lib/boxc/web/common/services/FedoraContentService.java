@@ -9,9 +9,11 @@ import static org.apache.http.HttpHeaders.CONTENT_TYPE;
 import static org.apache.http.HttpHeaders.RANGE;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URI;
 
 import edu.unc.lib.boxc.fcrepo.utils.ClientFaultResolver;
 import org.apache.commons.io.IOUtils;
@@ -37,7 +39,10 @@ import edu.unc.lib.boxc.model.api.objects.FileObject;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObject;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObjectLoader;
 import edu.unc.lib.boxc.model.fcrepo.ids.PIDs;
+import edu.unc.lib.boxc.persist.api.storage.StorageLocationManager;
+import edu.unc.lib.boxc.persist.api.storage.UnknownStorageLocationException;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
@@ -57,6 +62,8 @@ public class FedoraContentService {
 
     private RepositoryObjectLoader repositoryObjectLoader;
     private FcrepoClient client;
+    private StorageLocationManager storageLocationManager;
+    private boolean directReadEnabled = false;
 
     /**
      * Set content headers and stream the binary content of the specified
@@ -73,6 +80,27 @@ public class FedoraContentService {
      */
     public void streamData(PID pid, String dsName, boolean asAttachment,
                            HttpServletResponse response, String range) throws IOException {
+        streamData(pid, dsName, asAttachment, null, response, range);
+    }
+
+    /**
+     * Set content headers and stream the binary content of the specified
+     * datastream from the object identified by pid. If direct reads are enabled and the
+     * binary is stored in a file within a storage location, the content is served from that
+     * file rather than retrieved from fedora.
+     *
+     * @param pid pid of object containing datastream
+     * @param dsName name of datastream being requested. If null, then original
+     *            file datastream is assumed.
+     * @param asAttachment if true, then content-disposition header will specify
+     *            as "attachment" instead of "inline"
+     * @param request request for the datastream (optional), used to hand off file content to the container
+     * @param response response content and headers will be added to.
+     * @param range requested byte range of datastream (optional)
+     * @throws IOException if unable to stream content to the response.
+     */
+    public void streamData(PID pid, String dsName, boolean asAttachment, HttpServletRequest request,
+                           HttpServletResponse response, String range) throws IOException {
         // Default datastream is DATA_FILE
         String datastream = dsName == null ? ORIGINAL_FILE.getId() : dsName;
 
@@ -96,9 +124,6 @@ public class FedoraContentService {
             binObj = repositoryObjectLoader.getBinaryObject(dsPid);
         }
 
-        // Make sure the range is valid or will produce a reasonable response from fedora
-        range = correctRangeValue(range, binObj);
-
         response.setHeader(CONTENT_TYPE, binObj.getMimetype());
         String binaryName = binObj.getFilename();
         String filename = binaryName == null ? pid.getId() : binaryName;
@@ -108,6 +133,16 @@ public class FedoraContentService {
             response.setHeader(CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"");
         }
 
+        File localFile = getLocalContentFile(binObj);
+        if (localFile != null) {
+            LOG.debug("Streaming {} directly from {}", pid, localFile);
+            FileContentStreamer.streamFile(localFile, binObj.getMimetype(), range, request, response);
+            return;
+        }
+
+        // Make sure the range is valid or will produce a reasonable response from fedora
+        range = correctRangeValue(range, binObj);
+
         try (FcrepoResponse fedoraResponse = getFedoraResponse(binObj, range)) {
             response.setHeader(ACCEPT_RANGES, BYTES);
             response.setHeader(CONTENT_LENGTH, fedoraResponse.getHeaderValue(CONTENT_LENGTH));
@@ -119,6 +154,36 @@ public class FedoraContentService {
         }
     }
 
+    /**
+     * @return the local file containing the content of the binary, or null if direct reads are disabled
+     *      or the content is not stored in a readable file within a known storage location
+     */
+    private File getLocalContentFile(BinaryObject binObj) {
+        if (!directReadEnabled || storageLocationManager == null) {
+            return null;
+        }
+        URI contentUri = binObj.getContentUri();
+        if (contentUri == null || !"file".equals(contentUri.getScheme())) {
+            return null;
+        }
+        // Resolve any relative segments before checking the location, so the checked path is the one opened
+        contentUri = contentUri.normalize();
+        try {
+            // Only serve files from within configured storage locations
+            storageLocationManager.getStorageLocationForUri(contentUri);
+        } catch (UnknownStorageLocationException e) {
+            LOG.warn("Content of {} is not in a known storage location, retrieving from fedora: {}",
+                    binObj.getPid(), contentUri);
+            return null;
+        }
+        File file = new File(contentUri);
+        if (!file.isFile() || !file.canRead()) {
+            LOG.warn("Content file for {} is not readable, retrieving from fedora: {}", binObj.getPid(), file);
+            return null;
+        }
+        return file;
+    }
+
     private String correctRangeValue(String range, BinaryObject binObj) {
         if (range == null) {
             return null;
@@ -198,4 +263,20 @@ public class FedoraContentService {
     public void setClient(FcrepoClient client) {
         this.client = client;
     }
+
+    /**
+     * @param storageLocationManager storage location manager, used to verify the location of content read directly.
+     *      If not set, content is always retrieved from fedora.
+     */
+    public void setStorageLocationManager(StorageLocationManager storageLocationManager) {
+        this.storageLocationManager = storageLocationManager;
+    }
+
+    /**
+     * @param directReadEnabled if true, content stored in files within storage locations is served directly
+     *      from the file rather than retrieved through fedora
+     */
+    public void setDirectReadEnabled(boolean directReadEnabled) {
+        this.directReadEnabled = directReadEnabled;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package edu.unc.lib.boxc.web.common.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams the content of local files to http responses, with support for single and multiple byte ranges.
+ * Content is transferred from file channels, and is handed off to the servlet container's sendfile
+ * support when it is available.
+ *
+ * @author bbpennel
+ */
+public class FileContentStreamer {
+    private static final Logger log = LoggerFactory.getLogger(FileContentStreamer.class);
+
+    private static final String CRLF = "\r\n";
+    // Request attributes used to hand off content to the servlet container's sendfile support
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+    // Small files are cheaper to write directly than to hand off to sendfile
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private FileContentStreamer() {
+    }
+
+    /**
+     * Stream the content of a file, or the ranges of it requested, to the response
+     *
+     * @param file file to stream
+     * @param mimetype mimetype of the file, used for the parts of multiple range responses
+     * @param rangeHeader the range header value from the request, or null
+     * @param request request for the file. If null, sendfile will not be used.
+     * @param response response the content and headers will be added to
+     * @throws IOException if unable to stream content to the response
+     */
+    public static void streamFile(File file, String mimetype, String rangeHeader, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (rangeHeader == null) {
+            streamEntireFile(file, request, response);
+        } else {
+            streamRange(file, mimetype, rangeHeader, request, response);
+        }
+    }
+
+    private static void streamEntireFile(File file, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long fileLength = file.length();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentLengthLong(fileLength);
+
+        if (useSendfile(request, fileLength)) {
+            setSendfileAttributes(file, request, 0, fileLength);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            transferToResponse(channel, 0, fileLength, response);
+        }
+    }
+
+    private static void streamRange(File file, String mimetype, String rangeHeader, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        long fileLength = file.length();
+        List<ByteRange> regions;
+        try {
+            List<HttpRange> httpRanges = HttpRange.parseRanges(rangeHeader);
+            // If parsing produced no ranges, stream the entire file
+            if (httpRanges.isEmpty()) {
+                streamEntireFile(file, request, response);
+                return;
+            }
+            List<ByteRange> requested = new ArrayList<>(httpRanges.size());
+            for (HttpRange range : httpRanges) {
+                long start = range.getRangeStart(fileLength);
+                long end = range.getRangeEnd(fileLength);
+                requested.add(new ByteRange(start, end));
+            }
+            regions = mergeRanges(requested);
+        } catch (IllegalArgumentException e) {
+            log.debug("Failed to parse range header: {}", rangeHeader, e);
+            // HttpRange will throw IllegalArgumentException for invalid range header values
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader("Content-Range", "bytes */" + fileLength);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        if (regions.size() == 1) {
+            ByteRange region = regions.get(0);
+            response.setContentLengthLong(region.getLength());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, region.getContentRange(fileLength));
+
+            if (useSendfile(request, region.getLength())) {
+                setSendfileAttributes(file, request, region.start, region.end + 1);
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                transferToResponse(channel, region.start, region.getLength(), response);
+            }
+            return;
+        }
+
+        streamMultipleRanges(file, mimetype, regions, response);
+    }
+
+    /**
+     * Merge overlapping and adjacent ranges, so that no part of the file is sent more than once and the
+     * total content sent can not exceed the length of the file regardless of how many ranges were requested
+     *
+     * @return ranges ordered by start position
+     */
+    private static List<ByteRange> mergeRanges(List<ByteRange> ranges) {
+        List<ByteRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(r -> r.start));
+        List<ByteRange> merged = new ArrayList<>(sorted.size());
+        ByteRange current = sorted.get(0);
+        for (ByteRange next : sorted.subList(1, sorted.size())) {
+            if (next.start <= current.end + 1) {
+                current = new ByteRange(current.start, Math.max(current.end, next.end));
+            } else {
+                merged.add(current);
+                current = next;
+            }
+        }
+        merged.add(current);
+        return merged;
+    }
+
+    /**
+     * Stream multiple ranges of the file as a multipart/byteranges response
+     */
+    private static void streamMultipleRanges(File file, String mimetype, List<ByteRange> regions,
+            HttpServletResponse response) throws IOException {
+        long fileLength = file.length();
+        String boundary = UUID.randomUUID().toString();
+        List<byte[]> partHeaders = new ArrayList<>(regions.size());
+        long contentLength = 0;
+        for (ByteRange region : regions) {
+            String partHeader = CRLF + "--" + boundary + CRLF
+                    + HttpHeaders.CONTENT_TYPE + ": " + mimetype + CRLF
+                    + HttpHeaders.CONTENT_RANGE + ": " + region.getContentRange(fileLength) + CRLF + CRLF;
+            byte[] partHeaderBytes = partHeader.getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeaderBytes);
+            contentLength += partHeaderBytes.length + region.getLength();
+        }
+        byte[] closingBoundary = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        contentLength += closingBoundary.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            OutputStream outStream = response.getOutputStream();
+            for (int i = 0; i < regions.size(); i++) {
+                ByteRange region = regions.get(i);
+                outStream.write(partHeaders.get(i));
+                if (!transferToResponse(channel, region.start, region.getLength(), response)) {
+                    return;
+                }
+            }
+            outStream.write(closingBoundary);
+        } catch (IOException e) {
+            handleStreamingError(e, response);
+        }
+    }
+
+    /**
+     * Transfer a region of the file to the response, from the file channel rather than
+     * through an intermediate heap buffer.
+     *
+     * @return false if the transfer was aborted due to an IO error
+     */
+    private static boolean transferToResponse(FileChannel channel, long start, long length,
+            HttpServletResponse response) throws IOException {
+        // The response stream is not closed here, the container is responsible for closing it
+        WritableByteChannel outChannel = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        long remaining = length;
+        try {
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, outChannel);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of file at position " + position);
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+            return true;
+        } catch (IOException e) {
+            handleStreamingError(e, response);
+            return false;
+        }
+    }
+
+    private static void handleStreamingError(IOException e, HttpServletResponse response) {
+        // Silently ignore IO errors while streaming, such as the client closing the connection
+        log.debug("IO error while streaming file content: {}", e.getMessage());
+        if (!response.isCommitted()) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * @return true if the container can send the content directly from the file using sendfile
+     */
+    private static boolean useSendfile(HttpServletRequest request, long length) {
+        return request != null && length >= SENDFILE_MIN_SIZE
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR));
+    }
+
+    private static void setSendfileAttributes(File file, HttpServletRequest request, long start, long endExclusive)
+            throws IOException {
+        request.setAttribute(SENDFILE_FILENAME_ATTR, file.getCanonicalPath());
+        request.setAttribute(SENDFILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_END_ATTR, endExclusive);
+    }
+
+    /**
+     * An inclusive range of bytes within a file
+     */
+    private static class ByteRange {
+        private final long start;
+        private final long end;
+
+        private ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        private long getLength() {
+            return end - start + 1;
+        }
+
+        private String getContentRange(long fileLength) {
+            return "bytes " + start + "-" + end + "/" + fileLength;
+        }
+    }
+}
@@ -196,6 +196,17 @@ public class SolrQueryLayerService extends SolrSearchService {
         return roleString.toString();
     }
 
+    /**
+     * Populate the object paths of all of the provided records, resolving their ancestors together
+     *
+     * @param records
+     */
+    public void populateObjectPaths(List<ContentObjectRecord> records) {
+        if (pathFactory != null) {
+            pathFactory.populatePaths(records);
+        }
+    }
+
     public void setPathFactory(ObjectPathFactory pathFactory) {
         this.pathFactory = pathFactory;
     }
@@ -3,7 +3,9 @@ package edu.unc.lib.boxc.web.common.services;
 import static edu.unc.lib.boxc.model.fcrepo.test.TestHelper.makePid;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -11,6 +13,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -26,8 +29,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
@@ -36,7 +42,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 public class DerivativeContentServiceTest {
     private AutoCloseable closeable;
@@ -181,7 +189,7 @@ public class DerivativeContentServiceTest {
     }
 
     @Test
-    public void testMultipleRangesNotSupported() throws Exception {
+    public void testMultipleRanges() throws Exception {
         PID pid = makePid();
         DatastreamType dataType = DatastreamType.AUDIO_ACCESS_COPY;
 
@@ -191,14 +199,103 @@ public class DerivativeContentServiceTest {
         initializeDerivative(pid, dataType, testFile);
 
         // Multiple ranges header
-        String rangeHeader = "bytes=0-100,200-300";
+        String rangeHeader = "bytes=0-99,200-299";
 
         // Call the method
         derivativeContentService.streamData(pid, dataType.getId(), principals, false, rangeHeader, response);
 
-        // Verify error response
-        verify(response).setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
-        verify(response).setHeader("Content-Range", "bytes */1000");
+        // Verify multipart response
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        var contentTypeCaptor = ArgumentCaptor.forClass(String.class);
+        verify(response, times(2)).setContentType(contentTypeCaptor.capture());
+        var contentType = contentTypeCaptor.getValue();
+        assertTrue(contentType.startsWith("multipart/byteranges; boundary="));
+        var boundary = contentType.substring(contentType.indexOf('=') + 1);
+        verify(response).setContentLengthLong(outputStream.size());
+
+        var result = outputStream.toString(StandardCharsets.ISO_8859_1);
+        var parts = result.split("\r\n--" + boundary);
+        // Leading empty section, two ranges and the closing delimiter
+        assertEquals(4, parts.length);
+        assertTrue(parts[1].contains("Content-Range: bytes 0-99/1000"));
+        assertTrue(parts[2].contains("Content-Range: bytes 200-299/1000"));
+        assertEquals("--\r\n", parts[3]);
+        byte[] expectedContent = makeTestContentArray();
+        var part2Body = parts[2].substring(parts[2].indexOf("\r\n\r\n") + 4).getBytes(StandardCharsets.ISO_8859_1);
+        assertArrayEquals(Arrays.copyOfRange(expectedContent, 200, 300), part2Body);
+    }
+
+    @Test
+    public void testOverlappingRangesMerged() throws Exception {
+        PID pid = makePid();
+        DatastreamType dataType = DatastreamType.AUDIO_ACCESS_COPY;
+
+        File testFile = createTestFile("m4a");
+
+        // Mock derivative service to return our test file
+        initializeDerivative(pid, dataType, testFile);
+
+        // Overlapping, adjacent and repeated ranges, out of order
+        String rangeHeader = "bytes=400-499,0-99,50-149,150-199,0-99";
+
+        derivativeContentService.streamData(pid, dataType.getId(), principals, false, rangeHeader, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        var contentTypeCaptor = ArgumentCaptor.forClass(String.class);
+        verify(response, times(2)).setContentType(contentTypeCaptor.capture());
+        var contentType = contentTypeCaptor.getValue();
+        var boundary = contentType.substring(contentType.indexOf('=') + 1);
+
+        var result = outputStream.toString(StandardCharsets.ISO_8859_1);
+        var parts = result.split("\r\n--" + boundary);
+        // Leading empty section, two merged ranges and the closing delimiter
+        assertEquals(4, parts.length);
+        assertTrue(parts[1].contains("Content-Range: bytes 0-199/1000"));
+        assertTrue(parts[2].contains("Content-Range: bytes 400-499/1000"));
+        byte[] expectedContent = makeTestContentArray();
+        var part1Body = parts[1].substring(parts[1].indexOf("\r\n\r\n") + 4).getBytes(StandardCharsets.ISO_8859_1);
+        assertArrayEquals(Arrays.copyOfRange(expectedContent, 0, 200), part1Body);
+    }
+
+    @Test
+    public void testNotModifiedWithMatchingETag() throws Exception {
+        PID pid = makePid();
+        DatastreamType dataType = DatastreamType.AUDIO_ACCESS_COPY;
+        File testFile = createTestFile("m4a");
+        initializeDerivative(pid, dataType, testFile);
+
+        // Retrieve the etag from an initial request
+        var firstResponse = new MockHttpServletResponse();
+        derivativeContentService.streamData(pid, dataType.getId(), principals, false,
+                new MockHttpServletRequest("GET", "/file"), firstResponse);
+        var etag = firstResponse.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(1000, firstResponse.getContentAsByteArray().length);
+
+        var request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        var mockResponse = new MockHttpServletResponse();
+        derivativeContentService.streamData(pid, dataType.getId(), principals, false, request, mockResponse);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, mockResponse.getStatus());
+        assertEquals(0, mockResponse.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testRangeIgnoredWhenIfRangeDoesNotMatch() throws Exception {
+        PID pid = makePid();
+        DatastreamType dataType = DatastreamType.AUDIO_ACCESS_COPY;
+        File testFile = createTestFile("m4a");
+        initializeDerivative(pid, dataType, testFile);
+
+        var request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader(HttpHeaders.RANGE, "bytes=200-299");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+        var mockResponse = new MockHttpServletResponse();
+        derivativeContentService.streamData(pid, dataType.getId(), principals, false, request, mockResponse);
+
+        assertEquals(HttpServletResponse.SC_OK, mockResponse.getStatus());
+        assertArrayEquals(makeTestContentArray(), mockResponse.getContentAsByteArray());
     }
 
     @Test
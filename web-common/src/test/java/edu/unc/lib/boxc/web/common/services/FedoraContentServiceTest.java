@@ -12,6 +12,9 @@ import edu.unc.lib.boxc.model.api.objects.FileObject;
 import edu.unc.lib.boxc.model.api.objects.RepositoryObjectLoader;
 import edu.unc.lib.boxc.model.api.rdf.DcElements;
 import edu.unc.lib.boxc.model.fcrepo.ids.DatastreamPids;
+import edu.unc.lib.boxc.persist.api.storage.StorageLocation;
+import edu.unc.lib.boxc.persist.api.storage.StorageLocationManager;
+import edu.unc.lib.boxc.persist.api.storage.UnknownStorageLocationException;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.fcrepo.client.FcrepoClient;
 import org.fcrepo.client.FcrepoOperationFailedException;
@@ -21,24 +24,31 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static edu.unc.lib.boxc.model.api.DatastreamType.ORIGINAL_FILE;
 import static edu.unc.lib.boxc.model.fcrepo.test.TestHelper.makePid;
 import static org.apache.http.HttpHeaders.CONTENT_LENGTH;
 import static org.apache.http.HttpHeaders.CONTENT_RANGE;
 import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -67,6 +77,12 @@ public class FedoraContentServiceTest {
     private ServletOutputStream outputStream;
     @Mock
     private PremisLog premisLog;
+    @Mock
+    private StorageLocationManager storageLocationManager;
+    @Mock
+    private StorageLocation storageLocation;
+    @TempDir
+    public Path tmpFolder;
 
     @BeforeEach
     public void setup() throws Exception {
@@ -75,6 +91,7 @@ public class FedoraContentServiceTest {
         fedoraContentService.setClient(fcrepoClient);
         fedoraContentService.setAccessControlService(accessControlService);
         fedoraContentService.setRepositoryObjectLoader(repositoryObjectLoader);
+        fedoraContentService.setStorageLocationManager(storageLocationManager);
         when(response.getOutputStream()).thenReturn(outputStream);
         when(fileObject.getPremisLog()).thenReturn(premisLog);
     }
@@ -243,6 +260,111 @@ public class FedoraContentServiceTest {
         verify(response).setHeader(CONTENT_DISPOSITION, "attachment; filename=\"" + pid.getId() + "_event_log.ttl\"");
     }
 
+    @Test
+    public void streamDataDirectFromStorage() throws Exception {
+        var pid = makePid();
+        mockWithOriginalFile(pid);
+        var contentUri = mockLocalContent("image");
+        when(storageLocationManager.getStorageLocationForUri(contentUri)).thenReturn(storageLocation);
+        fedoraContentService.setDirectReadEnabled(true);
+        var mockResponse = new MockHttpServletResponse();
+
+        fedoraContentService.streamData(pid, ORIGINAL_FILE.getId(), false, null, mockResponse, null);
+
+        assertEquals(200, mockResponse.getStatus());
+        assertEquals("image", mockResponse.getContentAsString());
+        assertEquals("inline; filename=\"Best Name\"", mockResponse.getHeader(CONTENT_DISPOSITION));
+        verify(fcrepoClient, never()).get(any());
+    }
+
+    @Test
+    public void streamDataDirectFromStorageWithRange() throws Exception {
+        var pid = makePid();
+        mockWithOriginalFile(pid);
+        var contentUri = mockLocalContent("image");
+        when(storageLocationManager.getStorageLocationForUri(contentUri)).thenReturn(storageLocation);
+        fedoraContentService.setDirectReadEnabled(true);
+        var mockResponse = new MockHttpServletResponse();
+
+        fedoraContentService.streamData(pid, ORIGINAL_FILE.getId(), false, null, mockResponse, "bytes=1-8");
+
+        assertEquals(206, mockResponse.getStatus());
+        assertEquals("mage", mockResponse.getContentAsString());
+        assertEquals("bytes 1-4/5", mockResponse.getHeader(CONTENT_RANGE));
+        verify(fcrepoClient, never()).get(any());
+    }
+
+    @Test
+    public void streamDataDirectReadOutsideStorageLocation() throws Exception {
+        var pid = makePid();
+        mockWithOriginalFile(pid);
+        var contentUri = mockLocalContent("image");
+        when(storageLocationManager.getStorageLocationForUri(contentUri))
+                .thenThrow(new UnknownStorageLocationException("Unknown location"));
+        fedoraContentService.setDirectReadEnabled(true);
+        when(fcrepoResponse.getBody()).thenReturn(new ByteArrayInputStream("image".getBytes(StandardCharsets.UTF_8)));
+
+        fedoraContentService.streamData(pid, ORIGINAL_FILE.getId(), false, null, response, null);
+
+        verify(fcrepoClient).get(any());
+    }
+
+    @Test
+    public void streamDataDirectReadChecksNormalizedUri() throws Exception {
+        var pid = makePid();
+        mockWithOriginalFile(pid);
+        var contentUri = mockLocalContent("image");
+        var unnormalizedUri = URI.create(contentUri.toString().replace("/original", "/subdir/../original"));
+        when(binaryObject.getContentUri()).thenReturn(unnormalizedUri);
+        when(storageLocationManager.getStorageLocationForUri(contentUri)).thenReturn(storageLocation);
+        fedoraContentService.setDirectReadEnabled(true);
+        var mockResponse = new MockHttpServletResponse();
+
+        fedoraContentService.streamData(pid, ORIGINAL_FILE.getId(), false, null, mockResponse, null);
+
+        assertEquals("image", mockResponse.getContentAsString());
+        verify(storageLocationManager).getStorageLocationForUri(contentUri);
+        verify(storageLocationManager, never()).getStorageLocationForUri(unnormalizedUri);
+        verify(fcrepoClient, never()).get(any());
+    }
+
+    @Test
+    public void streamDataDirectReadWithoutStorageLocationManager() throws Exception {
+        var pid = makePid();
+        mockWithOriginalFile(pid);
+        mockLocalContent("image");
+        fedoraContentService.setStorageLocationManager(null);
+        fedoraContentService.setDirectReadEnabled(true);
+        when(fcrepoResponse.getBody()).thenReturn(new ByteArrayInputStream("image".getBytes(StandardCharsets.UTF_8)));
+
+        fedoraContentService.streamData(pid, ORIGINAL_FILE.getId(), false, null, response, null);
+
+        verify(fcrepoClient).get(any());
+    }
+
+    @Test
+    public void streamDataDirectReadNonFileUri() throws Exception {
+        var pid = makePid();
+        mockWithOriginalFile(pid);
+        when(binaryObject.getContentUri()).thenReturn(pid.getRepositoryUri());
+        fedoraContentService.setDirectReadEnabled(true);
+        when(fcrepoResponse.getBody()).thenReturn(new ByteArrayInputStream("image".getBytes(StandardCharsets.UTF_8)));
+
+        fedoraContentService.streamData(pid, ORIGINAL_FILE.getId(), false, null, response, null);
+
+        verify(fcrepoClient).get(any());
+        verify(storageLocationManager, never()).getStorageLocationForUri(any());
+    }
+
+    private URI mockLocalContent(String content) throws IOException {
+        var contentPath = tmpFolder.resolve("original");
+        Files.writeString(contentPath, content);
+        var contentUri = contentPath.toUri();
+        when(binaryObject.getContentUri()).thenReturn(contentUri);
+        when(binaryObject.getMimetype()).thenReturn("image/jpeg");
+        return contentUri;
+    }
+
     private void mockWithOriginalFile(PID pid) throws FcrepoOperationFailedException {
         when(repositoryObjectLoader.getFileObject(eq(pid))).thenReturn(fileObject);
         when(fileObject.getOriginalFile()).thenReturn(binaryObject);
@@ -22,11 +22,13 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
@@ -35,12 +37,16 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static edu.unc.lib.boxc.auth.api.AccessPrincipalConstants.AUTHENTICATED_PRINC;
 import static edu.unc.lib.boxc.auth.api.AccessPrincipalConstants.PUBLIC_PRINC;
@@ -107,24 +113,26 @@ public class ExportCsvService {
     private RepositoryObjectLoader repositoryObjectLoader;
     private String baseUrl;
     private int pageSize = DEFAULT_PAGE_SIZE;
+    private ExecutorService exportExecutor;
     private static final DateTimeFormatter FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    /**
+     * Export a CSV listing of the given objects and their children to a temporary file
+     *
+     * @param pids objects to export
+     * @param agent agent requesting the export
+     * @return path of the exported CSV file, which the caller is responsible for deleting
+     */
     public Path exportCsv(List<PID> pids, AgentPrincipals agent) {
-        AccessGroupSet accessGroups = agent.getPrincipals();
-        validate(pids, accessGroups);
+        List<ExportTarget> targets = prepareExport(pids, agent.getPrincipals());
 
         boolean successful = false;
         Path csvFile = null;
         try {
             csvFile = Files.createTempFile("export-", ".csv");
-            try (var outputStream = Files.newOutputStream(csvFile);
-                 Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
-                 CSVPrinter printer = getPrinter(writer);
-                ) {
-                for (PID pid : pids) {
-                    printObjectRows(pid, printer, agent.getUsername(), accessGroups);
-                }
+            try (var outputStream = Files.newOutputStream(csvFile)) {
+                writeCsv(targets, agent, outputStream);
             }
             successful = true;
             return csvFile;
@@ -137,6 +145,100 @@ public class ExportCsvService {
         }
     }
 
+    /**
+     * Stream a CSV listing of the given objects and their children to the provided output stream,
+     * writing rows as they are retrieved. All of the objects are validated and resolved
+     * before anything is written to the stream.
+     *
+     * @param pids objects to export
+     * @param agent agent requesting the export
+     * @param outputStream stream to write the CSV to. It is not closed by this method.
+     * @throws IOException
+     */
+    public void streamCsv(List<PID> pids, AgentPrincipals agent, OutputStream outputStream) throws IOException {
+        List<ExportTarget> targets = prepareExport(pids, agent.getPrincipals());
+        writeCsv(targets, agent, outputStream);
+    }
+
+    private List<ExportTarget> prepareExport(List<PID> pids, AccessGroupSet accessGroups) {
+        validate(pids, accessGroups);
+
+        List<ExportTarget> targets = new ArrayList<>(pids.size());
+        for (PID pid : pids) {
+            SearchState searchState = new SearchState();
+            searchState.setResultFields(SEARCH_FIELDS);
+            searchState.setSortType("export");
+            searchState.setRowsPerPage(pageSize);
+
+            ContentObjectRecord container = queryLayer.addSelectedContainer(pid, searchState, false,
+                    accessGroups);
+            if (container == null) {
+                throw new NotFoundException("Object " + pid.getId() + " not found while streaming CSV export");
+            }
+            targets.add(new ExportTarget(pid, searchState, container));
+        }
+        return targets;
+    }
+
+    private void writeCsv(List<ExportTarget> targets, AgentPrincipals agent, OutputStream outputStream)
+            throws IOException {
+        String username = agent.getUsername();
+        AccessGroupSet accessGroups = agent.getPrincipals();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        CSVPrinter printer = getPrinter(writer);
+        if (exportExecutor == null || targets.size() < 2) {
+            for (ExportTarget target : targets) {
+                printObjectRows(target, printer, username, accessGroups);
+            }
+            printer.flush();
+            return;
+        }
+
+        // Export each object to its own spool file in parallel, then append them in the requested order
+        printer.flush();
+        List<Path> spoolFiles = new ArrayList<>();
+        try {
+            List<Future<Path>> futures = new ArrayList<>();
+            for (ExportTarget target : targets) {
+                futures.add(exportExecutor.submit(() -> spoolObjectRows(target, username, accessGroups)));
+            }
+            for (Future<Path> future : futures) {
+                spoolFiles.add(future.get());
+            }
+            for (Path spoolFile : spoolFiles) {
+                Files.copy(spoolFile, outputStream);
+            }
+            outputStream.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while exporting CSV", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RepositoryException("Failed to export CSV", e.getCause());
+        } finally {
+            spoolFiles.forEach(spoolFile -> FileUtils.deleteQuietly(spoolFile.toFile()));
+        }
+    }
+
+    private Path spoolObjectRows(ExportTarget target, String username, AccessGroupSet accessGroups)
+            throws IOException {
+        Path spoolFile = Files.createTempFile("export-", ".csv");
+        boolean successful = false;
+        try (var outputStream = Files.newOutputStream(spoolFile);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+             CSVPrinter printer = CSVFormat.EXCEL.print(writer)) {
+            printObjectRows(target, printer, username, accessGroups);
+            successful = true;
+            return spoolFile;
+        } finally {
+            if (!successful) {
+                FileUtils.deleteQuietly(spoolFile.toFile());
+            }
+        }
+    }
+
     private void validate(List<PID> pids, AccessGroupSet accessGroups) {
         for (PID pid : pids) {
             validateObject(pid, accessGroups);
@@ -153,50 +255,47 @@ public class ExportCsvService {
                 pid, accessGroups, viewHidden);
     }
 
-    private void printObjectRows(PID pid, CSVPrinter printer, String username, AccessGroupSet accessGroups) throws IOException {
+    private void printObjectRows(ExportTarget target, CSVPrinter printer, String username,
+            AccessGroupSet accessGroups) throws IOException {
+        PID pid = target.pid;
         log.debug("Streaming CSV export of {} for {}", pid, username);
 
-        SearchState searchState = new SearchState();
-        searchState.setResultFields(SEARCH_FIELDS);
-        searchState.setSortType("export");
-        searchState.setRowsPerPage(pageSize);
-
-        ContentObjectRecord container = queryLayer.addSelectedContainer(pid, searchState, false,
-                accessGroups);
-        if (container == null) {
-            throw new NotFoundException("Object " + pid.getId() + " not found while streaming CSV export");
-        }
-
-        SearchRequest searchRequest = new SearchRequest(searchState, accessGroups);
+        SearchRequest searchRequest = new SearchRequest(target.searchState, accessGroups);
         searchRequest.setRootPid(pid);
         searchRequest.setApplyCutoffs(false);
 
-        int pageStart = 0;
-        long totalResults = -1;
-        do {
-            searchState.setStartRow(pageStart);
-
+        // Page through results with a cursor, so that the cost of retrieving a page does not grow with its depth
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        long pageStart = 0;
+        while (true) {
+            searchRequest.setCursorMark(cursorMark);
             SearchResultResponse resultResponse = queryLayer.getSearchResults(searchRequest);
 
             List<ContentObjectRecord> objects = resultResponse.getResultList();
             // Insert the parent container if on the first page of results
             if (pageStart == 0) {
-                objects.add(0, container);
-                totalResults = resultResponse.getResultCount();
+                objects.add(0, target.container);
             } else {
                 log.debug("Streaming results {}-{} of {} in multi-page result for {}",
-                        pageStart, pageStart + pageSize, totalResults, pid.getId());
+                        pageStart, pageStart + pageSize, resultResponse.getResultCount(), pid.getId());
             }
 
             childrenCountService.addChildrenCounts(objects, searchRequest.getAccessGroups());
+            queryLayer.populateObjectPaths(objects);
 
             // Stream the current page of results
             for (ContentObjectRecord object : objects) {
                 printObject(printer, object);
             }
+            printer.flush();
 
+            String nextCursorMark = resultResponse.getNextCursorMark();
+            if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+                break;
+            }
+            cursorMark = nextCursorMark;
             pageStart += pageSize;
-        } while (pageStart < totalResults);
+        }
     }
 
     private String computePatronPermissions(List<String> roles) {
@@ -412,4 +511,26 @@ public class ExportCsvService {
     public void setBaseUrl(String baseUrl) {
         this.baseUrl = baseUrl;
     }
+
+    /**
+     * @param exportExecutor optional executor used to export multiple requested objects in parallel
+     */
+    public void setExportExecutor(ExecutorService exportExecutor) {
+        this.exportExecutor = exportExecutor;
+    }
+
+    /**
+     * An object being exported, along with the search state used to retrieve its children
+     */
+    private static class ExportTarget {
+        private final PID pid;
+        private final SearchState searchState;
+        private final ContentObjectRecord container;
+
+        private ExportTarget(PID pid, SearchState searchState, ContentObjectRecord container) {
+            this.pid = pid;
+            this.searchState = searchState;
+            this.container = container;
+        }
+    }
 }
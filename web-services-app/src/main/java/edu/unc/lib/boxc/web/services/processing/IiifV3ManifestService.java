@@ -1,5 +1,7 @@
 package edu.unc.lib.boxc.web.services.processing;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import edu.unc.lib.boxc.auth.api.Permission;
 import edu.unc.lib.boxc.auth.api.exceptions.AccessRestrictionException;
 import edu.unc.lib.boxc.auth.api.models.AccessGroupSet;
@@ -12,6 +14,8 @@ import edu.unc.lib.boxc.model.api.DatastreamType;
 import edu.unc.lib.boxc.model.api.ResourceType;
 import edu.unc.lib.boxc.model.api.exceptions.NotFoundException;
 import edu.unc.lib.boxc.model.api.ids.PID;
+import edu.unc.lib.boxc.search.api.SearchFieldKey;
+import edu.unc.lib.boxc.search.api.exceptions.SolrRuntimeException;
 import edu.unc.lib.boxc.search.api.facets.CutoffFacet;
 import edu.unc.lib.boxc.search.api.models.ContentObjectRecord;
 import edu.unc.lib.boxc.search.api.models.Datastream;
@@ -33,6 +37,8 @@ import info.freelibrary.iiif.presentation.v3.properties.RequiredStatement;
 import info.freelibrary.iiif.presentation.v3.properties.ViewingDirection;
 import info.freelibrary.iiif.presentation.v3.services.ImageService3;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
@@ -43,6 +49,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static edu.unc.lib.boxc.model.api.DatastreamType.JP2_ACCESS_COPY;
 import static info.freelibrary.iiif.presentation.v3.MediaType.AUDIO_AAC;
@@ -55,7 +63,12 @@ import static info.freelibrary.iiif.presentation.v3.MediaType.VIDEO_QUICKTIME;
 import static info.freelibrary.iiif.presentation.v3.properties.behaviors.ManifestBehavior.from;
 
 /**
- * Service for generating iiif v3 manifests for repository object
+ * Service for generating iiif v3 manifests for repository object.
+ *
+ * If a manifest cache size is configured, constructed manifests are cached per object and set of principals.
+ * A cached manifest is only reused while the index versions of the object and its viewable children are
+ * unchanged, which is determined with a single row query rather than retrieving all of the children.
+ *
  * @author bbpennel
  */
 public class IiifV3ManifestService {
@@ -69,6 +82,18 @@ public class IiifV3ManifestService {
     private String baseIiifv3Path;
     private String baseAccessPath;
     private String baseServicesApiPath;
+    private Cache<String, CachedManifest> manifestCache;
+    private long manifestCacheSize = 0;
+    private long manifestCacheTimeToLive = 3600;
+
+    public void init() {
+        if (manifestCacheSize > 0) {
+            manifestCache = CacheBuilder.newBuilder()
+                    .maximumSize(manifestCacheSize)
+                    .expireAfterAccess(manifestCacheTimeToLive, TimeUnit.SECONDS)
+                    .build();
+        }
+    }
 
     /**
      * Constructs a manifest record for the object identified by the provided PID
@@ -82,8 +107,26 @@ public class IiifV3ManifestService {
         if (rootObj == null) {
             throw new NotFoundException("No objects were found for inclusion in manifest for object " + pid.getId());
         }
-        var contentObjs = listViewableFiles(rootObj, agent.getPrincipals());
-        log.debug("Constructing manifest for {} containing {} items", pid.getId(), contentObjs.size());
+        if (manifestCache == null) {
+            return constructManifest(rootObj, agent.getPrincipals());
+        }
+
+        var principals = agent.getPrincipals();
+        var cacheKey = pid.getId() + "|" + principals.stream().sorted().collect(Collectors.joining(","));
+        var version = getContentVersion(rootObj, principals);
+        var cached = manifestCache.getIfPresent(cacheKey);
+        if (cached != null && cached.version.equals(version)) {
+            log.debug("Using cached manifest for {} at version {}", pid.getId(), version);
+            return cached.manifest;
+        }
+        var manifest = constructManifest(rootObj, principals);
+        manifestCache.put(cacheKey, new CachedManifest(version, manifest));
+        return manifest;
+    }
+
+    private Manifest constructManifest(ContentObjectRecord rootObj, AccessGroupSet principals) {
+        var contentObjs = listViewableFiles(rootObj, principals);
+        log.debug("Constructing manifest for {} containing {} items", rootObj.getId(), contentObjs.size());
 
         var manifest = new Manifest(getManifestPath(rootObj), new Label(getTitle(rootObj)));
         manifest.setMetadata(constructMetadataSection(rootObj));
@@ -384,6 +427,11 @@ public class IiifV3ManifestService {
     }
 
     private List<ContentObjectRecord> performQuery(ContentObjectRecord briefObj, AccessGroupSet principals) {
+        var resp = solrSearchService.getSearchResults(createViewableFilesRequest(briefObj, principals));
+        return resp.getResultList();
+    }
+
+    private SearchRequest createViewableFilesRequest(ContentObjectRecord briefObj, AccessGroupSet principals) {
         // Search for child objects with AV mimetypes with user can access
         SearchState searchState = new SearchState();
         if (!globalPermissionEvaluator.hasGlobalPrincipal(principals)) {
@@ -396,9 +444,35 @@ public class IiifV3ManifestService {
         searchState.setSortType("default");
         searchState.addFilter(QueryFilterFactory.createIIIFv3ViewableFilter());
 
-        var searchRequest = new SearchRequest(searchState, principals);
-        var resp = solrSearchService.getSearchResults(searchRequest);
-        return resp.getResultList();
+        return new SearchRequest(searchState, principals);
+    }
+
+    /**
+     * Determine the version of the content which would be included in the manifest for an object, based on the
+     * index version of the object, the number of viewable files within it, and the most recent version of those files.
+     * @param rootObj
+     * @param principals
+     * @return
+     */
+    private String getContentVersion(ContentObjectRecord rootObj, AccessGroupSet principals) {
+        var version = String.valueOf(rootObj.get_version_());
+        if (hasViewableContent(rootObj) || !ResourceType.Work.nameEquals(rootObj.getResourceType())) {
+            return version;
+        }
+
+        var searchRequest = createViewableFilesRequest(rootObj, principals);
+        SolrQuery query = solrSearchService.generateSearch(searchRequest);
+        query.setStart(0);
+        query.setRows(1);
+        query.setFields(SearchFieldKey.ID.getSolrField(), SearchFieldKey.VERSION.getSolrField());
+        query.setSort(SearchFieldKey.VERSION.getSolrField(), SolrQuery.ORDER.desc);
+        try {
+            var resp = solrSearchService.executeSearch(query, searchRequest.getSearchState(), false, false);
+            var latestVersion = resp.getResultList().isEmpty() ? null : resp.getResultList().get(0).get_version_();
+            return version + "|" + resp.getResultCount() + "|" + latestVersion;
+        } catch (SolrServerException e) {
+            throw new SolrRuntimeException("Error determining manifest version for " + rootObj.getId(), e);
+        }
     }
 
     private void addViewingDirectionAndBehavior(Manifest manifest, ContentObjectRecord contentObj) {
@@ -485,4 +559,28 @@ public class IiifV3ManifestService {
     public void setBaseServicesApiPath(String baseServicesApiPath) {
         this.baseServicesApiPath = baseServicesApiPath;
     }
+
+    /**
+     * @param manifestCacheSize max number of manifests to cache. If 0, manifests are not cached.
+     */
+    public void setManifestCacheSize(long manifestCacheSize) {
+        this.manifestCacheSize = manifestCacheSize;
+    }
+
+    /**
+     * @param manifestCacheTimeToLive number of seconds a cached manifest is retained after it was last requested
+     */
+    public void setManifestCacheTimeToLive(long manifestCacheTimeToLive) {
+        this.manifestCacheTimeToLive = manifestCacheTimeToLive;
+    }
+
+    private static class CachedManifest {
+        private final String version;
+        private final Manifest manifest;
+
+        private CachedManifest(String version, Manifest manifest) {
+            this.version = version;
+            this.manifest = manifest;
+        }
+    }
 }
@@ -104,13 +104,13 @@ public class DatastreamController {
         var range = request.getHeader(RANGE);
 
         if (isDerivative(datastream)) {
-            derivativeContentService.streamData(pid, datastream, principals, false, range, response);
+            derivativeContentService.streamData(pid, datastream, principals, false, request, response);
         } else if (DatastreamType.MD_EVENTS.getId().equals(datastream)) {
             fedoraContentService.streamEventLog(pid, principals, download, response);
         } else {
             accessControlService.assertHasAccess("Insufficient permissions to access " + datastream + " for object " + pid,
                     pid, principals, getPermissionForDatastream(datastream));
-            fedoraContentService.streamData(pid, datastream, download, response, range);
+            fedoraContentService.streamData(pid, datastream, download, request, response, range);
             if (DatastreamType.ORIGINAL_FILE.getId().equals(datastream)) {
                 recordDownloadEvent(pid, datastream, principals, request);
             }
@@ -9,13 +9,12 @@ import edu.unc.lib.boxc.operations.impl.download.DownloadBulkRequest;
 import edu.unc.lib.boxc.operations.impl.download.DownloadBulkService;
 import edu.unc.lib.boxc.web.common.auth.PatronActionPermissionsUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseBody;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 import static edu.unc.lib.boxc.auth.fcrepo.services.GroupsThreadStore.getAgentPrincipals;
 import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
@@ -31,20 +30,26 @@ public class DownloadBulkController {
     private DownloadBulkService downloadBulkService;
 
     @RequestMapping("/bulkDownload/{id}")
-    @ResponseBody
-    public ResponseEntity<FileSystemResource> getZip(@PathVariable("id") String pidString) {
+    public void getZip(@PathVariable("id") String pidString, HttpServletResponse response) throws IOException {
         PID pid = PIDs.get(pidString);
 
         var agentPrincipal = getAgentPrincipals();
         assertHasPermission(pid, agentPrincipal);
         var request = new DownloadBulkRequest(pidString, agentPrincipal.getPrincipals());
-        var path = downloadBulkService.downloadBulk(request);
         var filename = DownloadBulkService.getZipFilename(pidString);
 
-        return ResponseEntity.ok()
-                .header(CONTENT_DISPOSITION,"attachment;filename=\"" + filename + "\"")
-                .contentType(MediaType.valueOf("application/zip"))
-                .body(new FileSystemResource(path));
+        response.setHeader(CONTENT_DISPOSITION, "attachment;filename=\"" + filename + "\"");
+        response.setContentType("application/zip");
+        // Entries are written to the response as they are retrieved, rather than building the zip on disk first
+        try {
+            downloadBulkService.streamBulk(request, response.getOutputStream());
+        } catch (RuntimeException e) {
+            // Clear the download headers so that the error response can be returned, if nothing has been sent yet
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
     }
 
     public void assertHasPermission(PID pid, AgentPrincipals agent) {
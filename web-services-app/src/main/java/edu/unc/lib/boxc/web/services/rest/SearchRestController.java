@@ -149,6 +149,7 @@ public class SearchRestController extends AbstractSolrSearchController {
         response.put("numFound", resultResponse.getResultCount());
         List<Map<String, Object>> results = new ArrayList<>(resultResponse.getResultList().size());
         accessCopiesService.populateThumbnailInfoForList(resultResponse.getResultList(), principals, false);
+        queryLayer.populateObjectPaths(resultResponse.getResultList());
         for (ContentObjectRecord metadata: resultResponse.getResultList()) {
             results.add(SerializationUtil.metadataToMap(metadata, principals));
         }
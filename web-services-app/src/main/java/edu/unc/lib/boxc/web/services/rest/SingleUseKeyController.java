@@ -79,7 +79,7 @@ public class SingleUseKeyController {
             var range = request.getHeader(RANGE);
 
             singleUseKeyService.invalidate(accessKey);
-            fedoraContentService.streamData(pid, datastream, true, response, range);
+            fedoraContentService.streamData(pid, datastream, true, request, response, range);
             log.info("Single use link used. Access Key: {}, UUID: {}", accessKey, id);
             analyticsTracker.trackEvent(request, "download", pid, principals);
         } else {
@@ -1,5 +1,6 @@
 package edu.unc.lib.boxc.web.services.rest.modify;
 
+import edu.unc.lib.boxc.auth.api.exceptions.AccessRestrictionException;
 import edu.unc.lib.boxc.model.api.exceptions.NotFoundException;
 import edu.unc.lib.boxc.model.api.exceptions.RepositoryException;
 import edu.unc.lib.boxc.model.api.ids.PID;
@@ -9,7 +10,6 @@ import edu.unc.lib.boxc.web.services.processing.ExportCsvService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.PathResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -45,20 +46,29 @@ public class ExportCsvController extends AbstractSolrSearchController {
         var pidList = Arrays.stream(ids.split(",")).map(String::trim).collect(Collectors.toList());
         var pids = getPids(pidList);
 
+        var agent = getAgentPrincipals();
         try {
-
             String filename = "export.csv";
-            var csvPath = exportCsvService.exportCsv(pids, getAgentPrincipals());
-            PathResource pathResource = new PathResource(csvPath);
-            return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-                    .header("Content-Type", "text/csv")
-                    .body(pathResource);
+            response.addHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+            response.addHeader("Content-Type", "text/csv");
+            // Rows are written to the response as they are retrieved rather than spooled to a file
+            exportCsvService.streamCsv(pids, agent, response.getOutputStream());
+            response.setStatus(HttpStatus.OK.value());
+            return null;
+        } catch (AccessRestrictionException | IllegalArgumentException e) {
+            response.reset();
+            throw e;
         } catch (NotFoundException e) {
             log.warn("Object not found: {}", e.getMessage());
+            response.reset();
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        } catch (RepositoryException e) {
+        } catch (RepositoryException | IOException e) {
             log.error("Error exporting CSV: {}", e.getMessage());
+            if (response.isCommitted()) {
+                // Rows have already been sent, so the status can no longer be changed
+                return null;
+            }
+            response.reset();
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
@@ -16,6 +16,9 @@ import edu.unc.lib.boxc.search.api.models.ContentObjectRecord;
 import edu.unc.lib.boxc.search.solr.responses.SearchResultResponse;
 import edu.unc.lib.boxc.search.solr.services.ChildrenCountService;
 import edu.unc.lib.boxc.web.common.services.SolrQueryLayerService;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,15 +26,18 @@ import org.mockito.Mock;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 import static edu.unc.lib.boxc.auth.api.Permission.viewHidden;
 import static edu.unc.lib.boxc.model.api.ids.RepositoryPathConstants.CONTENT_ROOT_ID;
 import static edu.unc.lib.boxc.model.fcrepo.test.TestHelper.makePid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,6 +46,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -146,6 +153,60 @@ public class ExportCsvServiceTest {
         assertFalse(result.isBlank());
     }
 
+    @Test
+    public void testExportCsvMultiplePages() throws Exception {
+        var page1Response = mock(SearchResultResponse.class);
+        var page2Response = mock(SearchResultResponse.class);
+        var child1 = mockFolderRecord(makePid());
+        var child2 = mockFolderRecord(makePid());
+        mockFolderRecord(object, pid);
+
+        when(solrQueryLayerService.addSelectedContainer(
+                any(), any(), anyBoolean(), any())).thenReturn(object);
+        when(page1Response.getResultList()).thenReturn(new ArrayList<>(List.of(child1)));
+        when(page1Response.getNextCursorMark()).thenReturn("cursor1");
+        when(page2Response.getResultList()).thenReturn(new ArrayList<>(List.of(child2)));
+        // Cursor mark does not change once all results have been retrieved
+        when(page2Response.getNextCursorMark()).thenReturn("cursor1");
+        when(solrQueryLayerService.getSearchResults(any())).thenReturn(page1Response, page2Response);
+
+        exportCsvService.streamCsv(pids, agent, outputStream);
+
+        verify(solrQueryLayerService, times(2)).getSearchResults(any());
+        var rows = parseRows();
+        assertEquals(3, rows.size());
+        assertEquals(pid.getId(), rows.get(0).get(ExportCsvService.PID_HEADER));
+        assertEquals(child1.getId(), rows.get(1).get(ExportCsvService.PID_HEADER));
+        assertEquals(child2.getId(), rows.get(2).get(ExportCsvService.PID_HEADER));
+    }
+
+    @Test
+    public void testStreamCsvMultipleObjectsInParallel() throws Exception {
+        var pid2 = makePid();
+        var object2 = mockFolderRecord(pid2);
+        mockFolderRecord(object, pid);
+        var executor = Executors.newFixedThreadPool(2);
+        exportCsvService.setExportExecutor(executor);
+
+        when(solrQueryLayerService.addSelectedContainer(eq(pid), any(), anyBoolean(), any())).thenReturn(object);
+        when(solrQueryLayerService.addSelectedContainer(eq(pid2), any(), anyBoolean(), any())).thenReturn(object2);
+        var searchResponse = mock(SearchResultResponse.class);
+        when(searchResponse.getResultList()).thenAnswer(invocation -> new ArrayList<>());
+        when(solrQueryLayerService.getSearchResults(any())).thenReturn(searchResponse);
+
+        try {
+            exportCsvService.streamCsv(List.of(pid, pid2), agent, outputStream);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Header is only written once, with rows in the order requested
+        var rows = parseRows();
+        assertEquals(2, rows.size());
+        assertEquals(pid.getId(), rows.get(0).get(ExportCsvService.PID_HEADER));
+        assertEquals(pid2.getId(), rows.get(1).get(ExportCsvService.PID_HEADER));
+    }
+
     @Test
     public void testExportCsvContentRoot() {
         assertThrows(IllegalArgumentException.class, () -> {
@@ -172,4 +233,29 @@ public class ExportCsvServiceTest {
             exportCsvService.exportCsv(pids, agent);
         });
     }
+
+    private ContentObjectRecord mockFolderRecord(PID recordPid) {
+        return mockFolderRecord(mock(ContentObjectRecord.class), recordPid);
+    }
+
+    private ContentObjectRecord mockFolderRecord(ContentObjectRecord record, PID recordPid) {
+        var facet = mock(CutoffFacet.class);
+        when(record.getResourceType()).thenReturn(ResourceType.Folder.name());
+        when(record.getId()).thenReturn(recordPid.getId());
+        when(record.getTitle()).thenReturn("title " + recordPid.getId());
+        when(record.getAncestorNames()).thenReturn("name");
+        when(record.getAncestorPathFacet()).thenReturn(facet);
+        when(record.getContentStatus()).thenReturn(List.of(FacetConstants.CONTENT_DESCRIBED));
+        when(facet.getHighestTier()).thenReturn(1);
+        return record;
+    }
+
+    private List<CSVRecord> parseRows() throws IOException {
+        var format = CSVFormat.EXCEL.builder()
+                .setHeader(ExportCsvService.CSV_HEADERS)
+                .setSkipHeaderRecord(true)
+                .get();
+        var csv = outputStream.toString(StandardCharsets.UTF_8);
+        return CSVParser.parse(new StringReader(csv), format).getRecords();
+    }
 }
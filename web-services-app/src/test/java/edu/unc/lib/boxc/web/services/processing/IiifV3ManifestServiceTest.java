@@ -7,6 +7,7 @@ import edu.unc.lib.boxc.auth.api.models.AccessGroupSet;
 import edu.unc.lib.boxc.auth.api.models.AgentPrincipals;
 import edu.unc.lib.boxc.auth.api.services.AccessControlService;
 import edu.unc.lib.boxc.auth.api.services.GlobalPermissionEvaluator;
+import edu.unc.lib.boxc.auth.fcrepo.models.AccessGroupSetImpl;
 import edu.unc.lib.boxc.model.api.ResourceType;
 import edu.unc.lib.boxc.model.api.exceptions.NotFoundException;
 import edu.unc.lib.boxc.model.api.ids.PID;
@@ -26,6 +27,7 @@ import info.freelibrary.iiif.presentation.v3.services.ImageService3;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.apache.solr.client.solrj.SolrQuery;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
@@ -35,12 +37,17 @@ import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -181,6 +188,60 @@ public class IiifV3ManifestServiceTest {
         assertFileCanvasPopulated(canvases.get(1), FILE2_ID, IMAGE);
     }
 
+    @Test
+    public void buildManifestCachedTest() throws Exception {
+        enableManifestCache();
+        var fileObj1 = createFileRecord(FILE1_ID, IMAGE, true);
+        var fileObj2 = createFileRecord(FILE2_ID, IMAGE, true);
+        ((ContentObjectSolrRecord) fileObj2).set_version_(2L);
+        when(solrSearchService.getSearchResults(any()))
+                .thenReturn(MvcTestHelpers.createSearchResponse(Arrays.asList(fileObj1, fileObj2)));
+        mockContentVersion(2, fileObj2);
+
+        var manifest = manifestService.buildManifest(WORK_PID, agent);
+        var manifest2 = manifestService.buildManifest(WORK_PID, agent);
+
+        assertSame(manifest, manifest2);
+        assertEquals(2, manifest2.getCanvases().size());
+        verify(solrSearchService, times(1)).getSearchResults(any());
+    }
+
+    @Test
+    public void buildManifestCachedChildUpdatedTest() throws Exception {
+        enableManifestCache();
+        var fileObj1 = createFileRecord(FILE1_ID, IMAGE, true);
+        var fileObj2 = createFileRecord(FILE2_ID, IMAGE, true);
+        ((ContentObjectSolrRecord) fileObj2).set_version_(2L);
+        when(solrSearchService.getSearchResults(any()))
+                .thenReturn(MvcTestHelpers.createSearchResponse(Arrays.asList(fileObj1, fileObj2)));
+        mockContentVersion(2, fileObj2);
+
+        var manifest = manifestService.buildManifest(WORK_PID, agent);
+
+        var updatedFileObj1 = createFileRecord(FILE1_ID, IMAGE, true);
+        ((ContentObjectSolrRecord) updatedFileObj1).set_version_(3L);
+        mockContentVersion(2, updatedFileObj1);
+        var manifest2 = manifestService.buildManifest(WORK_PID, agent);
+
+        assertNotSame(manifest, manifest2);
+        verify(solrSearchService, times(2)).getSearchResults(any());
+    }
+
+    private void enableManifestCache() {
+        manifestService.setManifestCacheSize(10);
+        manifestService.init();
+        workObj.set_version_(1L);
+        when(agent.getPrincipals()).thenReturn(new AccessGroupSetImpl("everyone"));
+        when(solrSearchService.getObjectById(any())).thenReturn(workObj);
+        when(solrSearchService.generateSearch(any())).thenAnswer(invocation -> new SolrQuery("*:*"));
+    }
+
+    private void mockContentVersion(long count, ContentObjectRecord latest) throws Exception {
+        var versionResponse = MvcTestHelpers.createSearchResponse(List.of(latest));
+        versionResponse.setResultCount(count);
+        when(solrSearchService.executeSearch(any(), any(), anyBoolean(), anyBoolean())).thenReturn(versionResponse);
+    }
+
     @Test
     public void buildManifestNoJP2ExtentFileImageTest() {
         var fileObj1 = createFileRecord(FILE1_ID, IMAGE, false);